@@ -0,0 +1,237 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.bus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.forge.bus.event.Async;
+
+/**
+ * Runs the deliveries of events to {@link Async} observers on a small pool of daemon threads. Each observer has its own
+ * lane, whose deliveries run one at a time in the order they were submitted; different lanes run concurrently.
+ * <p>
+ * At most {@link #MAX_PENDING} deliveries may be outstanding. Beyond that, submitting threads wait for deliveries to
+ * complete, so that a command queuing thousands of events cannot build up unbounded work. Exceptions thrown by
+ * deliveries are kept until they are collected with {@link #takeFailures()}.
+ */
+class AsyncDelivery
+{
+   static final int MAX_PENDING = 1024;
+
+   private static final int THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+   private static final int BATCH_SIZE = 64;
+   private static final ThreadLocal<Boolean> DELIVERING = new ThreadLocal<Boolean>();
+
+   private final Map<String, Lane> lanes = new HashMap<String, Lane>();
+   private final List<Exception> failures = new ArrayList<Exception>();
+   private ExecutorService executor;
+   private int pending = 0;
+
+   /**
+    * Queue the given delivery on the named lane. It runs with the context {@link ClassLoader} of the calling thread.
+    */
+   public synchronized void submit(final String lane, final Runnable delivery)
+   {
+      /*
+       * Deliveries may fire further events; never make a delivery thread wait on its own pool.
+       */
+      while ((pending >= MAX_PENDING) && !isDeliveryThread())
+      {
+         try
+         {
+            wait();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+            break;
+         }
+      }
+
+      Lane target = lanes.get(lane);
+      if (target == null)
+      {
+         target = new Lane();
+         lanes.put(lane, target);
+      }
+
+      target.queue.add(new Delivery(delivery, Thread.currentThread().getContextClassLoader()));
+      pending++;
+
+      if (!target.scheduled)
+      {
+         target.scheduled = true;
+         getExecutor().execute(target);
+      }
+   }
+
+   /**
+    * Wait until every submitted delivery has completed.
+    */
+   public synchronized void drain() throws InterruptedException
+   {
+      if (isDeliveryThread())
+      {
+         throw new IllegalStateException("Cannot wait for asynchronous events from an asynchronous observer");
+      }
+      while (pending > 0)
+      {
+         wait();
+      }
+   }
+
+   /**
+    * Return and forget the exceptions thrown by deliveries since this method was last called.
+    */
+   public synchronized List<Exception> takeFailures()
+   {
+      List<Exception> result = new ArrayList<Exception>(failures);
+      failures.clear();
+      return result;
+   }
+
+   /**
+    * Return true if the calling thread is running a delivery.
+    */
+   static boolean isDeliveryThread()
+   {
+      return Boolean.TRUE.equals(DELIVERING.get());
+   }
+
+   private ExecutorService getExecutor()
+   {
+      if (executor == null)
+      {
+         executor = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+                  new LinkedBlockingQueue<Runnable>(), new DeliveryThreadFactory());
+         ((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+      }
+      return executor;
+   }
+
+   private void completed(final Exception failure)
+   {
+      synchronized (this)
+      {
+         if (failure != null)
+         {
+            failures.add(failure);
+         }
+         pending--;
+         notifyAll();
+      }
+   }
+
+   private static class Delivery
+   {
+      private final Runnable task;
+      private final ClassLoader loader;
+
+      public Delivery(final Runnable task, final ClassLoader loader)
+      {
+         this.task = task;
+         this.loader = loader;
+      }
+   }
+
+   /**
+    * The deliveries for one observer. Guarded by the enclosing {@link AsyncDelivery}.
+    */
+   private class Lane implements Runnable
+   {
+      private final LinkedList<Delivery> queue = new LinkedList<Delivery>();
+      private boolean scheduled = false;
+
+      @Override
+      public void run()
+      {
+         DELIVERING.set(Boolean.TRUE);
+         Thread thread = Thread.currentThread();
+         ClassLoader original = thread.getContextClassLoader();
+         try
+         {
+            for (int i = 0; i < BATCH_SIZE; i++)
+            {
+               Delivery next;
+               synchronized (AsyncDelivery.this)
+               {
+                  next = queue.poll();
+               }
+               if (next == null)
+               {
+                  break;
+               }
+
+               Exception failure = null;
+               thread.setContextClassLoader(next.loader);
+               try
+               {
+                  next.task.run();
+               }
+               catch (Exception e)
+               {
+                  failure = e;
+               }
+               catch (Throwable t)
+               {
+                  /*
+                   * An Error must still be reported, and must not take the rest of this lane's batch down with it.
+                   */
+                  failure = new RuntimeException(t);
+               }
+               finally
+               {
+                  thread.setContextClassLoader(original);
+                  completed(failure);
+               }
+            }
+         }
+         finally
+         {
+            DELIVERING.remove();
+
+            /*
+             * After a batch, give other lanes a turn before delivering the rest.
+             */
+            synchronized (AsyncDelivery.this)
+            {
+               if (queue.isEmpty())
+               {
+                  scheduled = false;
+               }
+               else
+               {
+                  getExecutor().execute(this);
+               }
+            }
+         }
+      }
+   }
+
+   private static class DeliveryThreadFactory implements ThreadFactory
+   {
+      private final AtomicInteger count = new AtomicInteger();
+
+      @Override
+      public Thread newThread(final Runnable runnable)
+      {
+         Thread thread = new Thread(runnable, "Forge event bus " + count.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      }
+   }
+}
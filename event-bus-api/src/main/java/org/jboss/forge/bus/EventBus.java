@@ -22,12 +22,14 @@ import javax.inject.Singleton;
 
 import org.jboss.forge.bus.cdi.BusManaged;
 import org.jboss.forge.bus.cdi.ObserverCaptureExtension;
+import org.jboss.forge.bus.event.Async;
 import org.jboss.forge.bus.event.BusEvent;
 import org.jboss.forge.bus.spi.EventBusGroomer;
 import org.jboss.forge.bus.util.Annotations;
 
 /**
- * Simple bus for postponing event firing.
+ * Simple bus for postponing event firing. Observers marked {@link Async} are notified on background threads; use
+ * {@link #drain()} to wait for them.
  * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
@@ -41,17 +43,24 @@ public class EventBus
    @Inject
    private ObserverCaptureExtension extension;
 
-   private final Map<Object, Annotation[]> map = new HashMap<Object, Annotation[]>();
+   private Map<Object, Annotation[]> map = new HashMap<Object, Annotation[]>();
    private List<Object> events = new ArrayList<Object>();
 
-   boolean firing = false;
+   volatile boolean firing = false;
 
    private ArrayList<EventBusGroomer> groomers;
 
+   private final AsyncDelivery async = new AsyncDelivery();
+
+   /**
+    * The event being delivered to {@link Async} observers on the current thread, which must not be queued again.
+    */
+   private final ThreadLocal<Object> delivering = new ThreadLocal<Object>();
+
    @SuppressWarnings("unused")
-   private void observeAll(@Observes @Any final Object event)
+   private synchronized void observeAll(@Observes @Any final Object event)
    {
-      if (handles(event) && !hasQueued(event))
+      if ((delivering.get() != event) && handles(event) && !hasQueued(event))
       {
          enqueue(event);
       }
@@ -60,9 +69,9 @@ public class EventBus
    /**
     * Add the given event to the queue.
     */
-   public void enqueue(final Object event)
+   public synchronized void enqueue(final Object event)
    {
-      if (!firing)
+      if (accepts())
       {
          events.add(event);
          map.put(event, new Annotation[] {});
@@ -72,45 +81,65 @@ public class EventBus
    /**
     * Add the given event to the queue; this event will be fired with the supplied qualifiers.
     */
-   public void enqueue(final Object event, final Annotation[] qualifiers)
+   public synchronized void enqueue(final Object event, final Annotation[] qualifiers)
    {
-      if (!firing)
+      if (accepts())
       {
          events.add(event);
          map.put(event, qualifiers);
       }
    }
 
+   /**
+    * Events fired while {@link #fireAll()} delivers the queue are dropped, except those fired by {@link Async}
+    * observers: they run on their own threads, so they are kept for the next {@link #fireAll()}.
+    */
+   private boolean accepts()
+   {
+      return !firing || AsyncDelivery.isDeliveryThread();
+   }
+
    /**
     * Fire all queued events.
     */
    public void fireAll()
    {
-      firing = true;
+      List<Object> queued;
+      Map<Object, Annotation[]> qualifiers;
       List<Exception> thrown = new ArrayList<Exception>();
 
-      if (groomers == null)
+      synchronized (this)
       {
-         groomers = new ArrayList<EventBusGroomer>();
-         ServiceLoader<EventBusGroomer> services = ServiceLoader.load(EventBusGroomer.class);
-         for (EventBusGroomer groomer : services) {
-            groomers.add(groomer);
+         firing = true;
+
+         if (groomers == null)
+         {
+            groomers = new ArrayList<EventBusGroomer>();
+            ServiceLoader<EventBusGroomer> services = ServiceLoader.load(EventBusGroomer.class);
+            for (EventBusGroomer groomer : services) {
+               groomers.add(groomer);
+            }
+         }
+
+         for (EventBusGroomer groomer : groomers) {
+            events = groomer.groom(events);
          }
-      }
 
-      for (EventBusGroomer groomer : groomers) {
-         events = groomer.groom(events);
+         queued = events;
+         qualifiers = map;
+         events = new ArrayList<Object>();
+         map = new HashMap<Object, Annotation[]>();
       }
 
       try
       {
-         for (Object event : events)
+         for (Object event : queued)
          {
-            if (map.containsKey(event))
+            if (qualifiers.containsKey(event))
             {
                try
                {
-                  Annotation[] value = map.get(event);
+                  Annotation[] value = qualifiers.get(event);
                   fireSingle(event, value);
                }
                catch (Exception e1)
@@ -127,8 +156,6 @@ public class EventBus
       finally
       {
          firing = false;
-         map.clear();
-         events.clear();
       }
 
       // Squelch these for now
@@ -136,35 +163,102 @@ public class EventBus
       // throw new EventBusQueuedException(thrown);
    }
 
-   public boolean hasQueued(final Object event)
+   /**
+    * Wait until every event dispatched to {@link Async} observers has been delivered. Must not be called from an
+    * {@link Async} observer.
+    * 
+    * @throws EventBusQueuedException if any {@link Async} observer has failed since failures were last collected with
+    *            this method or {@link #takeAsyncFailures()}.
+    */
+   public void drain() throws EventBusQueuedException
+   {
+      try
+      {
+         async.drain();
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+      }
+
+      List<Exception> failures = async.takeFailures();
+      if (!failures.isEmpty())
+      {
+         throw new EventBusQueuedException(failures);
+      }
+   }
+
+   /**
+    * Return the exceptions thrown by {@link Async} observers since failures were last collected with this method or
+    * {@link #drain()}, without waiting for pending deliveries.
+    */
+   public List<Exception> takeAsyncFailures()
+   {
+      return async.takeFailures();
+   }
+
+   public synchronized boolean hasQueued(final Object event)
    {
       return map.containsKey(event);
    }
 
    public void fireSingle(final Object event)
    {
-      List<BusManaged> qualifiers = extension.getEventQualifiers(event
-               .getClass());
-
-      fireSingle(event, qualifiers.toArray(new Annotation[] {}));
+      fireSingle(event, (Annotation[]) extension.getEventQualifierArray(event.getClass()));
    }
 
    public void fireSingle(final Object event, final Annotation... annotations)
    {
-      List<BusManaged> qualifiers = extension.getEventQualifiers(event
-               .getClass());
-
-      for (BusManaged managed : qualifiers) {
-         List<Annotation> toFire = new ArrayList<Annotation>();
-         toFire.addAll(Arrays.asList(annotations));
-         toFire.add(managed);
-         manager.fireEvent(event, toFire.toArray(new Annotation[] {}));
+      BusManaged[] qualifiers = extension.getEventQualifierArray(event.getClass());
+      if (qualifiers.length > 0)
+      {
+         /*
+          * The BeanManager copies the qualifiers it is given, so one array can carry each BusManaged qualifier in turn.
+          */
+         Annotation[] toFire = Arrays.copyOf(annotations, annotations.length + 1, Annotation[].class);
+         for (BusManaged managed : qualifiers)
+         {
+            toFire[annotations.length] = managed;
+            if (extension.isAsync(managed))
+            {
+               async.submit(managed.value(), new Delivery(event, toFire.clone()));
+            }
+            else
+            {
+               manager.fireEvent(event, toFire);
+            }
+         }
       }
-
    }
 
    public boolean handles(final Object event)
    {
       return Annotations.isAnnotationPresent(event.getClass(), BusEvent.class);
    }
+
+   private class Delivery implements Runnable
+   {
+      private final Object event;
+      private final Annotation[] qualifiers;
+
+      public Delivery(final Object event, final Annotation[] qualifiers)
+      {
+         this.event = event;
+         this.qualifiers = qualifiers;
+      }
+
+      @Override
+      public void run()
+      {
+         delivering.set(event);
+         try
+         {
+            manager.fireEvent(event, qualifiers);
+         }
+         finally
+         {
+            delivering.remove();
+         }
+      }
+   }
 }
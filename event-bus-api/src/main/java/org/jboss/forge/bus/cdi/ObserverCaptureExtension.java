@@ -19,6 +19,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.AnnotatedCallable;
@@ -31,6 +33,7 @@ import javax.enterprise.inject.spi.Extension;
 import javax.enterprise.inject.spi.ProcessAnnotatedType;
 import javax.inject.Singleton;
 
+import org.jboss.forge.bus.event.Async;
 import org.jboss.forge.bus.event.BusEvent;
 import org.jboss.forge.bus.util.Annotations;
 
@@ -41,7 +44,12 @@ import org.jboss.forge.bus.util.Annotations;
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class ObserverCaptureExtension implements Extension
 {
+   private static final BusManaged[] NO_QUALIFIERS = new BusManaged[0];
+
    private final Map<Class<?>, List<BusManaged>> eventQualifierMap = new HashMap<Class<?>, List<BusManaged>>();
+   private final ConcurrentMap<Class<?>, BusManaged[]> resolvedQualifiers =
+            new ConcurrentHashMap<Class<?>, BusManaged[]>();
+   private final Set<String> asyncQualifiers = new HashSet<String>();
    private int rollingIdentifier = 0;
 
    public <T> void scan(@Observes final ProcessAnnotatedType<T> event)
@@ -280,6 +288,10 @@ public class ObserverCaptureExtension implements Extension
       };
 
       addQualifierToMap(method, param, qualifier);
+      if (param.isAnnotationPresent(Async.class))
+      {
+         asyncQualifiers.add(identifier);
+      }
 
       final Set<Annotation> annotations = new HashSet<Annotation>();
       annotations.addAll(param.getAnnotations());
@@ -351,6 +363,7 @@ public class ObserverCaptureExtension implements Extension
       }
       qualifiers.add(qualifier);
       eventQualifierMap.put(clazz, qualifiers);
+      resolvedQualifiers.clear();
    }
 
    /**
@@ -371,6 +384,31 @@ public class ObserverCaptureExtension implements Extension
       return result;
    }
 
+   /**
+    * Return the {@link BusManaged} annotations corresponding to the given event type, in the same order as
+    * {@link #getEventQualifiers(Class)}. The array is computed once per event type and shared between callers, so it
+    * must not be modified.
+    */
+   public BusManaged[] getEventQualifierArray(final Class<?> clazz)
+   {
+      BusManaged[] result = resolvedQualifiers.get(clazz);
+      if (result == null)
+      {
+         List<BusManaged> qualifiers = getEventQualifiers(clazz);
+         result = qualifiers.isEmpty() ? NO_QUALIFIERS : qualifiers.toArray(new BusManaged[qualifiers.size()]);
+         resolvedQualifiers.put(clazz, result);
+      }
+      return result;
+   }
+
+   /**
+    * Return true if the observer identified by the given {@link BusManaged} qualifier is marked {@link Async}.
+    */
+   public boolean isAsync(final BusManaged qualifier)
+   {
+      return asyncQualifiers.contains(qualifier.value());
+   }
+
    /**
     * Return the entire map of Event Types and their corresponding lists of {@link BusManaged} annotation instances.
     * This map can be used to implement a strategy for custom firing of events.
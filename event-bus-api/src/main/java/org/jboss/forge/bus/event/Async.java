@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.bus.event;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.jboss.forge.bus.EventBus;
+
+/**
+ * Marks an observer of a {@link BusEvent} that should not delay the command that fired it. When the {@link EventBus}
+ * fires its queued events, such observers are notified on a background thread instead of the shell thread. Each
+ * observer receives its events one at a time, in the order they were fired.
+ * <p>
+ * This is not a qualifier: the observer still receives every event it would otherwise receive.
+ * 
+ * <pre>
+ * public void modified(&#064;Observes &#064;Async final ResourceModified event)
+ * </pre>
+ * 
+ * @see EventBus#drain()
+ */
+@Target({ PARAMETER })
+@Retention(RUNTIME)
+@Documented
+public @interface Async
+{
+   //
+}
@@ -10,11 +10,14 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.inject.Stereotype;
 
 /**
- * Utility class for common @{@link Annotation} operations.
+ * Utility class for common @{@link Annotation} operations. Lookups on classes and methods are cached, since they are
+ * repeated for every event fired through the bus and every plugin method.
  * <p/>
  * TODO: This should probably go into weld-extensions so other portable extensions can leverage it.
  * 
@@ -22,6 +25,10 @@ import javax.enterprise.inject.Stereotype;
  */
 public class Annotations
 {
+   private static final int MAX_CACHED = 4096;
+   private static final Object NONE = new Object();
+   private static final ConcurrentMap<Lookup, Object> CACHE = new ConcurrentHashMap<Lookup, Object>();
+
    /**
     * Discover if a Method <b>m</b> has been annotated with <b>type</b>. This also discovers annotations defined through
     * a @{@link Stereotype}.
@@ -32,6 +39,18 @@ public class Annotations
     *         Returns false if the annotation is not present.
     */
    public static boolean isAnnotationPresent(final Method m, final Class<? extends Annotation> type)
+   {
+      Lookup lookup = new Lookup(m, type, true);
+      Boolean result = (Boolean) CACHE.get(lookup);
+      if (result == null)
+      {
+         result = findAnnotationPresent(m, type);
+         cache(lookup, result);
+      }
+      return result;
+   }
+
+   private static boolean findAnnotationPresent(final Method m, final Class<? extends Annotation> type)
    {
       boolean result = false;
       if (m.isAnnotationPresent(type))
@@ -87,6 +106,18 @@ public class Annotations
     * @return True if annotation is present either on class, false if the annotation is not present.
     */
    public static boolean isAnnotationPresent(final Class<?> c, final Class<? extends Annotation> type)
+   {
+      Lookup lookup = new Lookup(c, type, true);
+      Boolean result = (Boolean) CACHE.get(lookup);
+      if (result == null)
+      {
+         result = findAnnotationPresent(c, type);
+         cache(lookup, result);
+      }
+      return result;
+   }
+
+   private static boolean findAnnotationPresent(final Class<?> c, final Class<? extends Annotation> type)
    {
       boolean result = false;
       if (c.isAnnotationPresent(type))
@@ -117,6 +148,18 @@ public class Annotations
     *         found.
     */
    public static <A extends Annotation> A getAnnotation(final Method m, final Class<A> type)
+   {
+      Lookup lookup = new Lookup(m, type, false);
+      Object result = CACHE.get(lookup);
+      if (result == null)
+      {
+         result = findAnnotation(m, type);
+         cache(lookup, result == null ? NONE : result);
+      }
+      return result == NONE ? null : type.cast(result);
+   }
+
+   private static <A extends Annotation> A findAnnotation(final Method m, final Class<A> type)
    {
       A result = m.getAnnotation(type);
       if (result == null)
@@ -202,6 +245,23 @@ public class Annotations
     * @return The annotation instance found on this class, or null if no matching annotation was found.
     */
    public static <A extends Annotation> A getAnnotation(final Class<?> c, final Class<A> type)
+   {
+      if (c == null)
+      {
+         return null;
+      }
+
+      Lookup lookup = new Lookup(c, type, false);
+      Object result = CACHE.get(lookup);
+      if (result == null)
+      {
+         result = findAnnotation(c, type);
+         cache(lookup, result == null ? NONE : result);
+      }
+      return result == NONE ? null : type.cast(result);
+   }
+
+   private static <A extends Annotation> A findAnnotation(final Class<?> c, final Class<A> type)
    {
       if (c != null)
       {
@@ -220,4 +280,56 @@ public class Annotations
       }
       return null;
    }
+
+   /**
+    * Forget every cached lookup. The cache holds the classes and methods it has inspected, so it must be cleared
+    * whenever the classes of plugins are discarded, such as when the CDI container is shut down.
+    */
+   public static void clearCache()
+   {
+      CACHE.clear();
+   }
+
+   private static void cache(final Lookup lookup, final Object result)
+   {
+      if (CACHE.size() >= MAX_CACHED)
+      {
+         CACHE.clear();
+      }
+      CACHE.put(lookup, result);
+   }
+
+   /**
+    * A lookup of an annotation type on a class or method, either for its presence or for the annotation itself.
+    */
+   private static class Lookup
+   {
+      private final Object element;
+      private final Class<?> type;
+      private final boolean presence;
+
+      public Lookup(final Object element, final Class<?> type, final boolean presence)
+      {
+         this.element = element;
+         this.type = type;
+         this.presence = presence;
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return (31 * element.hashCode() + type.hashCode()) * 2 + (presence ? 1 : 0);
+      }
+
+      @Override
+      public boolean equals(final Object obj)
+      {
+         if (!(obj instanceof Lookup))
+         {
+            return false;
+         }
+         Lookup other = (Lookup) obj;
+         return (presence == other.presence) && (type == other.type) && element.equals(other.element);
+      }
+   }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.bus;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.bus.cdi.ObserverCaptureExtension;
+import org.jboss.forge.bus.event.Async;
+import org.jboss.forge.bus.event.BusEvent;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Events delivered by the bus are also seen by its own catch-all observer, and must not be queued again.
+ */
+@RunWith(Arquillian.class)
+public class EventBusRedeliveryTest
+{
+   @Deployment
+   public static JavaArchive createTestArchive()
+   {
+      return ShrinkWrap.create(JavaArchive.class, "test.jar")
+               .addClass(ObserverCaptureExtension.class)
+               .addClass(MockEventObserver.class)
+               .addClass(MockAsyncEventObserver.class)
+               .addClass(EventBus.class)
+               .addClass(BusEvent.class)
+               .addClass(Async.class)
+               .addAsManifestResource("META-INF/services/javax.enterprise.inject.spi.Extension")
+               .addAsManifestResource(new ByteArrayAsset("<beans/>".getBytes()), ArchivePaths.create("beans.xml"));
+   }
+
+   @Inject
+   private EventBus bus;
+
+   @Inject
+   private MockEventObserver observer;
+
+   @Inject
+   private MockAsyncEventObserver asyncObserver;
+
+   @Test
+   public void testDeliveredEventsAreNotQueuedAgain() throws Exception
+   {
+      bus.enqueue(new MockEvent());
+      bus.enqueue(new MockAsyncEvent(0, false));
+      bus.fireAll();
+      bus.drain();
+
+      int count = observer.getCount();
+      int asyncCount = asyncObserver.getReceived().size();
+      assertEquals(1, asyncCount);
+
+      bus.fireAll();
+      bus.drain();
+      bus.fireAll();
+      bus.drain();
+
+      assertEquals(count, observer.getCount());
+      assertEquals(asyncCount, asyncObserver.getReceived().size());
+   }
+}
@@ -7,8 +7,12 @@
 package org.jboss.forge.bus;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.enterprise.util.AnnotationLiteral;
 import javax.inject.Inject;
@@ -16,11 +20,13 @@ import javax.inject.Inject;
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.junit.Arquillian;
 import org.jboss.forge.bus.cdi.ObserverCaptureExtension;
+import org.jboss.forge.bus.event.Async;
 import org.jboss.forge.bus.event.BusEvent;
 import org.jboss.shrinkwrap.api.ArchivePaths;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -37,8 +43,10 @@ public class EventBusTest
       return ShrinkWrap.create(JavaArchive.class, "test.jar")
                .addClass(ObserverCaptureExtension.class)
                .addClass(MockEventObserver.class)
+               .addClass(MockAsyncEventObserver.class)
                .addClass(EventBus.class)
                .addClass(BusEvent.class)
+               .addClass(Async.class)
                .addAsManifestResource("META-INF/services/javax.enterprise.inject.spi.Extension")
                .addAsManifestResource(new ByteArrayAsset("<beans/>".getBytes()), ArchivePaths.create("beans.xml"));
    }
@@ -49,6 +57,16 @@ public class EventBusTest
    @Inject
    private MockEventObserver observer;
 
+   @Inject
+   private MockAsyncEventObserver asyncObserver;
+
+   @Before
+   public void resetAsyncObserver() throws Exception
+   {
+      bus.drain();
+      asyncObserver.reset();
+   }
+
    @Test
    public void testEventsQueued() throws Exception
    {
@@ -65,4 +83,40 @@ public class EventBusTest
       assertEquals(3, observer.getCount());
       assertEquals(1, observer.getCountSpecial());
    }
+
+   @Test
+   public void testAsyncEventsDeliveredInOrder() throws Exception
+   {
+      List<Integer> expected = new ArrayList<Integer>();
+      for (int i = 0; i < 100; i++)
+      {
+         bus.enqueue(new MockAsyncEvent(i, false));
+         expected.add(i);
+      }
+
+      bus.fireAll();
+      bus.drain();
+
+      assertEquals(expected, asyncObserver.getReceived());
+      assertNotSame(Thread.currentThread(), asyncObserver.getThread());
+   }
+
+   @Test
+   public void testAsyncFailuresAreCaptured() throws Exception
+   {
+      bus.enqueue(new MockAsyncEvent(-1, true));
+      bus.fireAll();
+
+      try
+      {
+         bus.drain();
+         fail("Failure of asynchronous observer was not reported");
+      }
+      catch (EventBusQueuedException e)
+      {
+         assertEquals(1, e.getQueuedExceptions().size());
+      }
+
+      bus.drain();
+   }
 }
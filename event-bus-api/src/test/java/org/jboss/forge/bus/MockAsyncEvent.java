@@ -0,0 +1,32 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.bus;
+
+import org.jboss.forge.bus.event.BusEvent;
+
+@BusEvent
+public class MockAsyncEvent
+{
+   private final int index;
+   private final boolean failing;
+
+   public MockAsyncEvent(final int index, final boolean failing)
+   {
+      this.index = index;
+      this.failing = failing;
+   }
+
+   public int getIndex()
+   {
+      return index;
+   }
+
+   public boolean isFailing()
+   {
+      return failing;
+   }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.bus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.forge.bus.event.Async;
+
+@ApplicationScoped
+public class MockAsyncEventObserver
+{
+   private final List<Integer> received = new ArrayList<Integer>();
+   private Thread thread;
+
+   public void observe(@Observes @Async final MockAsyncEvent event)
+   {
+      synchronized (received)
+      {
+         received.add(event.getIndex());
+         thread = Thread.currentThread();
+      }
+      if (event.isFailing())
+      {
+         throw new IllegalStateException("Failed on event " + event.getIndex());
+      }
+   }
+
+   public void reset()
+   {
+      synchronized (received)
+      {
+         received.clear();
+         thread = null;
+      }
+   }
+
+   public List<Integer> getReceived()
+   {
+      synchronized (received)
+      {
+         return new ArrayList<Integer>(received);
+      }
+   }
+
+   public Thread getThread()
+   {
+      synchronized (received)
+      {
+         return thread;
+      }
+   }
+}
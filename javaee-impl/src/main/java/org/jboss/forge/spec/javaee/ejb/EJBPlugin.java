@@ -8,6 +8,7 @@ package org.jboss.forge.spec.javaee.ejb;
 
 import java.io.FileNotFoundException;
 import java.io.Serializable;
+import java.util.List;
 
 import javax.ejb.ActivationConfigProperty;
 import javax.ejb.TransactionAttribute;
@@ -22,6 +23,7 @@ import org.jboss.forge.parser.java.Annotation;
 import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.parser.java.Method;
+import org.jboss.forge.parser.java.Parameter;
 import org.jboss.forge.project.Project;
 import org.jboss.forge.project.facets.JavaSourceFacet;
 import org.jboss.forge.project.facets.events.InstallFacets;
@@ -204,8 +206,14 @@ public class EJBPlugin implements Plugin
       }
       else if (resource instanceof JavaMethodResource)
       {
-         Method<? extends JavaSource<?>> m = ((JavaMethodResource) resource)
+         /*
+          * Listed methods belong to the shared, read-only structure of the file, so look the method up again in a
+          * freshly parsed copy before changing it.
+          */
+         Method<? extends JavaSource<?>> listed = ((JavaMethodResource) resource)
                   .getUnderlyingResourceObject();
+         JavaClass javaClass = getJavaClassFrom(resource.getParent());
+         Method<JavaClass> m = javaClass.getMethod(listed.getName(), getParameterTypes(listed));
          if (m.hasAnnotation(TransactionAttribute.class))
          {
             annotation = m.getAnnotation(TransactionAttribute.class);
@@ -227,6 +235,17 @@ public class EJBPlugin implements Plugin
       javaSourceFacet.saveJavaSource(ejb);
    }
 
+   private String[] getParameterTypes(final Method<?> method)
+   {
+      List<Parameter> parameters = method.getParameters();
+      String[] result = new String[parameters.size()];
+      for (int i = 0; i < result.length; i++)
+      {
+         result[i] = parameters.get(i).getType();
+      }
+      return result;
+   }
+
    private JavaClass getJavaClassFrom(Resource<?> resource)
             throws FileNotFoundException
    {
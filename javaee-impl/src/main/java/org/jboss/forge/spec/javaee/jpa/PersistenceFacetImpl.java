@@ -7,7 +7,6 @@
 package org.jboss.forge.spec.javaee.jpa;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -26,7 +25,6 @@ import org.jboss.forge.project.facets.ResourceFacet;
 import org.jboss.forge.project.packaging.PackagingType;
 import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.FileResource;
-import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.java.JavaResource;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.RequiresFacet;
@@ -133,41 +131,24 @@ public class PersistenceFacetImpl extends BaseJavaEEFacet implements Persistence
    @Override
    public List<JavaClass> getAllEntities()
    {
-      DirectoryResource packageFile = getEntityPackageDir();
-      return findEntitiesInFolder(packageFile);
-   }
+      String entityPackage = getEntityPackage() + ".";
 
-   private List<JavaClass> findEntitiesInFolder(final DirectoryResource packageFile)
-   {
-      List<JavaClass> result = new ArrayList<JavaClass>();
-      if (packageFile.exists())
+      JavaSourceFacet sourceFacet = project.getFacet(JavaSourceFacet.class);
+      List<JavaResource> resources = new ArrayList<JavaResource>();
+      for (JavaResource resource : sourceFacet.findTypesAnnotatedWith(Entity.class))
       {
-         for (Resource<?> source : packageFile.listResources())
+         if (sourceFacet.calculatePackage(resource).concat(".").startsWith(entityPackage))
          {
-            if (source instanceof JavaResource)
-            {
-               try
-               {
-                  JavaSource<?> javaClass = ((JavaResource) source).getJavaSource();
-                  if (javaClass.hasAnnotation(Entity.class) && javaClass.isClass())
-                  {
-                     result.add((JavaClass) javaClass);
-                  }
-               }
-               catch (FileNotFoundException e)
-               {
-                  throw new IllegalStateException(e);
-               }
-            }
+            resources.add(resource);
          }
+      }
 
-         for (Resource<?> source : packageFile.listResources())
+      List<JavaClass> result = new ArrayList<JavaClass>();
+      for (JavaSource<?> javaClass : sourceFacet.parseJavaSources(resources).values())
+      {
+         if (javaClass.hasAnnotation(Entity.class) && javaClass.isClass())
          {
-            if (source instanceof DirectoryResource)
-            {
-               List<JavaClass> subResults = findEntitiesInFolder((DirectoryResource) source);
-               result.addAll(subResults);
-            }
+            result.add((JavaClass) javaClass);
          }
       }
       return result;
@@ -8,11 +8,16 @@ package org.jboss.forge.spec.javaee.rest;
 
 import org.jboss.forge.env.Configuration;
 import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.ParserException;
+import org.jboss.forge.parser.java.Annotation;
 import org.jboss.forge.parser.java.JavaClass;
+import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.project.facets.BaseFacet;
 import org.jboss.forge.project.facets.JavaSourceFacet;
 import org.jboss.forge.resources.java.JavaResource;
 import org.jboss.forge.resources.java.JavaResourceVisitor;
+import org.jboss.forge.shell.ShellMessages;
+import org.jboss.forge.shell.ShellPrintWriter;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.RequiresFacet;
 import org.jboss.forge.spec.javaee.RestApplicationFacet;
@@ -20,6 +25,9 @@ import org.jboss.forge.spec.javaee.RestFacet;
 
 import javax.inject.Inject;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
 
 /**
  * @Author Paul Bakker - paul.bakker@luminis.eu
@@ -35,6 +43,9 @@ public class RestApplicationFacetImpl extends BaseFacet implements RestApplicati
    @Inject
    private Configuration configuration;
 
+   @Inject
+   private ShellPrintWriter writer;
+
    @Inject
    public RestApplicationFacetImpl(Configuration configuration)
    {
@@ -106,36 +117,40 @@ public class RestApplicationFacetImpl extends BaseFacet implements RestApplicati
       configuration.clearProperty(REST_APPLICATIONCLASS_NAME);
       configuration.clearProperty(REST_APPLICATIONCLASS_PACKAGE);
 
+      final List<JavaResource> resources = new ArrayList<JavaResource>();
       javaSourceFacet.visitJavaSources(new JavaResourceVisitor()
       {
-         boolean found = false;
-
          @Override
          public void visit(JavaResource javaResource)
          {
-            if (!found)
-            {
-               try
-               {
-                  if (javaResource.getJavaSource().getAnnotation("javax.ws.rs.ApplicationPath") != null)
-                  {
-                     configuration
-                              .setProperty(REST_APPLICATIONCLASS_PACKAGE, javaResource.getJavaSource().getPackage());
-                     configuration.setProperty(REST_APPLICATIONCLASS_NAME, javaResource.getFullyQualifiedName());
-                     configuration.setProperty(RestFacet.ROOTPATH,
-                              javaResource.getJavaSource().getAnnotation("javax.ws.rs.ApplicationPath")
-                                       .getLiteralValue());
-                     found = true;
-                  }
-               }
-               catch (FileNotFoundException e)
-               {
-                  throw new RuntimeException(e);
-               }
-            }
+            resources.add(javaResource);
          }
       });
 
+      for (Entry<JavaResource, JavaSource<?>> entry : javaSourceFacet.parseJavaSources(resources).entrySet())
+      {
+         JavaSource<?> source;
+         try
+         {
+            source = entry.getValue();
+         }
+         catch (ParserException e)
+         {
+            ShellMessages.warn(writer, "Skipped unparseable Java resource [" + entry.getKey().getFullyQualifiedName()
+                     + "]: " + e.getCause());
+            continue;
+         }
+
+         Annotation<?> applicationPath = source.getAnnotation("javax.ws.rs.ApplicationPath");
+         if (applicationPath != null)
+         {
+            configuration.setProperty(REST_APPLICATIONCLASS_PACKAGE, source.getPackage());
+            configuration.setProperty(REST_APPLICATIONCLASS_NAME, entry.getKey().getFullyQualifiedName());
+            configuration.setProperty(RestFacet.ROOTPATH, applicationPath.getLiteralValue());
+            break;
+         }
+      }
+
       return configuration.getString(REST_APPLICATIONCLASS_NAME) != null;
    }
 
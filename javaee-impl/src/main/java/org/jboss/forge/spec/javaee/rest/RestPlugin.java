@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
@@ -22,6 +23,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 
 import org.jboss.forge.env.Configuration;
 import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.ParserException;
 import org.jboss.forge.parser.java.Annotation;
 import org.jboss.forge.parser.java.Field;
 import org.jboss.forge.parser.java.JavaClass;
@@ -384,27 +386,46 @@ public class RestPlugin implements Plugin
       {
          targets = new Resource<?>[] {};
       }
+      List<JavaResource> javaResources = new ArrayList<JavaResource>();
       for (Resource<?> r : targets)
       {
          if (r instanceof JavaResource)
          {
-            JavaSource<?> entity = ((JavaResource) r).getJavaSource();
-            if (entity instanceof JavaClass)
+            javaResources.add((JavaResource) r);
+         }
+      }
+
+      Map<JavaResource, JavaSource<?>> sources = project.getFacet(JavaSourceFacet.class).parseJavaSources(
+               javaResources);
+      for (Entry<JavaResource, JavaSource<?>> entry : sources.entrySet())
+      {
+         JavaSource<?> entity;
+         try
+         {
+            entity = entry.getValue();
+         }
+         catch (ParserException e)
+         {
+            ShellMessages.warn(out, "Skipped unparseable Java resource [" + entry.getKey().getFullyQualifiedName()
+                     + "]: " + e.getCause());
+            continue;
+         }
+
+         if (entity instanceof JavaClass)
+         {
+            if (entity.hasAnnotation(Entity.class))
             {
-               if (entity.hasAnnotation(Entity.class))
-               {
-                  results.add((JavaResource) r);
-               }
-               else
-               {
-                  displaySkippingResourceMsg(out, entity);
-               }
+               results.add(entry.getKey());
             }
             else
             {
                displaySkippingResourceMsg(out, entity);
             }
          }
+         else
+         {
+            displaySkippingResourceMsg(out, entity);
+         }
       }
       return results;
    }
@@ -14,6 +14,7 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingResult;
 import org.jboss.forge.project.Facet;
 import org.jboss.forge.project.Project;
+import org.jboss.forge.project.ProjectModelException;
 import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.shell.ShellPrintWriter;
@@ -42,6 +43,39 @@ public interface MavenCoreFacet extends Facet
     */
    public void setPOM(Model pom);
 
+   /**
+    * Begin a batch of POM edits. Until the matching call to {@link #commitEdit()}, {@link #getPOM()} and
+    * {@link #setPOM(Model)} operate on an in-memory working copy; the POM file is written, and a single modification
+    * event fired, only when the outermost edit is committed. Edits may be nested.
+    * <p>
+    * Requesting a {@link ProjectBuildingResult} while an edit is in progress flushes pending changes to disk so that
+    * the result reflects them.
+    */
+   public void beginEdit();
+
+   /**
+    * Commit the current batch of POM edits started by {@link #beginEdit()}. If this is the outermost edit, pending
+    * changes are written to the POM file.
+    *
+    * @throws IllegalStateException if no edit is in progress
+    * @throws ProjectModelException if this is the outermost edit and a nested edit was rolled back; the whole batch is
+    *            rolled back instead of committed
+    */
+   public void commitEdit();
+
+   /**
+    * Discard the current batch of POM edits started by {@link #beginEdit()}, restoring the POM to the state it was in
+    * when the outermost edit began. If called from a nested edit, the outermost edit will be rolled back when it ends,
+    * and committing it throws a {@link ProjectModelException}; callers that recover from a failed nested edit must
+    * roll back the outer edit too. Has no effect if no edit is in progress.
+    */
+   public void rollbackEdit();
+
+   /**
+    * Return true if a batch of POM edits started by {@link #beginEdit()} is in progress.
+    */
+   public boolean isEditing();
+
    /**
     * Ask Maven to process this project's POM and return the resulting metadata. Do not build dependency hierarchy past
     * the immediate POM.
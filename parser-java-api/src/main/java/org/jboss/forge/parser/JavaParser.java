@@ -10,12 +10,22 @@ package org.jboss.forge.parser;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
 
 import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaSource;
+import org.jboss.forge.parser.spi.ExtendedJavaParserProvider;
 import org.jboss.forge.parser.spi.JavaParserProvider;
 
 /**
@@ -47,7 +57,9 @@ public final class JavaParser
    }
 
    /**
-    * Open the given {@link File}, parsing its contents into a new {@link JavaClass} instance.
+    * Open the given {@link File}, parsing its contents into a new {@link JavaClass} instance. If the
+    * <code>forge.parser.preserveFormatting</code> system property is <code>true</code>, the existing formatting of the
+    * file is kept: {@link JavaSource#toString()} formats only the code changed since it was parsed.
     */
    public static JavaSource<?> parse(final File file) throws FileNotFoundException
    {
@@ -78,6 +90,81 @@ public final class JavaParser
       return getParser().parse(data);
    }
 
+   /**
+    * Parse the given {@link File}s concurrently into new {@link JavaSource} instances, using all available processors.
+    * The returned {@link Map} is filled in the background as it is iterated, in the order of the given
+    * {@link Collection}: looking up a file waits until that file has been parsed, and a caller that stops early does
+    * not wait for the rest. Looking up a file that cannot be read or parsed throws a {@link ParserException}, and does
+    * not affect the others. Parsers that cannot parse concurrently parse each file in turn as it is looked up.
+    */
+   public static Map<File, JavaSource<?>> parseAll(final Collection<File> files)
+   {
+      JavaParserProvider parser = getParser();
+      if (parser instanceof ExtendedJavaParserProvider)
+      {
+         return ((ExtendedJavaParserProvider) parser).parseAll(files);
+      }
+      return new SequentialParse(parser, files);
+   }
+
+   /**
+    * Open the given {@link File}, parsing only the structure of its contents (types, members, annotations and
+    * signatures) into a new {@link JavaSource} instance. This is considerably faster than {@link #parse(File)}, but
+    * method bodies may not be available, so the result is intended for inspection only, and should not be modified.
+    * Parsers that cannot parse the structure alone parse the whole file.
+    */
+   public static JavaSource<?> parseStructure(final File file) throws FileNotFoundException
+   {
+      JavaParserProvider parser = getParser();
+      if (parser instanceof ExtendedJavaParserProvider)
+      {
+         return ((ExtendedJavaParserProvider) parser).parseStructure(file);
+      }
+      return parser.parse(file);
+   }
+
+   /**
+    * Read the given {@link InputStream} and parse only the structure of the data into a new {@link JavaSource}
+    * instance. Method bodies are not available.
+    */
+   public static JavaSource<?> parseStructure(final InputStream data)
+   {
+      JavaParserProvider parser = getParser();
+      if (parser instanceof ExtendedJavaParserProvider)
+      {
+         return ((ExtendedJavaParserProvider) parser).parseStructure(data);
+      }
+      return parser.parse(data);
+   }
+
+   /**
+    * Parse only the structure of the given character array into a new {@link JavaSource} instance. Method bodies are
+    * not available.
+    */
+   public static JavaSource<?> parseStructure(final char[] data)
+   {
+      JavaParserProvider parser = getParser();
+      if (parser instanceof ExtendedJavaParserProvider)
+      {
+         return ((ExtendedJavaParserProvider) parser).parseStructure(data);
+      }
+      return parser.parse(data);
+   }
+
+   /**
+    * Parse only the structure of the given String data into a new {@link JavaSource} instance. Method bodies are not
+    * available.
+    */
+   public static JavaSource<?> parseStructure(final String data)
+   {
+      JavaParserProvider parser = getParser();
+      if (parser instanceof ExtendedJavaParserProvider)
+      {
+         return ((ExtendedJavaParserProvider) parser).parseStructure(data);
+      }
+      return parser.parse(data);
+   }
+
    /**
     * Create a new empty {@link JavaClass} instance.
     */
@@ -119,4 +206,99 @@ public final class JavaParser
    {
       return getParser().parse(type, data);
    }
+
+   /**
+    * Parses each file with the given provider, in turn, when it is first looked up.
+    */
+   private static class SequentialParse extends AbstractMap<File, JavaSource<?>>
+   {
+      private final JavaParserProvider parser;
+      private final Set<File> files;
+      private final Map<File, JavaSource<?>> parsed = new HashMap<File, JavaSource<?>>();
+
+      public SequentialParse(final JavaParserProvider parser, final Collection<File> files)
+      {
+         this.parser = parser;
+         this.files = Collections.unmodifiableSet(new LinkedHashSet<File>(files));
+      }
+
+      @Override
+      public JavaSource<?> get(final Object key)
+      {
+         return files.contains(key) ? parse((File) key) : null;
+      }
+
+      @Override
+      public boolean containsKey(final Object key)
+      {
+         return files.contains(key);
+      }
+
+      @Override
+      public Set<Entry<File, JavaSource<?>>> entrySet()
+      {
+         return new AbstractSet<Entry<File, JavaSource<?>>>()
+         {
+            @Override
+            public Iterator<Entry<File, JavaSource<?>>> iterator()
+            {
+               final Iterator<File> iterator = files.iterator();
+               return new Iterator<Entry<File, JavaSource<?>>>()
+               {
+                  @Override
+                  public boolean hasNext()
+                  {
+                     return iterator.hasNext();
+                  }
+
+                  @Override
+                  public Entry<File, JavaSource<?>> next()
+                  {
+                     final File file = iterator.next();
+                     return new SimpleImmutableEntry<File, JavaSource<?>>(file, null)
+                     {
+                        private static final long serialVersionUID = 6371012387203745581L;
+
+                        @Override
+                        public JavaSource<?> getValue()
+                        {
+                           return parse(file);
+                        }
+                     };
+                  }
+
+                  @Override
+                  public void remove()
+                  {
+                     throw new UnsupportedOperationException();
+                  }
+               };
+            }
+
+            @Override
+            public int size()
+            {
+               return files.size();
+            }
+         };
+      }
+
+      private synchronized JavaSource<?> parse(final File file)
+      {
+         JavaSource<?> source = parsed.get(file);
+         if (source == null)
+         {
+            try
+            {
+               source = parser.parse(file);
+            }
+            catch (Exception e)
+            {
+               throw new ParserException("Could not parse [" + file.getAbsolutePath() + "]", e);
+            }
+            parsed.put(file, source);
+         }
+         return source;
+      }
+   }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.parser.spi;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.ParserException;
+import org.jboss.forge.parser.java.JavaSource;
+
+/**
+ * A {@link JavaParserProvider} offering faster ways to parse sources. Implementing this interface is optional;
+ * {@link JavaParser} falls back to the methods of {@link JavaParserProvider} for other providers.
+ */
+public interface ExtendedJavaParserProvider extends JavaParserProvider
+{
+   /**
+    * Parse the given {@link File}s concurrently into new {@link JavaSource} instances. The returned {@link Map} is
+    * filled in the background as it is iterated, in the order of the given {@link Collection}: looking up a file waits
+    * until that file has been parsed, and throws a {@link ParserException} if it cannot be read or parsed.
+    */
+   public Map<File, JavaSource<?>> parseAll(final Collection<File> files);
+
+   /**
+    * Open the given {@link File}, parsing only the structure of its contents (types, members, annotations and
+    * signatures) into a new {@link JavaSource} instance. Method bodies are not available. The result is intended for
+    * inspection only, and should not be modified.
+    * 
+    * @throws FileNotFoundException
+    */
+   public JavaSource<?> parseStructure(final File file) throws FileNotFoundException;
+
+   /**
+    * Read the given {@link InputStream} and parse only the structure of the data into a new {@link JavaSource}
+    * instance. Method bodies are not available.
+    */
+   public JavaSource<?> parseStructure(final InputStream data);
+
+   /**
+    * Parse only the structure of the given character array into a new {@link JavaSource} instance. Method bodies are
+    * not available.
+    */
+   public JavaSource<?> parseStructure(final char[] data);
+
+   /**
+    * Parse only the structure of the given String data into a new {@link JavaSource} instance. Method bodies are not
+    * available.
+    */
+   public JavaSource<?> parseStructure(final String data);
+}
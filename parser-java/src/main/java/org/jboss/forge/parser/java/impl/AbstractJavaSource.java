@@ -24,6 +24,8 @@ import org.eclipse.jdt.core.dom.PackageDeclaration;
 import org.eclipse.jdt.core.dom.Type;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
 import org.eclipse.text.edits.TextEdit;
 import org.jboss.forge.parser.JavaParser;
 import org.jboss.forge.parser.ParserException;
@@ -54,6 +56,13 @@ public abstract class AbstractJavaSource<O extends JavaSource<O>> implements
    private final AnnotationAccessor<O, O> annotations = new AnnotationAccessor<O, O>();
    private final ModifierAccessor modifiers = new ModifierAccessor();
 
+   /**
+    * {@link CompilationUnit} property marking a source whose existing formatting must be kept: only the regions
+    * changed through this API are formatted by {@link #toString()}. Set on sources parsed from files when the
+    * <code>forge.parser.preserveFormatting</code> system property is <code>true</code>.
+    */
+   public static final String PRESERVE_FORMATTING = AbstractJavaSource.class.getName() + ".preserveFormatting";
+
    protected final Document document;
    protected final CompilationUnit unit;
    protected final BodyDeclaration body;
@@ -599,9 +608,10 @@ public abstract class AbstractJavaSource<O extends JavaSource<O>> implements
    {
       Document document = new Document(this.document.get());
 
+      TextEdit edit;
       try
       {
-         TextEdit edit = unit.rewrite(document, null);
+         edit = unit.rewrite(document, null);
          edit.apply(document);
       }
       catch (Exception e)
@@ -609,9 +619,43 @@ public abstract class AbstractJavaSource<O extends JavaSource<O>> implements
          throw new ParserException("Could not modify source: " + unit.toString(), e);
       }
 
+      if (Boolean.TRUE.equals(unit.getProperty(PRESERVE_FORMATTING)))
+      {
+         return Formatter.format(document.get(), getChangedRegions(edit));
+      }
       return Formatter.format(document.get());
    }
 
+   /**
+    * Return the regions of the rewritten document replaced by the given (applied) rewrite edit. Only the leaves of the
+    * edit tree are used, since a parent edit may span much more than the text it changes.
+    */
+   private IRegion[] getChangedRegions(final TextEdit edit)
+   {
+      List<IRegion> result = new ArrayList<IRegion>();
+      addChangedRegions(edit, result);
+      return result.toArray(new IRegion[result.size()]);
+   }
+
+   private void addChangedRegions(final TextEdit edit, final List<IRegion> result)
+   {
+      if (edit.isDeleted())
+      {
+         return;
+      }
+      if (edit.hasChildren())
+      {
+         for (TextEdit child : edit.getChildren())
+         {
+            addChangedRegions(child, result);
+         }
+      }
+      else
+      {
+         result.add(new Region(edit.getOffset(), edit.getLength()));
+      }
+   }
+
    @Override
    public Object getInternal()
    {
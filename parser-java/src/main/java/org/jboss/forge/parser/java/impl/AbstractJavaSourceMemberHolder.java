@@ -8,7 +8,9 @@ package org.jboss.forge.parser.java.impl;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -34,6 +36,8 @@ import org.jboss.forge.parser.java.util.Types;
 public abstract class AbstractJavaSourceMemberHolder<O extends JavaSource<O>> extends AbstractJavaSource<O> implements
          MethodHolder<O>, FieldHolder<O>
 {
+   private volatile MemberIndex members;
+
    public AbstractJavaSourceMemberHolder(JavaSource<?> enclosingType, final Document document,
             final CompilationUnit unit, BodyDeclaration declaration)
    {
@@ -89,43 +93,21 @@ public abstract class AbstractJavaSourceMemberHolder<O extends JavaSource<O>> ex
    }
 
    @Override
-   @SuppressWarnings("unchecked")
    public List<Field<O>> getFields()
    {
-      List<Field<O>> result = new ArrayList<Field<O>>();
-
-      for (FieldDeclaration field : ((TypeDeclaration) getBodyDeclaration()).getFields())
-      {
-         result.add(new FieldImpl<O>((O) this, field));
-      }
-
-      return Collections.unmodifiableList(result);
+      return getMemberIndex().getFields();
    }
 
    @Override
    public Field<O> getField(final String name)
    {
-      for (Field<O> field : getFields())
-      {
-         if (field.getName().equals(name))
-         {
-            return field;
-         }
-      }
-      return null;
+      return getMemberIndex().getFieldsByName().get(name);
    }
 
    @Override
    public boolean hasField(final String name)
    {
-      for (Field<O> field : getFields())
-      {
-         if (field.getName().equals(name))
-         {
-            return true;
-         }
-      }
-      return false;
+      return getMemberIndex().getFieldsByName().containsKey(name);
    }
 
    @Override
@@ -180,9 +162,9 @@ public abstract class AbstractJavaSourceMemberHolder<O extends JavaSource<O>> ex
    @Override
    public Method<O> getMethod(final String name)
    {
-      for (Method<O> method : getMethods())
+      for (Method<O> method : getMethodsNamed(name))
       {
-         if (method.getName().equals(name) && (method.getParameters().size() == 0))
+         if (method.getParameters().size() == 0)
          {
             return method;
          }
@@ -193,27 +175,24 @@ public abstract class AbstractJavaSourceMemberHolder<O extends JavaSource<O>> ex
    @Override
    public Method<O> getMethod(final String name, final String... paramTypes)
    {
-      for (Method<O> local : getMethods())
+      for (Method<O> local : getMethodsNamed(name))
       {
-         if (local.getName().equals(name))
+         List<Parameter> localParams = local.getParameters();
+         if (((paramTypes != null) && (localParams.size() == 0))
+                  || (localParams.size() == paramTypes.length))
          {
-            List<Parameter> localParams = local.getParameters();
-            if (((paramTypes != null) && (localParams.size() == 0))
-                     || (localParams.size() == paramTypes.length))
+            boolean matches = true;
+            for (int i = 0; i < localParams.size(); i++)
             {
-               boolean matches = true;
-               for (int i = 0; i < localParams.size(); i++)
+               Parameter localParam = localParams.get(i);
+               String type = paramTypes[i];
+               if (!Types.areEquivalent(localParam.getType(), type))
                {
-                  Parameter localParam = localParams.get(i);
-                  String type = paramTypes[i];
-                  if (!Types.areEquivalent(localParam.getType(), type))
-                  {
-                     matches = false;
-                  }
+                  matches = false;
                }
-               if (matches)
-                  return local;
             }
+            if (matches)
+               return local;
          }
       }
       return null;
@@ -239,25 +218,22 @@ public abstract class AbstractJavaSourceMemberHolder<O extends JavaSource<O>> ex
    @Override
    public boolean hasMethodSignature(final Method<?> method)
    {
-      for (Method<O> local : getMethods())
+      for (Method<O> local : getMethodsNamed(method.getName()))
       {
-         if (local.getName().equals(method.getName()))
+         List<Parameter> localParams = local.getParameters();
+         List<Parameter> methodParams = method.getParameters();
+         if (localParams.size() == methodParams.size())
          {
-            List<Parameter> localParams = local.getParameters();
-            List<Parameter> methodParams = method.getParameters();
-            if (localParams.size() == methodParams.size())
+            for (int i = 0; i < localParams.size(); i++)
             {
-               for (int i = 0; i < localParams.size(); i++)
+               Parameter localParam = localParams.get(i);
+               Parameter methodParam = methodParams.get(i);
+               if (!Strings.areEqual(localParam.getType(), methodParam.getType()))
                {
-                  Parameter localParam = localParams.get(i);
-                  Parameter methodParam = methodParams.get(i);
-                  if (!Strings.areEqual(localParam.getType(), methodParam.getType()))
-                  {
-                     return false;
-                  }
+                  return false;
                }
-               return true;
             }
+            return true;
          }
       }
       return false;
@@ -290,19 +266,123 @@ public abstract class AbstractJavaSourceMemberHolder<O extends JavaSource<O>> ex
    }
 
    @Override
-   @SuppressWarnings("unchecked")
    public List<Method<O>> getMethods()
    {
-      List<Method<O>> result = new ArrayList<Method<O>>();
+      return getMemberIndex().getMethods();
+   }
 
-      MethodFinderVisitor methodFinderVisitor = new MethodFinderVisitor();
-      body.accept(methodFinderVisitor);
+   private List<Method<O>> getMethodsNamed(final String name)
+   {
+      List<Method<O>> result = getMemberIndex().getMethodsByName().get(name);
+      if (result == null)
+      {
+         return Collections.emptyList();
+      }
+      return result;
+   }
 
-      List<MethodDeclaration> methods = methodFinderVisitor.getMethods();
-      for (MethodDeclaration methodDeclaration : methods)
+   /**
+    * Return the member views of this type, building them again if the AST has been modified since they were last
+    * built. Every structural change (adding, removing or renaming a member, changing parameters) goes through the AST,
+    * so its modification count is enough to tell whether the views are still current.
+    */
+   private MemberIndex getMemberIndex()
+   {
+      long stamp = unit.getAST().modificationCount();
+      MemberIndex result = members;
+      if ((result == null) || (result.stamp != stamp))
       {
-         result.add(new MethodImpl<O>((O) this, methodDeclaration));
+         result = new MemberIndex(stamp);
+         members = result;
+      }
+      return result;
+   }
+
+   /**
+    * Field and method views of one version of the AST, each built on first use.
+    */
+   private class MemberIndex
+   {
+      private final long stamp;
+
+      private List<Field<O>> fields;
+      private Map<String, Field<O>> fieldsByName;
+      private List<Method<O>> methods;
+      private Map<String, List<Method<O>>> methodsByName;
+
+      public MemberIndex(final long stamp)
+      {
+         this.stamp = stamp;
+      }
+
+      @SuppressWarnings("unchecked")
+      public synchronized List<Field<O>> getFields()
+      {
+         if (fields == null)
+         {
+            List<Field<O>> result = new ArrayList<Field<O>>();
+            for (FieldDeclaration field : ((TypeDeclaration) getBodyDeclaration()).getFields())
+            {
+               result.add(new FieldImpl<O>((O) AbstractJavaSourceMemberHolder.this, field));
+            }
+            fields = Collections.unmodifiableList(result);
+         }
+         return fields;
+      }
+
+      public synchronized Map<String, Field<O>> getFieldsByName()
+      {
+         if (fieldsByName == null)
+         {
+            Map<String, Field<O>> result = new HashMap<String, Field<O>>();
+            for (Field<O> field : getFields())
+            {
+               if (!result.containsKey(field.getName()))
+               {
+                  result.put(field.getName(), field);
+               }
+            }
+            fieldsByName = result;
+         }
+         return fieldsByName;
+      }
+
+      @SuppressWarnings("unchecked")
+      public synchronized List<Method<O>> getMethods()
+      {
+         if (methods == null)
+         {
+            MethodFinderVisitor methodFinderVisitor = new MethodFinderVisitor();
+            body.accept(methodFinderVisitor);
+
+            List<Method<O>> result = new ArrayList<Method<O>>();
+            for (MethodDeclaration methodDeclaration : methodFinderVisitor.getMethods())
+            {
+               result.add(new MethodImpl<O>((O) AbstractJavaSourceMemberHolder.this, methodDeclaration));
+            }
+            methods = Collections.unmodifiableList(result);
+         }
+         return methods;
+      }
+
+      public synchronized Map<String, List<Method<O>>> getMethodsByName()
+      {
+         if (methodsByName == null)
+         {
+            Map<String, List<Method<O>>> result = new HashMap<String, List<Method<O>>>();
+            for (Method<O> method : getMethods())
+            {
+               List<Method<O>> named = result.get(method.getName());
+               if (named == null)
+               {
+                  named = new ArrayList<Method<O>>();
+                  result.put(method.getName(), named);
+               }
+               named.add(method);
+            }
+            methodsByName = result;
+         }
+         return methodsByName;
       }
-      return Collections.unmodifiableList(result);
    }
 }
@@ -12,30 +12,146 @@ import org.eclipse.jdt.core.formatter.CodeFormatter;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextUtilities;
 import org.eclipse.text.edits.TextEdit;
 import org.jboss.forge.parser.java.JavaClass;
 
 import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Properties;
 
 /**
+ * Formats Java source code using the settings in <code>org.eclipse.jdt.core.prefs</code>. The settings are read once,
+ * and each thread reuses its own {@link CodeFormatter}, since formatters keep state while formatting.
+ * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
 public abstract class Formatter
 {
+   // TODO locate user's eclipse project settings, use those if we can.
+   private static final Properties OPTIONS = readConfig("org.eclipse.jdt.core.prefs");
+
+   private static final ThreadLocal<CodeFormatter> FORMATTER = new ThreadLocal<CodeFormatter>()
+   {
+      @Override
+      protected CodeFormatter initialValue()
+      {
+         return ToolFactory.createCodeFormatter(OPTIONS);
+      }
+   };
+
    public static String format(JavaClass javaClass)
    {
       return format(javaClass.toString());
    }
-   
+
    public static String format(String source)
    {
-       // TODO locate user's eclipse project settings, use those if we can.
-       Properties options = readConfig("org.eclipse.jdt.core.prefs");
+      return ensureCorrectNewLines(formatFile(source, FORMATTER.get()));
+   }
 
-       final CodeFormatter codeFormatter = ToolFactory.createCodeFormatter(options);
-       return ensureCorrectNewLines(formatFile(source, codeFormatter));
+   /**
+    * Format only the lines touched by the given regions of the source, leaving everything else as it is. Line
+    * separators in the formatted lines follow those already used in the source, then are corrected as by
+    * {@link #format(String)}.
+    */
+   public static String format(String source, IRegion... regions)
+   {
+      IDocument doc = new Document(source);
+      String lineSeparator = TextUtilities.getDefaultLineDelimiter(doc);
+      CodeFormatter codeFormatter = FORMATTER.get();
+      try
+      {
+         List<IRegion> lines = toLines(doc, regions);
+         /*
+          * Formatting changes the length of the text, so work back from the end of the source.
+          */
+         for (int i = lines.size() - 1; i >= 0; i--)
+         {
+            IRegion region = lines.get(i);
+            String contents = doc.get();
+            TextEdit edit = codeFormatter.format(CodeFormatter.K_COMPILATION_UNIT, contents, region.getOffset(),
+                     region.getLength(), 0, lineSeparator);
+            if (edit != null)
+            {
+               edit.apply(doc);
+            }
+         }
+      }
+      catch (BadLocationException e)
+      {
+         throw new RuntimeException(e);
+      }
+      return ensureCorrectNewLines(doc.get());
+   }
+
+   /**
+    * Expand each region to the whole lines holding its text, merging regions that share or adjoin a line. Regions
+    * holding only whitespace (such as what is left of a removed member) need no formatting and are dropped.
+    */
+   private static List<IRegion> toLines(IDocument doc, IRegion[] regions) throws BadLocationException
+   {
+      IRegion[] sorted = regions.clone();
+      Arrays.sort(sorted, new Comparator<IRegion>()
+      {
+         @Override
+         public int compare(IRegion left, IRegion right)
+         {
+            return left.getOffset() - right.getOffset();
+         }
+      });
+
+      List<IRegion> result = new ArrayList<IRegion>();
+      int startLine = -1;
+      int endLine = -1;
+      for (IRegion region : sorted)
+      {
+         int offset = region.getOffset();
+         int end = offset + region.getLength();
+         while ((offset < end) && Character.isWhitespace(doc.getChar(offset)))
+         {
+            offset++;
+         }
+         while ((end > offset) && Character.isWhitespace(doc.getChar(end - 1)))
+         {
+            end--;
+         }
+         if (offset == end)
+         {
+            continue;
+         }
+
+         int first = doc.getLineOfOffset(offset);
+         int last = doc.getLineOfOffset(end - 1);
+         if ((startLine != -1) && (first > endLine + 1))
+         {
+            result.add(toRegion(doc, startLine, endLine));
+            startLine = -1;
+         }
+         if (startLine == -1)
+         {
+            startLine = first;
+         }
+         endLine = Math.max(endLine, last);
+      }
+      if (startLine != -1)
+      {
+         result.add(toRegion(doc, startLine, endLine));
+      }
+      return result;
+   }
+
+   private static IRegion toRegion(IDocument doc, int startLine, int endLine) throws BadLocationException
+   {
+      IRegion start = doc.getLineInformation(startLine);
+      IRegion end = doc.getLineInformation(endLine);
+      return new Region(start.getOffset(), end.getOffset() + end.getLength() - start.getOffset());
    }
 
    private static String formatFile(String contents, CodeFormatter codeFormatter)
@@ -12,8 +12,13 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
@@ -34,6 +39,7 @@ import org.jboss.forge.parser.java.JavaEnum;
 import org.jboss.forge.parser.java.JavaInterface;
 import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.parser.java.ast.TypeDeclarationFinderVisitor;
+import org.jboss.forge.parser.java.impl.AbstractJavaSource;
 import org.jboss.forge.parser.java.impl.JavaAnnotationImpl;
 import org.jboss.forge.parser.java.impl.JavaClassImpl;
 import org.jboss.forge.parser.java.impl.JavaEnumImpl;
@@ -42,23 +48,122 @@ import org.jboss.forge.parser.java.impl.JavaInterfaceImpl;
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
-public class JavaParserImpl implements JavaParserProvider
+public class JavaParserImpl implements ExtendedJavaParserProvider
 {
+   /**
+    * System property that, when <code>true</code>, keeps the existing formatting of sources parsed from files.
+    */
+   public static final String PRESERVE_FORMATTING_PROPERTY = "forge.parser.preserveFormatting";
+
+   /**
+    * Compiler options shared by every parse. Built once, since {@link JavaCore#getOptions()} returns a fresh copy of
+    * the full option table on each call. Never handed out, so never modified after initialization.
+    */
+   @SuppressWarnings("rawtypes")
+   private static final Map OPTIONS = createOptions();
+
+   private static ExecutorService executor;
+
+   @SuppressWarnings({ "rawtypes", "unchecked" })
+   private static Map createOptions()
+   {
+      Map options = JavaCore.getOptions();
+      options.put(CompilerOptions.OPTION_Source, CompilerOptions.VERSION_1_5);
+      options.put(CompilerOptions.OPTION_Encoding, "UTF-8");
+      return options;
+   }
 
    @Override
    public JavaSource<?> parse(final File file) throws FileNotFoundException
    {
-      FileInputStream stream = new FileInputStream(file);
-      return parse(stream);
+      JavaSource<?> source = parse(new FileInputStream(file));
+      /*
+       * Files hold the user's own code, so if asked, only the parts changed through the API are formatted when written
+       * back.
+       */
+      if (Boolean.getBoolean(PRESERVE_FORMATTING_PROPERTY))
+      {
+         ((CompilationUnit) source.getInternal()).setProperty(AbstractJavaSource.PRESERVE_FORMATTING, Boolean.TRUE);
+      }
+      return source;
    }
 
    @Override
    public JavaSource<?> parse(final InputStream data)
+   {
+      return parse(read(data));
+   }
+
+   @Override
+   public JavaSource<?> parse(final char[] data)
+   {
+      return parse(data, new String(data), false);
+   }
+
+   @Override
+   public JavaSource<?> parse(final String data)
+   {
+      return parse(data.toCharArray(), data, false);
+   }
+
+   @Override
+   public Map<File, JavaSource<?>> parseAll(final Collection<File> files)
+   {
+      return new ParseResults(this, getExecutor(), Runtime.getRuntime().availableProcessors() * 4, files);
+   }
+
+   /**
+    * Bulk parsing is spread over one daemon thread per available processor, created the first time it is needed.
+    */
+   private static synchronized ExecutorService getExecutor()
+   {
+      if (executor == null)
+      {
+         executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory()
+         {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable)
+            {
+               Thread thread = new Thread(runnable, "Forge Java parser " + count.incrementAndGet());
+               thread.setDaemon(true);
+               return thread;
+            }
+         });
+      }
+      return executor;
+   }
+
+   @Override
+   public JavaSource<?> parseStructure(final File file) throws FileNotFoundException
+   {
+      return parseStructure(new FileInputStream(file));
+   }
+
+   @Override
+   public JavaSource<?> parseStructure(final InputStream data)
+   {
+      return parseStructure(read(data));
+   }
+
+   @Override
+   public JavaSource<?> parseStructure(final char[] data)
+   {
+      return parse(data, new String(data), true);
+   }
+
+   @Override
+   public JavaSource<?> parseStructure(final String data)
+   {
+      return parse(data.toCharArray(), data, true);
+   }
+
+   private char[] read(final InputStream data)
    {
       try
       {
-         char[] source = Util.getInputStreamAsCharArray(data, data.available(), "ISO8859_1");
-         return parse(source);
+         return Util.getInputStreamAsCharArray(data, data.available(), "ISO8859_1");
       }
       catch (IOException e)
       {
@@ -80,27 +185,29 @@ public class JavaParserImpl implements JavaParserProvider
       }
    }
 
-   @Override
-   public JavaSource<?> parse(final char[] data)
-   {
-      return parse(new String(data));
-   }
-
-   @Override
-   @SuppressWarnings({ "rawtypes", "unchecked" })
-   public JavaSource<?> parse(final String data)
+   /**
+    * Parse the given source, passed both as characters (for the parser) and as a {@link String} (for the
+    * {@link Document}) so that neither needs to be copied again. Bindings are never resolved, since nothing in Forge
+    * uses them. In structure-only mode, method bodies are skipped and statement recovery is disabled.
+    */
+   private JavaSource<?> parse(final char[] chars, final String data, final boolean structureOnly)
    {
       Document document = new Document(data);
       ASTParser parser = ASTParser.newParser(AST.JLS3);
 
-      parser.setSource(document.get().toCharArray());
-      Map options = JavaCore.getOptions();
-      options.put(CompilerOptions.OPTION_Source, CompilerOptions.VERSION_1_5);
-      options.put(CompilerOptions.OPTION_Encoding, "UTF-8");
-      parser.setCompilerOptions(options);
-
-      parser.setResolveBindings(true);
+      parser.setSource(chars);
+      parser.setCompilerOptions(OPTIONS);
+      parser.setResolveBindings(false);
       parser.setKind(ASTParser.K_COMPILATION_UNIT);
+      if (structureOnly)
+      {
+         /*
+          * No method body encloses the start of the file, so all of them are left empty.
+          */
+         parser.setFocalPosition(0);
+         parser.setStatementsRecovery(false);
+      }
+
       CompilationUnit unit = (CompilationUnit) parser.createAST(null);
       unit.recordModifications();
 
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.parser.spi;
+
+import java.io.File;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.jboss.forge.parser.ParserException;
+import org.jboss.forge.parser.java.JavaSource;
+
+/**
+ * A read-only view of {@link JavaSource} instances parsed in the background. Files are parsed on demand: iterating
+ * keeps a bounded number of files parsing ahead of the current one, so a caller that stops early does not wait for, or
+ * hold, the rest. Looking up a value waits only for that file, and throws a {@link ParserException} if it could not be
+ * read or parsed.
+ */
+class ParseResults extends AbstractMap<File, JavaSource<?>>
+{
+   private final JavaParserProvider parser;
+   private final ExecutorService executor;
+   private final int window;
+
+   private final Set<File> keys;
+   private final List<File> files;
+   private final Map<File, Future<JavaSource<?>>> futures = new HashMap<File, Future<JavaSource<?>>>();
+
+   private final Set<Entry<File, JavaSource<?>>> entries = new AbstractSet<Entry<File, JavaSource<?>>>()
+   {
+      @Override
+      public Iterator<Entry<File, JavaSource<?>>> iterator()
+      {
+         return new ResultIterator();
+      }
+
+      @Override
+      public int size()
+      {
+         return files.size();
+      }
+   };
+
+   public ParseResults(final JavaParserProvider parser, final ExecutorService executor, final int window,
+            final Collection<File> files)
+   {
+      this.parser = parser;
+      this.executor = executor;
+      this.window = window;
+      this.keys = new LinkedHashSet<File>(files);
+      this.files = new ArrayList<File>(keys);
+   }
+
+   @Override
+   public JavaSource<?> get(final Object key)
+   {
+      if (!keys.contains(key))
+      {
+         return null;
+      }
+      File file = (File) key;
+      return await(file, submit(file));
+   }
+
+   @Override
+   public boolean containsKey(final Object key)
+   {
+      return keys.contains(key);
+   }
+
+   @Override
+   public Set<Entry<File, JavaSource<?>>> entrySet()
+   {
+      return entries;
+   }
+
+   private synchronized Future<JavaSource<?>> submit(final File file)
+   {
+      Future<JavaSource<?>> future = futures.get(file);
+      if (future == null)
+      {
+         future = executor.submit(new Callable<JavaSource<?>>()
+         {
+            @Override
+            public JavaSource<?> call() throws Exception
+            {
+               return parser.parse(file);
+            }
+         });
+         futures.put(file, future);
+      }
+      return future;
+   }
+
+   private static JavaSource<?> await(final File file, final Future<JavaSource<?>> future)
+   {
+      try
+      {
+         return future.get();
+      }
+      catch (ExecutionException e)
+      {
+         throw new ParserException("Could not parse [" + file.getAbsolutePath() + "]", e.getCause());
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new ParserException("Interrupted while parsing [" + file.getAbsolutePath() + "]", e);
+      }
+   }
+
+   private class ResultIterator implements Iterator<Entry<File, JavaSource<?>>>
+   {
+      private int index;
+      private int submitted;
+
+      @Override
+      public boolean hasNext()
+      {
+         return index < files.size();
+      }
+
+      @Override
+      public Entry<File, JavaSource<?>> next()
+      {
+         if (!hasNext())
+         {
+            throw new NoSuchElementException();
+         }
+         while ((submitted < files.size()) && (submitted <= index + window))
+         {
+            submit(files.get(submitted++));
+         }
+         return new ResultEntry(files.get(index++));
+      }
+
+      @Override
+      public void remove()
+      {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   /**
+    * An entry whose value is waited for when first asked for, so that a failure is reported for that file alone.
+    */
+   private class ResultEntry implements Entry<File, JavaSource<?>>
+   {
+      private final File file;
+
+      public ResultEntry(final File file)
+      {
+         this.file = file;
+      }
+
+      @Override
+      public File getKey()
+      {
+         return file;
+      }
+
+      @Override
+      public JavaSource<?> getValue()
+      {
+         return await(file, submit(file));
+      }
+
+      @Override
+      public JavaSource<?> setValue(final JavaSource<?> value)
+      {
+         throw new UnsupportedOperationException();
+      }
+   }
+}
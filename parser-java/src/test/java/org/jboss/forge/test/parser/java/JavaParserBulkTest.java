@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.test.parser.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.ParserException;
+import org.jboss.forge.parser.java.JavaSource;
+import org.junit.Test;
+
+public class JavaParserBulkTest
+{
+   @Test
+   public void testParseAllPreservesOrderAndReportsFailures() throws Exception
+   {
+      List<File> files = new ArrayList<File>();
+      for (int i = 0; i < 20; i++)
+      {
+         files.add(write("package com.test; public class Type" + i + " { private int field" + i + "; }"));
+      }
+      File broken = write("asdfa$%(*&#$%sdfdsf");
+      files.add(10, broken);
+      File missing = new File(broken.getParentFile(), "DoesNotExist" + System.nanoTime() + ".java");
+      files.add(missing);
+
+      Map<File, JavaSource<?>> sources = JavaParser.parseAll(files);
+
+      assertEquals(22, sources.size());
+      assertTrue(sources.containsKey(broken));
+      assertFailed(sources, broken);
+      assertFailed(sources, missing);
+
+      Iterator<Entry<File, JavaSource<?>>> iterator = sources.entrySet().iterator();
+      for (int i = 0; i < 20; i++)
+      {
+         Entry<File, JavaSource<?>> entry = iterator.next();
+         if (entry.getKey().equals(broken))
+         {
+            entry = iterator.next();
+         }
+         assertEquals("com.test.Type" + i, entry.getValue().getQualifiedName());
+      }
+      assertEquals(missing, iterator.next().getKey());
+      assertFalse(iterator.hasNext());
+   }
+
+   @Test
+   public void testParseAllStopsWithCaller() throws Exception
+   {
+      List<File> files = new ArrayList<File>();
+      for (int i = 0; i < 10; i++)
+      {
+         files.add(write("package com.test; public class Type" + i + " {}"));
+      }
+
+      Map<File, JavaSource<?>> sources = JavaParser.parseAll(files);
+      assertEquals("com.test.Type0", sources.values().iterator().next().getQualifiedName());
+      assertEquals("com.test.Type9", sources.get(files.get(9)).getQualifiedName());
+   }
+
+   private void assertFailed(final Map<File, JavaSource<?>> sources, final File file)
+   {
+      try
+      {
+         sources.get(file);
+         fail("Expected a ParserException for " + file);
+      }
+      catch (ParserException e)
+      {
+         assertNotNull(e.getCause());
+      }
+   }
+
+   private File write(final String source) throws IOException
+   {
+      File file = File.createTempFile("JavaParserBulkTest", ".java");
+      file.deleteOnExit();
+      FileWriter writer = new FileWriter(file);
+      try
+      {
+         writer.write(source);
+      }
+      finally
+      {
+         writer.close();
+      }
+      return file;
+   }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.test.parser.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.java.JavaClass;
+import org.jboss.forge.parser.java.Method;
+import org.junit.Test;
+
+public class JavaParserStructureTest
+{
+   @Test
+   public void testStructureMatchesFullParse() throws Exception
+   {
+      JavaClass full = (JavaClass) JavaParser.parse(getMockClass());
+      JavaClass structure = (JavaClass) JavaParser.parseStructure(getMockClass());
+
+      assertEquals(full.getQualifiedName(), structure.getQualifiedName());
+      assertEquals(full.getFields().size(), structure.getFields().size());
+      assertEquals(full.getMethods().size(), structure.getMethods().size());
+
+      Method<JavaClass> method = structure.getMethod("valueOf", "URL");
+      assertEquals("String", method.getReturnType());
+      assertEquals(1, method.getParameters().size());
+   }
+
+   @Test
+   public void testStructureSkipsMethodBodies() throws Exception
+   {
+      JavaClass full = (JavaClass) JavaParser.parse(getMockClass());
+      JavaClass structure = (JavaClass) JavaParser.parseStructure(getMockClass());
+
+      assertTrue(full.getMethod("valueOf", "URL").getBody().contains("getPath"));
+      assertEquals("", structure.getMethod("valueOf", "URL").getBody());
+   }
+
+   @Test
+   public void testCharArrayAndStringParsesAreEquivalent() throws Exception
+   {
+      String source = "public class Foo { private int a; public void b() { a++; } }";
+      JavaClass fromString = (JavaClass) JavaParser.parse(source);
+      JavaClass fromChars = (JavaClass) JavaParser.parse(source.toCharArray());
+
+      assertEquals(fromString.toString(), fromChars.toString());
+   }
+
+   private InputStream getMockClass()
+   {
+      return JavaParserStructureTest.class.getResourceAsStream("/org/jboss/forge/grammar/java/MockClass.java");
+   }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.test.parser.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.java.Field;
+import org.jboss.forge.parser.java.JavaClass;
+import org.jboss.forge.parser.java.Method;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MemberLookupTest
+{
+   private JavaClass javaClass;
+
+   @Before
+   public void reset()
+   {
+      javaClass = JavaParser.parse(JavaClass.class, "public class Lookup { private int a; private String b; "
+               + "public void c() {} public void c(int x) {} public void c(String x) {} }");
+   }
+
+   @Test
+   public void testMemberListsAreReusedUntilModified() throws Exception
+   {
+      assertSame(javaClass.getFields(), javaClass.getFields());
+      assertSame(javaClass.getMethods(), javaClass.getMethods());
+
+      Object fields = javaClass.getFields();
+      javaClass.addField("private long d;");
+      assertEquals(3, javaClass.getFields().size());
+      assertFalse(fields == javaClass.getFields());
+   }
+
+   @Test
+   public void testFindFieldsByName() throws Exception
+   {
+      assertTrue(javaClass.hasField("a"));
+      assertEquals("String", javaClass.getField("b").getType());
+      assertNull(javaClass.getField("d"));
+
+      javaClass.addField("private long d;");
+      assertNotNull(javaClass.getField("d"));
+
+      javaClass.removeField(javaClass.getField("a"));
+      assertFalse(javaClass.hasField("a"));
+   }
+
+   @Test
+   public void testRenamedFieldIsFoundByNewName() throws Exception
+   {
+      Field<JavaClass> field = javaClass.getField("a");
+      field.setName("renamed");
+      assertFalse(javaClass.hasField("a"));
+      assertEquals(field, javaClass.getField("renamed"));
+   }
+
+   @Test
+   public void testFindMethodsBySignature() throws Exception
+   {
+      assertNotNull(javaClass.getMethod("c"));
+      assertTrue(javaClass.hasMethodSignature("c", int.class));
+      assertTrue(javaClass.hasMethodSignature("c", String.class));
+      assertFalse(javaClass.hasMethodSignature("c", long.class));
+      assertNull(javaClass.getMethod("e"));
+
+      Method<JavaClass> method = javaClass.getMethod("c", int.class);
+      method.setParameters("long x");
+      assertTrue(javaClass.hasMethodSignature("c", long.class));
+      assertFalse(javaClass.hasMethodSignature("c", int.class));
+
+      javaClass.removeMethod(javaClass.getMethod("c", String.class));
+      assertFalse(javaClass.hasMethodSignature("c", String.class));
+
+      javaClass.addMethod("public void e() {}");
+      assertNotNull(javaClass.getMethod("e"));
+   }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.test.parser.java.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.java.JavaClass;
+import org.jboss.forge.parser.spi.JavaParserImpl;
+
+/**
+ * Measures the Java parser: full and structure-only parsing over the test grammar resources, and the time taken to
+ * save a change to a large class by parsing it, adding a field and writing it back with {@link JavaClass#toString()}.
+ * Sources read from a file are formatted only where they changed, as the benchmark turns on
+ * <code>forge.parser.preserveFormatting</code>; sources read from a String are formatted in full. Not run as part of
+ * the build; run it with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *    -Dexec.mainClass=org.jboss.forge.test.parser.java.benchmark.JavaParserBenchmark
+ * </pre>
+ *
+ * Optional arguments are the number of warm-up and measured iterations, and the number of fields in the large class
+ * (default 20, 100 and 500).
+ */
+public class JavaParserBenchmark
+{
+   private static final String[] RESOURCES = { "MockClass.java", "MockAnnotatedClass.java",
+            "MockAnnotatedField.java", "MockAnnotatedMethod.java", "MockEnum.java", "MockInterface.java",
+            "MockUnformattedClass.java", "NestedMockClass.java", "BigInterface.java" };
+
+   private final int warmup;
+   private final int iterations;
+
+   public JavaParserBenchmark(final int warmup, final int iterations)
+   {
+      this.warmup = warmup;
+      this.iterations = iterations;
+   }
+
+   public static void main(final String[] args) throws Exception
+   {
+      int warmup = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+      int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+      int fields = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+      System.setProperty(JavaParserImpl.PRESERVE_FORMATTING_PROPERTY, "true");
+
+      JavaParserBenchmark benchmark = new JavaParserBenchmark(warmup, iterations);
+      benchmark.parse();
+      benchmark.save(fields);
+   }
+
+   private void parse() throws Exception
+   {
+      final List<String> sources = new ArrayList<String>();
+      for (String name : RESOURCES)
+      {
+         sources.add(read("/org/jboss/forge/grammar/java/" + name));
+      }
+
+      System.out.println("Parsed " + sources.size() + " sources " + iterations + " times");
+      measure("full", sources.size(), new Task()
+      {
+         @Override
+         public void run()
+         {
+            for (String source : sources)
+            {
+               JavaParser.parse(source);
+            }
+         }
+      });
+      measure("structure", sources.size(), new Task()
+      {
+         @Override
+         public void run()
+         {
+            for (String source : sources)
+            {
+               JavaParser.parseStructure(source);
+            }
+         }
+      });
+   }
+
+   private void save(final int fields) throws Exception
+   {
+      final String source = JavaParser.parse(createClass(fields)).toString();
+      final File file = File.createTempFile("Large", ".java");
+      file.deleteOnExit();
+      write(file, source);
+
+      System.out.println("Saved a class of " + fields + " fields and accessors " + iterations + " times");
+      measure("full format", 1, new Task()
+      {
+         @Override
+         public void run()
+         {
+            addField(JavaParser.parse(JavaClass.class, source));
+         }
+      });
+      measure("changed region", 1, new Task()
+      {
+         @Override
+         public void run() throws IOException
+         {
+            addField(JavaParser.parse(JavaClass.class, file));
+         }
+      });
+   }
+
+   /**
+    * Run the task for the warm-up iterations, then print the mean time of each of the given number of operations it
+    * performs over the measured iterations.
+    */
+   private void measure(final String name, final int operations, final Task task) throws Exception
+   {
+      for (int i = 0; i < warmup; i++)
+      {
+         task.run();
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++)
+      {
+         task.run();
+      }
+      long time = (System.nanoTime() - start) / 1000;
+      System.out.println("   " + name + ": " + (time / ((long) iterations * operations)) + " us");
+   }
+
+   private interface Task
+   {
+      void run() throws Exception;
+   }
+
+   private static String addField(final JavaClass javaClass)
+   {
+      javaClass.addField("private String added;");
+      return javaClass.toString();
+   }
+
+   private static String createClass(final int fields)
+   {
+      StringBuilder result = new StringBuilder("package com.test; public class Large {");
+      for (int i = 0; i < fields; i++)
+      {
+         result.append("private String field").append(i).append(";");
+      }
+      for (int i = 0; i < fields; i++)
+      {
+         result.append("public String getField").append(i).append("() { return field").append(i).append("; }");
+         result.append("public void setField").append(i).append("(String value) { field").append(i)
+                  .append(" = value; }");
+      }
+      return result.append("}").toString();
+   }
+
+   private static String read(final String resource) throws IOException
+   {
+      InputStream stream = JavaParserBenchmark.class.getResourceAsStream(resource);
+      try
+      {
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         byte[] buffer = new byte[4096];
+         int read;
+         while ((read = stream.read(buffer)) != -1)
+         {
+            out.write(buffer, 0, read);
+         }
+         return out.toString("UTF-8");
+      }
+      finally
+      {
+         stream.close();
+      }
+   }
+
+   private static void write(final File file, final String contents) throws IOException
+   {
+      OutputStream out = new FileOutputStream(file);
+      try
+      {
+         out.write(contents.getBytes("UTF-8"));
+      }
+      finally
+      {
+         out.close();
+      }
+   }
+}
@@ -7,14 +7,22 @@
 
 package org.jboss.forge.test.parser.java.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 import org.jboss.forge.parser.JavaParser;
 import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.util.Formatter;
+import org.jboss.forge.parser.spi.JavaParserImpl;
 import org.jboss.forge.test.parser.java.FieldAnnotationTest;
+import org.junit.After;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -23,6 +31,10 @@ import org.junit.Test;
  */
 public class FormatterTest
 {
+   private static final String KEPT = "package com.test;\n\npublic class Kept\n{\n"
+            + "   private   int    a;   // spacing is kept\n\n"
+            + "   public void b() {  a++;  }\n}\n";
+
    private static JavaClass javaClass;
 
    @BeforeClass
@@ -41,4 +53,68 @@ public class FormatterTest
       String original = javaClass.toString();
       assertNotSame(original, result);
    }
+
+   @After
+   public void clearPreserveFormatting()
+   {
+      System.clearProperty(JavaParserImpl.PRESERVE_FORMATTING_PROPERTY);
+   }
+
+   @Test
+   public void testFileIsFormattedByDefault() throws Exception
+   {
+      JavaClass formatted = (JavaClass) JavaParser.parse(write(KEPT));
+      assertFalse(formatted.toString().contains("private   int    a;"));
+   }
+
+   @Test
+   public void testUnmodifiedFileIsNotReformatted() throws Exception
+   {
+      System.setProperty(JavaParserImpl.PRESERVE_FORMATTING_PROPERTY, "true");
+      JavaClass kept = (JavaClass) JavaParser.parse(write(KEPT));
+      assertEquals(KEPT, kept.toString());
+   }
+
+   @Test
+   public void testOnlyChangedCodeInFileIsFormatted() throws Exception
+   {
+      System.setProperty(JavaParserImpl.PRESERVE_FORMATTING_PROPERTY, "true");
+      JavaClass kept = (JavaClass) JavaParser.parse(write(KEPT));
+      kept.addField("private    String c;");
+      kept.addMethod("public String getC() {return c;}");
+
+      String result = kept.toString();
+      assertTrue(result.contains("   private   int    a;   // spacing is kept\n"));
+      assertTrue(result.contains("   public void b() {  a++;  }\n"));
+      assertTrue(result.contains("private String c;"));
+      assertTrue(result.contains("return c;"));
+   }
+
+   @Test
+   public void testChangesInsideMembersAreFormatted() throws Exception
+   {
+      System.setProperty(JavaParserImpl.PRESERVE_FORMATTING_PROPERTY, "true");
+      JavaClass kept = (JavaClass) JavaParser.parse(write(KEPT));
+      kept.getMethod("b").setBody("a    =    1;");
+
+      String result = kept.toString();
+      assertTrue(result.contains("   private   int    a;   // spacing is kept\n"));
+      assertTrue(result.contains("a = 1;"));
+   }
+
+   private File write(final String contents) throws Exception
+   {
+      File file = File.createTempFile("Kept", ".java");
+      file.deleteOnExit();
+      OutputStream out = new FileOutputStream(file);
+      try
+      {
+         out.write(contents.getBytes("UTF-8"));
+      }
+      finally
+      {
+         out.close();
+      }
+      return file;
+   }
 }
@@ -11,6 +11,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.forge.parser.xml.query.CreateQuery;
 import org.jboss.forge.parser.xml.query.GetOrCreateQuery;
@@ -42,6 +44,13 @@ public class Node
     */
    private static final Pattern[] PATTERN_CAST = new Pattern[] {};
 
+   /**
+    * Patterns compiled from the query expressions passed to this class; never handed out, so never modified
+    */
+   private static final ConcurrentMap<String, Pattern[]> COMPILED_QUERIES = new ConcurrentHashMap<String, Pattern[]>();
+
+   private static final int MAX_COMPILED_QUERIES = 512;
+
    // -------------------------------------------------------------------------------------||
    // Instance Members --------------------------------------------------------------------||
    // -------------------------------------------------------------------------------------||
@@ -53,6 +62,21 @@ public class Node
 
    private final List<Node> children = new ArrayList<Node>();
 
+   /**
+    * Children by name, in document order; created when the first child is added
+    */
+   private Map<String, List<Node>> childrenByName;
+
+   /**
+    * Number of descendants (at any depth) of each name, used to skip subtrees that cannot match a query
+    */
+   private Map<String, Integer> descendantCounts;
+
+   /**
+    * Whether this {@link Node} is still one of its parent's children
+    */
+   private boolean attached = true;
+
    /**
     * Name of the {@link Node}; may not have spaces
     */
@@ -114,6 +138,7 @@ public class Node
       if (this.parent != null)
       {
          this.parent.children.add(this);
+         this.parent.indexChild(this);
       }
    }
 
@@ -273,7 +298,7 @@ public class Node
       }
 
       // Create
-      return createChild(Patterns.from(name));
+      return createChild(compile(name));
    }
 
    public Node createChild(final Pattern... patterns)
@@ -294,7 +319,7 @@ public class Node
     */
    public Node getOrCreate(final String name)
    {
-      return getOrCreate(Patterns.from(name));
+      return getOrCreate(compile(name));
    }
 
    public Node getOrCreate(final Pattern... patterns)
@@ -313,7 +338,7 @@ public class Node
     */
    public Node getSingle(final String name)
    {
-      return getSingle(Patterns.from(name));
+      return getSingle(compile(name));
    }
 
    public Node getSingle(final Pattern... patterns)
@@ -329,7 +354,7 @@ public class Node
     */
    public List<Node> get(final String name)
    {
-      return get(Patterns.from(name));
+      return get(compile(name));
    }
 
    /**
@@ -359,7 +384,7 @@ public class Node
       List<Node> found = get(name);
       for (Node child : found)
       {
-         children.remove(child);
+         removeChild(child);
       }
       return found;
    }
@@ -382,7 +407,7 @@ public class Node
       }
       for (Node child : found)
       {
-         children.remove(child);
+         removeChild(child);
       }
       return found;
    }
@@ -394,7 +419,22 @@ public class Node
     */
    public boolean removeChild(final Node child)
    {
-      return children.remove(child);
+      if (!children.remove(child))
+      {
+         return false;
+      }
+
+      childrenByName.get(child.getName()).remove(child);
+      child.attached = false;
+      updateDescendantCounts(child.getName(), -1);
+      if (child.descendantCounts != null)
+      {
+         for (Map.Entry<String, Integer> entry : child.descendantCounts.entrySet())
+         {
+            updateDescendantCounts(entry.getKey(), -entry.getValue());
+         }
+      }
+      return true;
    }
 
    /**
@@ -513,6 +553,78 @@ public class Node
       return Collections.unmodifiableList(children);
    }
 
+   /**
+    * Get the children of this node with the given name, in an immutable view.
+    * 
+    * @return All children with the given name, or empty list if none.
+    */
+   public List<Node> getChildren(final String name)
+   {
+      List<Node> result = childrenByName == null ? null : childrenByName.get(name);
+      if (result == null)
+      {
+         return Collections.emptyList();
+      }
+      return Collections.unmodifiableList(result);
+   }
+
+   /**
+    * Get the number of nodes with the given name found anywhere below this node.
+    */
+   public int countDescendants(final String name)
+   {
+      Integer result = descendantCounts == null ? null : descendantCounts.get(name);
+      return result == null ? 0 : result;
+   }
+
+   private void indexChild(final Node child)
+   {
+      if (childrenByName == null)
+      {
+         childrenByName = new HashMap<String, List<Node>>();
+      }
+      List<Node> named = childrenByName.get(child.getName());
+      if (named == null)
+      {
+         named = new ArrayList<Node>(1);
+         childrenByName.put(child.getName(), named);
+      }
+      named.add(child);
+      updateDescendantCounts(child.getName(), 1);
+   }
+
+   /**
+    * Adjust the descendant count of the given name for this node and each of its ancestors. Removed nodes no longer
+    * count towards their former ancestors.
+    */
+   private void updateDescendantCounts(final String name, final int delta)
+   {
+      Node node = this;
+      while (node != null)
+      {
+         if (node.descendantCounts == null)
+         {
+            node.descendantCounts = new HashMap<String, Integer>();
+         }
+         Integer count = node.descendantCounts.get(name);
+         int updated = (count == null ? 0 : count) + delta;
+         if (updated == 0)
+         {
+            node.descendantCounts.remove(name);
+         }
+         else
+         {
+            node.descendantCounts.put(name, updated);
+         }
+
+         if (!node.attached)
+         {
+            break;
+         }
+         node = node.parent;
+      }
+   }
+
    // -------------------------------------------------------------------------------------||
    // Override ----------------------------------------------------------------------------||
    // -------------------------------------------------------------------------------------||
@@ -584,6 +696,27 @@ public class Node
 
    }
 
+   /**
+    * Returns the {@link Pattern}s of the given query expression, compiling it only the first time it is seen
+    * 
+    * @param expression
+    * @return
+    */
+   private static Pattern[] compile(final String expression)
+   {
+      Pattern[] result = expression == null ? null : COMPILED_QUERIES.get(expression);
+      if (result == null)
+      {
+         result = Patterns.from(expression);
+         if (COMPILED_QUERIES.size() >= MAX_COMPILED_QUERIES)
+         {
+            COMPILED_QUERIES.clear();
+         }
+         COMPILED_QUERIES.put(expression, result);
+      }
+      return result;
+   }
+
    /**
     * Validates that at least one pattern was specified, merges all patterns together, and returns the result
     * 
@@ -7,29 +7,94 @@
 package org.jboss.forge.parser.xml;
 
 import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-
-import org.w3c.dom.Attr;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.NodeList;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 /**
+ * Reads and writes {@link Node} trees as XML. Both directions stream directly between the XML text and the
+ * {@link Node} tree (using StAX), with no intermediate DOM. Factories are created once per thread.
+ * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  * @author <a href="mailto:aslak@redhat.com">Aslak Knutsen</a>
  */
 public class XMLParser
 {
+   private static final String ENCODING = "UTF-8";
+   private static final String DECLARATION = "<?xml version=\"1.0\" encoding=\"" + ENCODING + "\" standalone=\"no\"?>";
+   private static final String INDENT = "  ";
+   private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+   private static final String[] INDENTS = new String[16];
+
+   static
+   {
+      INDENTS[0] = LINE_SEPARATOR;
+      for (int i = 1; i < INDENTS.length; i++)
+      {
+         INDENTS[i] = INDENTS[i - 1] + INDENT;
+      }
+   }
+
+   /**
+    * Not part of the StAX API, but needed for CDATA sections to be reported separately from text by the JDK parser.
+    */
+   private static final String REPORT_CDATA = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+   /**
+    * Not part of the StAX API either: when not coalescing, the JDK and Woodstox parsers may report a large CDATA
+    * section in several parts, which could not be told apart from adjacent sections. These settings report each one
+    * whole.
+    */
+   private static final String JDK_CDATA_CHUNK_SIZE = "jdk.xml.cdataChunkSize";
+   private static final String WOODSTOX_MIN_TEXT_SEGMENT = "com.ctc.wstx.minTextSegment";
+
+   private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = new ThreadLocal<XMLInputFactory>()
+   {
+      @Override
+      protected XMLInputFactory initialValue()
+      {
+         XMLInputFactory factory = XMLInputFactory.newInstance();
+         factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+         factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+         if (factory.isPropertySupported(REPORT_CDATA))
+         {
+            factory.setProperty(REPORT_CDATA, true);
+         }
+         if (factory.isPropertySupported(JDK_CDATA_CHUNK_SIZE))
+         {
+            factory.setProperty(JDK_CDATA_CHUNK_SIZE, 0);
+         }
+         if (factory.isPropertySupported(WOODSTOX_MIN_TEXT_SEGMENT))
+         {
+            factory.setProperty(WOODSTOX_MIN_TEXT_SEGMENT, Integer.MAX_VALUE);
+         }
+         return factory;
+      }
+   };
+
+   private static final ThreadLocal<XMLOutputFactory> OUTPUT_FACTORY = new ThreadLocal<XMLOutputFactory>()
+   {
+      @Override
+      protected XMLOutputFactory initialValue()
+      {
+         return XMLOutputFactory.newInstance();
+      }
+   };
+
    public static InputStream toXMLInputStream(final Node node)
    {
       return new ByteArrayInputStream(toXMLByteArray(node));
@@ -44,20 +109,23 @@ public class XMLParser
    {
       try
       {
-         DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-         factory.setNamespaceAware(true);
-         DocumentBuilder builder = factory.newDocumentBuilder();
-         Document root = builder.newDocument();
-
-         writeRecursive(root, node);
-
-         Transformer transformer = TransformerFactory.newInstance().newTransformer();
-         transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-         transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-
          ByteArrayOutputStream stream = new ByteArrayOutputStream();
-         StreamResult result = new StreamResult(stream);
-         transformer.transform(new DOMSource(root), result);
+         Writer output = new BufferedWriter(new OutputStreamWriter(stream, ENCODING));
+         output.write(DECLARATION);
+
+         XMLStreamWriter writer = OUTPUT_FACTORY.get().createXMLStreamWriter(output);
+         try
+         {
+            indent(writer, 0);
+            writeRecursive(writer, node, 0);
+            indent(writer, 0);
+            writer.flush();
+         }
+         finally
+         {
+            writer.close();
+         }
+         output.close();
 
          return stream.toByteArray();
       }
@@ -86,123 +154,252 @@ public class XMLParser
             return null;
          }
 
-         DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-         factory.setNamespaceAware(true);
-         DocumentBuilder builder = factory.newDocumentBuilder();
-         Document doc = builder.parse(stream);
-
-         Node root = new Node(doc.getDocumentElement().getNodeName());
-         readRecursive(root, doc.getDocumentElement());
-         return root;
-
+         XMLStreamReader reader = INPUT_FACTORY.get().createXMLStreamReader(stream);
+         try
+         {
+            return read(reader);
+         }
+         finally
+         {
+            reader.close();
+         }
       }
       catch (Exception e)
       {
          throw new XMLParserException("Could not import XML from stream", e);
       }
+      finally
+      {
+         try
+         {
+            stream.close();
+         }
+         catch (IOException e)
+         {
+            // ignore
+         }
+      }
    }
 
-   private static void readRecursive(final Node target, final org.w3c.dom.Node source)
+   /**
+    * Build the {@link Node} tree of the document's root element. Elements holding nothing but text become a
+    * {@link Node} with that text; in elements holding other content, the text between child nodes is ignored.
+    * Comments, CDATA sections and processing instructions become child {@link Node}s holding their text.
+    */
+   private static Node read(final XMLStreamReader reader) throws XMLStreamException
    {
-      readAttributes(target, source);
-      final NodeList sourceChildren = source.getChildNodes();
-      if (sourceChildren != null)
+      Node root = null;
+      List<OpenElement> open = new ArrayList<OpenElement>();
+      OpenElement current = null;
+
+      while (reader.hasNext())
       {
-         for (int i = 0; i < sourceChildren.getLength(); i++)
+         int event = reader.next();
+         if ((current == null) && (event != XMLStreamConstants.START_ELEMENT))
          {
-            final org.w3c.dom.Node child = sourceChildren.item(i);
-            if (child.getNodeType() != org.w3c.dom.Node.TEXT_NODE)
+            // outside of the root element
+            continue;
+         }
+
+         switch (event)
+         {
+         case XMLStreamConstants.START_ELEMENT:
+            Node node;
+            if (current == null)
             {
-               // Create our representation of the Node
-               final Node newTarget = target.createChild(child.getNodeName());
-
-               if (onlyTextChildren(child))
-               {
-                  // See if we're dealing with a comment and mark specifically
-                  if (child.getNodeType() == org.w3c.dom.Node.COMMENT_NODE)
-                  {
-                     newTarget.setComment(true);
-                  }
-
-                  // Set text
-                  newTarget.text(child.getTextContent());
-                  readAttributes(newTarget, child);
-               }
-               else
-               {
-                  readRecursive(newTarget, child);
-               }
+               root = new Node(getName(reader.getPrefix(), reader.getLocalName()));
+               node = root;
             }
+            else
+            {
+               node = current.createChild(getName(reader.getPrefix(), reader.getLocalName()));
+            }
+            readAttributes(node, reader);
+            current = new OpenElement(node);
+            open.add(current);
+            break;
+
+         case XMLStreamConstants.END_ELEMENT:
+            open.remove(open.size() - 1);
+            if ((current.node != root) && !current.hasChildren)
+            {
+               current.node.text(current.text.toString());
+            }
+            current = open.isEmpty() ? null : open.get(open.size() - 1);
+            break;
+
+         case XMLStreamConstants.CHARACTERS:
+         case XMLStreamConstants.SPACE:
+            current.text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            break;
+
+         case XMLStreamConstants.CDATA:
+            current.createChild(NodeType.CDATA_SECTION.getNodeName()).text(reader.getText());
+            break;
+
+         case XMLStreamConstants.COMMENT:
+            Node comment = current.createChild(NodeType.COMMENT.getNodeName());
+            comment.setComment(true);
+            comment.text(reader.getText());
+            break;
+
+         case XMLStreamConstants.PROCESSING_INSTRUCTION:
+            String data = reader.getPIData();
+            current.createChild(reader.getPITarget()).text(data == null ? "" : data);
+            break;
+
+         default:
+            break;
          }
       }
+      return root;
    }
 
-   private static void writeRecursive(final org.w3c.dom.Node target, final Node source)
+   private static void readAttributes(final Node target, final XMLStreamReader reader)
    {
-      Document owned = target.getOwnerDocument();
-      if (owned == null)
+      for (int i = 0; i < reader.getNamespaceCount(); i++)
       {
-         owned = (Document) target;
+         String uri = reader.getNamespaceURI(i);
+         target.attribute(getName("xmlns", reader.getNamespacePrefix(i)), uri == null ? "" : uri);
       }
+      for (int i = 0; i < reader.getAttributeCount(); i++)
+      {
+         target.attribute(getName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                  reader.getAttributeValue(i));
+      }
+   }
 
-      org.w3c.dom.Node targetChild;
+   private static String getName(final String prefix, final String localName)
+   {
+      if ((prefix == null) || (prefix.length() == 0))
+      {
+         return localName;
+      }
+      if ((localName == null) || (localName.length() == 0))
+      {
+         return prefix;
+      }
+      return prefix + ":" + localName;
+   }
+
+   /**
+    * Write the given {@link Node} and its children, one element per line; CDATA sections are kept inline. Namespace
+    * declarations are written first, then the other attributes, each in alphabetical order. Elements without text or
+    * children are written as empty elements.
+    */
+   private static void writeRecursive(final XMLStreamWriter writer, final Node source, final int depth)
+            throws XMLStreamException
+   {
+      String text = source.getText();
       if (NodeType.COMMENT.getNodeName().equals(source.getName()))
       {
-         targetChild = owned.createComment(source.getText());
+         writer.writeComment(text == null ? "" : text);
+         return;
+      }
+      else if (isCDATA(source))
+      {
+         writer.writeCData(text == null ? "" : text);
+         return;
       }
-      else if (NodeType.CDATA_SECTION.getNodeName().equals(source.getName()))
+
+      List<Node> children = source.getChildren();
+      boolean empty = children.isEmpty() && ((text == null) || (text.length() == 0));
+      if (empty)
       {
-         targetChild = owned.createCDATASection(source.getText());
+         writer.writeEmptyElement(source.getName());
       }
       else
       {
-         targetChild = owned.createElement(source.getName());
-         if (source.getText() != null)
+         writer.writeStartElement(source.getName());
+      }
+
+      if (!source.getAttributes().isEmpty())
+      {
+         Map<String, String> namespaces = new TreeMap<String, String>();
+         Map<String, String> attributes = new TreeMap<String, String>();
+         for (Map.Entry<String, String> attribute : source.getAttributes().entrySet())
          {
-            targetChild.appendChild(owned.createTextNode(source.getText()));
+            String name = attribute.getKey();
+            boolean namespace = name.equals("xmlns") || name.startsWith("xmlns:");
+            (namespace ? namespaces : attributes).put(name, attribute.getValue() == null ? "" : attribute.getValue());
          }
+         writeAttributes(writer, namespaces);
+         writeAttributes(writer, attributes);
       }
 
-      target.appendChild(targetChild);
-
-      for (Map.Entry<String, String> attribute : source.getAttributes().entrySet())
+      if (!empty)
       {
-         Attr attr = owned.createAttribute(attribute.getKey());
-         attr.setValue(attribute.getValue());
-
-         targetChild.getAttributes().setNamedItem(attr);
+         if (text != null)
+         {
+            writer.writeCharacters(text);
+         }
+         boolean inline = false;
+         for (Node child : children)
+         {
+            inline = isCDATA(child);
+            if (!inline)
+            {
+               indent(writer, depth + 1);
+            }
+            writeRecursive(writer, child, depth + 1);
+         }
+         if (!children.isEmpty() && !inline)
+         {
+            indent(writer, depth);
+         }
+         writer.writeEndElement();
       }
-      for (Node sourceChild : source.getChildren())
+   }
+
+   private static void writeAttributes(final XMLStreamWriter writer, final Map<String, String> attributes)
+            throws XMLStreamException
+   {
+      for (Map.Entry<String, String> attribute : attributes.entrySet())
       {
-         writeRecursive(targetChild, sourceChild);
+         writer.writeAttribute(attribute.getKey(), attribute.getValue());
       }
    }
 
-   private static void readAttributes(final Node target, final org.w3c.dom.Node source)
+   private static boolean isCDATA(final Node node)
    {
-      final NamedNodeMap attributes = source.getAttributes();
-      if (attributes != null)
+      return NodeType.CDATA_SECTION.getNodeName().equals(node.getName());
+   }
+
+   private static void indent(final XMLStreamWriter writer, final int depth) throws XMLStreamException
+   {
+      if (depth < INDENTS.length)
+      {
+         writer.writeCharacters(INDENTS[depth]);
+      }
+      else
       {
-         for (int i = 0; i < attributes.getLength(); i++)
+         writer.writeCharacters(LINE_SEPARATOR);
+         for (int i = 0; i < depth; i++)
          {
-            final org.w3c.dom.Node attribute = attributes.item(i);
-            target.attribute(attribute.getNodeName(), attribute.getNodeValue());
+            writer.writeCharacters(INDENT);
          }
       }
    }
 
-   private static boolean onlyTextChildren(final org.w3c.dom.Node source)
+   /**
+    * An element being read, and the text read directly within it so far.
+    */
+   private static class OpenElement
    {
-      final NodeList children = source.getChildNodes();
-      for (int i = 0; i < children.getLength(); i++)
+      private final Node node;
+      private final StringBuilder text = new StringBuilder();
+      private boolean hasChildren;
+
+      public OpenElement(final Node node)
       {
-         final org.w3c.dom.Node child = children.item(i);
-         if (child.getNodeType() != org.w3c.dom.Node.TEXT_NODE)
-         {
-            return false;
-         }
+         this.node = node;
+      }
+
+      public Node createChild(final String name)
+      {
+         hasChildren = true;
+         return new Node(name, node);
       }
-      return true;
    }
 
    public enum NodeType
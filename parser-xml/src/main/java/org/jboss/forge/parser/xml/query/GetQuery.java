@@ -7,7 +7,6 @@
 package org.jboss.forge.parser.xml.query;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import org.jboss.forge.parser.xml.Node;
@@ -40,63 +39,73 @@ public enum GetQuery implements Query<List<Node>>
       // Precondition checks
       QueryUtil.validateNodeAndPatterns(node, patterns);
 
-      // Represent as a list
-      final List<Pattern> patternList = Arrays.asList(patterns);
-
       // Delegate to recursive handler, starting at the top
-      return findMatch(node, patternList);
+      final List<Node> matchedNodes = new ArrayList<Node>();
+      findMatch(node, patterns, 0, matchedNodes, Integer.MAX_VALUE);
+      return matchedNodes;
    }
 
    /**
-    * Returns all {@link Node}s decendent from the specified start which match the specified {@link Pattern}s
+    * Adds to the given list all {@link Node}s descendant from the specified start which match the specified
+    * {@link Pattern}s, beginning at the given pattern index, until the list holds the given number of {@link Node}s.
+    * Subtrees holding no {@link Node} named like the next pattern are skipped.
     * 
-    * @param start
-    * @param patterns
-    * @return
+    * @return true if the limit has been reached
     */
-   private List<Node> findMatch(final Node start, final List<Pattern> patterns)
+   static boolean findMatch(final Node start, final Pattern[] patterns, final int index, final List<Node> matchedNodes,
+            final int limit)
    {
-      // Hold the matched Nodes
-      final List<Node> matchedNodes = new ArrayList<Node>();
-
       // Get the next pattern in sequence
-      final Pattern pattern = patterns.get(0);
+      final Pattern pattern = patterns[index];
 
       // Check that there's a pattern to match
       if (pattern == null)
       {
-         return matchedNodes;
+         return false;
       }
 
-      // Init a flag
-      boolean foundMatch = false;
-
       // See if we've got a match
+      int next = index;
       if (pattern.matches(start))
       {
-         // Set flag
-         foundMatch = true;
-
          // If no more patterns to check, we're at the end of the line; just add this Node
-         if (patterns.size() == 1)
+         if (index == patterns.length - 1)
          {
             matchedNodes.add(start);
-            return matchedNodes;
+            return matchedNodes.size() >= limit;
          }
+
+         // Only use patterns that haven't already matched
+         next = index + 1;
       }
 
-      // Check all children
-      for (final Node child : start.getChildren())
+      if (patterns[next] == null)
       {
-         // Only use patterns that haven't already matched
-         final List<Pattern> sub = patterns.subList(foundMatch ? 1 : 0, patterns.size());
+         return false;
+      }
 
-         // Recursion point
-         matchedNodes.addAll(findMatch(child, sub));
+      // Only visit children that are, or contain, a Node with the name we're looking for
+      final String name = patterns[next].getName();
+      final int count = start.countDescendants(name);
+      if (count == 0)
+      {
+         return false;
+      }
+      List<Node> candidates = start.getChildren(name);
+      if (candidates.size() != count)
+      {
+         candidates = start.getChildren();
       }
 
-      // Return
-      return matchedNodes;
+      for (final Node child : candidates)
+      {
+         // Recursion point
+         if (findMatch(child, patterns, next, matchedNodes, limit))
+         {
+            return true;
+         }
+      }
+      return false;
    }
 
 }
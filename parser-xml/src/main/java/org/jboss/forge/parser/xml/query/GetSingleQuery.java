@@ -6,6 +6,7 @@
  */
 package org.jboss.forge.parser.xml.query;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.jboss.forge.parser.xml.Node;
@@ -38,9 +39,11 @@ public enum GetSingleQuery implements Query<Node>
       // Precondition checks
       QueryUtil.validateNodeAndPatterns(node, patterns);
 
-      final List<Node> nodes = GetQuery.INSTANCE.execute(node, patterns);
+      // Stop looking as soon as a second match is found
+      final List<Node> nodes = new ArrayList<Node>(2);
+      GetQuery.findMatch(node, patterns, 0, nodes, 2);
 
-      if ((nodes == null) || (nodes.size() == 0))
+      if (nodes.size() == 0)
       {
          return null;
       }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.test.parser.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.jboss.forge.parser.xml.Node;
+import org.jboss.forge.parser.xml.XMLParser;
+import org.junit.Test;
+
+public class XMLParserTest
+{
+   private static final String CDATA = XMLParser.NodeType.CDATA_SECTION.getNodeName();
+
+   @Test
+   public void testAdjacentCDATASectionsAreKeptApart() throws Exception
+   {
+      Node root = XMLParser.parse("<root><![CDATA[one]]><![CDATA[two]]></root>");
+
+      List<Node> sections = root.get(CDATA);
+      assertEquals(2, sections.size());
+      assertEquals("one", sections.get(0).getText());
+      assertEquals("two", sections.get(1).getText());
+      assertTrue(XMLParser.toXMLString(root).contains("<![CDATA[one]]><![CDATA[two]]>"));
+   }
+
+   @Test
+   public void testLargeCDATASectionIsReadWhole() throws Exception
+   {
+      StringBuilder text = new StringBuilder();
+      for (int i = 0; i < 20000; i++)
+      {
+         text.append("line ").append(i).append('\n');
+      }
+
+      Node root = XMLParser.parse("<root><![CDATA[" + text + "]]></root>");
+
+      List<Node> sections = root.get(CDATA);
+      assertEquals(1, sections.size());
+      assertEquals(text.toString(), sections.get(0).getText());
+   }
+}
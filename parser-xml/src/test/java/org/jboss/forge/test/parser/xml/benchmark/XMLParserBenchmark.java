@@ -0,0 +1,155 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.test.parser.xml.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.jboss.forge.parser.xml.Node;
+import org.jboss.forge.parser.xml.XMLParser;
+import org.w3c.dom.Document;
+
+/**
+ * Measures reading and writing a large <code>web.xml</code> with {@link XMLParser}, next to a plain DOM parse and
+ * serialization of the same document for reference, and querying the resulting {@link Node} tree. Not run as part of
+ * the build; run it with:
+ * 
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *    -Dexec.mainClass=org.jboss.forge.test.parser.xml.benchmark.XMLParserBenchmark
+ * </pre>
+ * 
+ * Optional arguments are the number of servlets in the descriptor, and the number of warm-up and measured iterations
+ * (default 2000, 20 and 100).
+ */
+public class XMLParserBenchmark
+{
+   private final int warmup;
+   private final int iterations;
+
+   public XMLParserBenchmark(final int warmup, final int iterations)
+   {
+      this.warmup = warmup;
+      this.iterations = iterations;
+   }
+
+   public static void main(final String[] args) throws Exception
+   {
+      int servlets = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+      int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+      int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+      final byte[] xml = createDescriptor(servlets);
+      final Node node = XMLParser.parse(xml);
+      final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      factory.setNamespaceAware(true);
+      final Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+
+      System.out.println("Read and wrote a descriptor of " + xml.length + " bytes " + iterations + " times");
+      XMLParserBenchmark benchmark = new XMLParserBenchmark(warmup, iterations);
+      benchmark.measure("XMLParser read", new Task()
+      {
+         @Override
+         public void run(final int i)
+         {
+            XMLParser.parse(xml);
+         }
+      });
+      benchmark.measure("XMLParser write", new Task()
+      {
+         @Override
+         public void run(final int i)
+         {
+            XMLParser.toXMLByteArray(node);
+         }
+      });
+      benchmark.measure("DOM read", new Task()
+      {
+         @Override
+         public void run(final int i) throws Exception
+         {
+            factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+         }
+      });
+      benchmark.measure("DOM write", new Task()
+      {
+         @Override
+         public void run(final int i) throws Exception
+         {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.transform(new DOMSource(document), new StreamResult(new ByteArrayOutputStream()));
+         }
+      });
+      benchmark.measure("Node queries", new Task()
+      {
+         @Override
+         public void run(final int i)
+         {
+            node.get("servlet/servlet-name");
+            node.getSingle("servlet-mapping/servlet-name=servlet" + i);
+            node.getOrCreate("welcome-file-list");
+         }
+      });
+   }
+
+   /**
+    * Run the task for the warm-up iterations, then print its mean time over the measured iterations.
+    */
+   private void measure(final String name, final Task task) throws Exception
+   {
+      for (int i = 0; i < warmup; i++)
+      {
+         task.run(i);
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++)
+      {
+         task.run(i);
+      }
+      long time = (System.nanoTime() - start) / 1000;
+      System.out.println("   " + name + ": " + (time / iterations) + " us");
+   }
+
+   private interface Task
+   {
+      void run(int iteration) throws Exception;
+   }
+
+   private static byte[] createDescriptor(final int servlets) throws Exception
+   {
+      StringBuilder result = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      result.append("<web-app xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"3.0\">\n");
+      for (int i = 0; i < servlets; i++)
+      {
+         result.append("  <!-- servlet ").append(i).append(" -->\n");
+         result.append("  <servlet>\n");
+         result.append("    <servlet-name>servlet").append(i).append("</servlet-name>\n");
+         result.append("    <servlet-class>com.test.Servlet").append(i).append("</servlet-class>\n");
+         result.append("    <init-param>\n");
+         result.append("      <param-name>name</param-name>\n");
+         result.append("      <param-value>value ").append(i).append("</param-value>\n");
+         result.append("    </init-param>\n");
+         result.append("  </servlet>\n");
+         result.append("  <servlet-mapping>\n");
+         result.append("    <servlet-name>servlet").append(i).append("</servlet-name>\n");
+         result.append("    <url-pattern>/servlet").append(i).append("/*</url-pattern>\n");
+         result.append("  </servlet-mapping>\n");
+      }
+      result.append("</web-app>\n");
+      return result.toString().getBytes("UTF-8");
+   }
+}
@@ -6,10 +6,13 @@
  */
 package org.jboss.forge.maven.dependencies;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -47,6 +50,9 @@ public class RepositoryLookupTest extends ProjectModelTest
    @Inject
    private DependencyResolver resolver;
 
+   @Inject
+   private DependencyMetadataCache cache;
+
    @Test
    public void testResolveVersions() throws Exception
    {
@@ -56,6 +62,19 @@ public class RepositoryLookupTest extends ProjectModelTest
       assertTrue(versions.size() > 4);
    }
 
+   @Test
+   public void testResolveVersionsIsCached() throws Exception
+   {
+      Dependency dep = DependencyBuilder.create("com.ocpsoft:prettyfaces-jsf2:[3.2.0,3.3.0]");
+      DependencyRepository repo = new DependencyRepositoryImpl(KnownRepository.CENTRAL);
+      List<Dependency> versions = resolver.resolveVersions(DependencyQueryBuilder.create(dep).setRepositories(repo));
+
+      long hits = cache.getHits();
+      List<Dependency> cached = resolver.resolveVersions(DependencyQueryBuilder.create(dep).setRepositories(repo));
+      assertEquals(hits + 1, cache.getHits());
+      assertEquals(versions, cached);
+   }
+
    @Test
    public void testResolveVersionsStaticVersion() throws Exception
    {
@@ -101,6 +120,27 @@ public class RepositoryLookupTest extends ProjectModelTest
       assertTrue(artifacts.size() >= 1);
    }
 
+   @Test
+   public void testResolveArtifactsBatch() throws Exception
+   {
+      Dependency prettyfaces = DependencyBuilder.create("com.ocpsoft:prettyfaces-jsf2:[3.2.0]");
+      Dependency international = DependencyBuilder
+               .create("org.jboss.seam.international:seam-international:[3.0.0.Final]");
+      Dependency missing = DependencyBuilder.create("org.jboss.forge.test:does-not-exist:[1.0]");
+      List<DependencyRepository> repos = Arrays.<DependencyRepository> asList(
+               new DependencyRepositoryImpl(KnownRepository.CENTRAL),
+               new DependencyRepositoryImpl(KnownRepository.JBOSS_NEXUS));
+
+      Map<Dependency, List<DependencyResource>> artifacts = resolver.resolveArtifacts(
+               Arrays.asList(prettyfaces, international, missing), repos);
+
+      assertEquals(Arrays.asList(prettyfaces, international, missing),
+               new ArrayList<Dependency>(artifacts.keySet()));
+      assertEquals(1, artifacts.get(prettyfaces).size());
+      assertEquals(1, artifacts.get(international).size());
+      assertTrue(artifacts.get(missing).isEmpty());
+   }
+
    @Test
    public void testResolveDependenciesStaticVersion() throws Exception
    {
@@ -129,4 +169,47 @@ public class RepositoryLookupTest extends ProjectModelTest
       assertTrue(meta.getDependencies().size() >= 1);
       assertTrue(meta.getManagedDependencies().size() >= 1);
    }
+
+   @Test
+   public void testCachedDependencyMetadataKeepsAllFields() throws Exception
+   {
+      Dependency dep = DependencyBuilder.create("org.jboss.seam.international:seam-international:3.0.0.Final");
+      DependencyRepository repo = new DependencyRepositoryImpl(KnownRepository.JBOSS_NEXUS);
+      cache.clear();
+      DependencyMetadata cold = resolver.resolveDependencyMetadata(dep, Arrays.asList(repo));
+
+      long hits = cache.getHits();
+      DependencyMetadata warm = resolver.resolveDependencyMetadata(dep, Arrays.asList(repo));
+      assertEquals(hits + 1, cache.getHits());
+
+      assertEquals(describe(Arrays.asList(cold.getDependency())), describe(Arrays.asList(warm.getDependency())));
+      assertEquals(describe(cold.getDependencies()), describe(warm.getDependencies()));
+      assertEquals(describe(cold.getManagedDependencies()), describe(warm.getManagedDependencies()));
+   }
+
+   @Test
+   public void testCacheKeyIncludesPackagingAndClassifier() throws Exception
+   {
+      Dependency jar = DependencyBuilder.create("com.ocpsoft:prettyfaces-jsf2:3.2.0");
+      Dependency sources = DependencyBuilder.create("com.ocpsoft:prettyfaces-jsf2:3.2.0").setClassifier("sources");
+      DependencyRepository repo = new DependencyRepositoryImpl(KnownRepository.CENTRAL);
+      cache.clear();
+      resolver.resolveVersions(DependencyQueryBuilder.create(jar).setRepositories(repo));
+
+      long misses = cache.getMisses();
+      resolver.resolveVersions(DependencyQueryBuilder.create(sources).setRepositories(repo));
+      assertEquals(misses + 1, cache.getMisses());
+   }
+
+   private static List<String> describe(final List<Dependency> dependencies)
+   {
+      List<String> result = new ArrayList<String>();
+      for (Dependency dependency : dependencies)
+      {
+         List<Dependency> exclusions = dependency.getExcludedDependencies();
+         result.add(DependencyBuilder.toId(dependency) + ":" + dependency.getScopeType() + ":"
+                  + (exclusions == null ? 0 : exclusions.size()));
+      }
+      return result;
+   }
 }
@@ -8,8 +8,11 @@
 package org.jboss.forge.maven.facets;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+
 import javax.inject.Singleton;
 
 import org.jboss.arquillian.junit.Arquillian;
@@ -82,4 +85,44 @@ public class JavaSourceFacetTest extends AbstractShellTest
       assertEquals(parsed.getPackage(), clazz.getPackage());
       assertEquals(parsed, clazz);
    }
+
+   @Test
+   public void testFindTypesFromIndex() throws Exception
+   {
+      Project project = initializeJavaProject();
+      JavaSourceFacet java = project.getFacet(JavaSourceFacet.class);
+
+      JavaClass annotated = JavaParser.create(JavaClass.class).setName("Annotated").setPackage(PKG + ".indexed");
+      annotated.addAnnotation(Deprecated.class);
+      java.saveJavaSource(annotated);
+      java.saveJavaSource(JavaParser.create(JavaClass.class).setName("Plain").setPackage(PKG));
+
+      assertEquals("Plain.java", java.findType(PKG + ".Plain").getName());
+      assertNull(java.findType(PKG + ".Missing"));
+      assertTrue(java.listPackages().contains(PKG + ".indexed"));
+
+      List<JavaResource> found = java.findTypesAnnotatedWith(Deprecated.class);
+      assertEquals(1, found.size());
+      assertEquals("Annotated.java", found.get(0).getName());
+      assertTrue(project.getProjectRoot().getChild(".forge/java-types.index").exists());
+   }
+
+   @Test
+   public void testIndexIsUpdatedWhenSourcesChange() throws Exception
+   {
+      Project project = initializeJavaProject();
+      JavaSourceFacet java = project.getFacet(JavaSourceFacet.class);
+
+      JavaClass clazz = JavaParser.create(JavaClass.class).setName("Changing").setPackage(PKG);
+      JavaResource file = java.saveJavaSource(clazz);
+      assertTrue(java.findTypesAnnotatedWith(Deprecated.class).isEmpty());
+
+      clazz.addAnnotation(Deprecated.class);
+      java.saveJavaSource(clazz);
+      assertEquals(1, java.findTypesAnnotatedWith(Deprecated.class).size());
+
+      assertTrue(file.delete());
+      assertNull(java.findType(PKG + ".Changing"));
+      assertTrue(java.findTypesAnnotatedWith(Deprecated.class).isEmpty());
+   }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.maven.facets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.maven.MavenCoreFacet;
+import org.jboss.forge.maven.util.ProjectModelTest;
+import org.jboss.forge.project.dependencies.DependencyBuilder;
+import org.jboss.forge.project.facets.DependencyFacet;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class MavenCoreFacetEditTest extends ProjectModelTest
+{
+   @Test
+   public void testEditsAreWrittenOnCommit() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      DependencyFacet deps = getProject().getFacet(DependencyFacet.class);
+      File pomFile = maven.getPOMFile().getUnderlyingResourceObject();
+      long lastModified = pomFile.lastModified();
+      long length = pomFile.length();
+
+      maven.beginEdit();
+      deps.addDirectDependency(DependencyBuilder.create("org.jboss:edit-dep1:1.0"));
+      deps.addDirectDependency(DependencyBuilder.create("org.jboss:edit-dep2:1.0"));
+      deps.setProperty("edit.property", "value");
+
+      assertTrue(maven.isEditing());
+      assertTrue(deps.hasDirectDependency(DependencyBuilder.create("org.jboss:edit-dep1")));
+      assertEquals(lastModified, pomFile.lastModified());
+      assertEquals(length, pomFile.length());
+
+      maven.commitEdit();
+
+      assertFalse(maven.isEditing());
+      assertTrue(deps.hasDirectDependency(DependencyBuilder.create("org.jboss:edit-dep1")));
+      assertTrue(deps.hasDirectDependency(DependencyBuilder.create("org.jboss:edit-dep2")));
+      assertEquals("value", deps.getProperty("edit.property"));
+      assertTrue(pomFile.length() > length);
+   }
+
+   @Test
+   public void testNestedEditsAreWrittenOnOutermostCommit() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      DependencyFacet deps = getProject().getFacet(DependencyFacet.class);
+      File pomFile = maven.getPOMFile().getUnderlyingResourceObject();
+      long length = pomFile.length();
+
+      maven.beginEdit();
+      maven.beginEdit();
+      deps.addDirectDependency(DependencyBuilder.create("org.jboss:edit-dep3:1.0"));
+      maven.commitEdit();
+      assertTrue(maven.isEditing());
+      assertEquals(length, pomFile.length());
+      maven.commitEdit();
+
+      assertTrue(pomFile.length() > length);
+      assertTrue(deps.hasDirectDependency(DependencyBuilder.create("org.jboss:edit-dep3")));
+   }
+
+   @Test
+   public void testRollbackDiscardsEdits() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      DependencyFacet deps = getProject().getFacet(DependencyFacet.class);
+
+      maven.beginEdit();
+      deps.addDirectDependency(DependencyBuilder.create("org.jboss:edit-dep4:1.0"));
+      // forces pending edits to disk
+      maven.getPartialProjectBuildingResult();
+      maven.rollbackEdit();
+
+      assertFalse(maven.isEditing());
+      assertFalse(deps.hasDirectDependency(DependencyBuilder.create("org.jboss:edit-dep4")));
+      assertFalse(maven.getPartialProjectBuildingResult().getProject().getDependencies().toString()
+               .contains("edit-dep4"));
+   }
+
+   @Test(expected = IllegalStateException.class)
+   public void testCommitWithoutBeginFails() throws Exception
+   {
+      getProject().getFacet(MavenCoreFacet.class).commitEdit();
+   }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.maven.facets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.FileWriter;
+
+import javax.inject.Inject;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.maven.MavenCoreFacet;
+import org.jboss.forge.maven.util.ProjectModelTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class MavenModelCacheTest extends ProjectModelTest
+{
+   @Inject
+   private MavenModelCache cache;
+
+   @Test
+   public void testRepeatedReadsAreServedFromCache() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      maven.getPOM();
+
+      long misses = cache.getMisses();
+      long hits = cache.getHits();
+      maven.getPOM();
+      maven.getPOM();
+
+      assertEquals(misses, cache.getMisses());
+      assertEquals(hits + 2, cache.getHits());
+   }
+
+   @Test
+   public void testMutatingReturnedModelDoesNotAffectCache() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      Model pom = maven.getPOM();
+      String artifactId = pom.getArtifactId();
+      pom.setArtifactId("modified");
+      pom.getProperties().put("cache.test", "true");
+
+      Model other = maven.getPOM();
+      assertEquals(artifactId, other.getArtifactId());
+      assertFalse(other.getProperties().containsKey("cache.test"));
+   }
+
+   @Test
+   public void testSetPOMRefreshesCache() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      Model pom = maven.getPOM();
+      pom.getProperties().put("cache.test", "written");
+      maven.setPOM(pom);
+
+      long misses = cache.getMisses();
+      assertEquals("written", maven.getPOM().getProperties().get("cache.test"));
+      assertEquals(misses, cache.getMisses());
+   }
+
+   @Test
+   public void testExternalModificationIsDetected() throws Exception
+   {
+      MavenCoreFacet maven = getProject().getFacet(MavenCoreFacet.class);
+      File pomFile = maven.getPOMFile().getUnderlyingResourceObject();
+      Model pom = maven.getPOM();
+      pom.setDescription("Modified outside of Forge");
+
+      FileWriter fw = new FileWriter(pomFile);
+      new MavenXpp3Writer().write(fw, pom);
+      fw.close();
+      pomFile.setLastModified(pomFile.lastModified() + 2000);
+
+      assertEquals("Modified outside of Forge", maven.getPOM().getDescription());
+   }
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.dependencies;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.jboss.forge.ForgeEnvironment;
+import org.jboss.forge.project.ProjectModelException;
+import org.jboss.forge.project.dependencies.Dependency;
+import org.jboss.forge.project.dependencies.DependencyBuilder;
+import org.jboss.forge.project.dependencies.DependencyMetadata;
+import org.jboss.forge.project.dependencies.DependencyRepository;
+import org.jboss.forge.project.dependencies.DependencyRepositoryImpl;
+
+/**
+ * Persistent cache of version-range and artifact-descriptor lookups, stored under the Forge configuration directory.
+ * <p>
+ * Entries younger than the configured time-to-live are returned directly. Older entries are still returned
+ * immediately, but are refreshed in the background when Forge is online. Lookups made while offline are never stored.
+ * The time-to-live is read, in minutes, from the {@value #PROP_TTL} environment property; a value of 0 disables the
+ * cache.
+ */
+@ApplicationScoped
+public class DependencyMetadataCache
+{
+   public static final String PROP_TTL = "DEPENDENCY_CACHE_TTL";
+   private static final long DEFAULT_TTL_MINUTES = 60;
+   private static final String CACHE_DIR = "cache/dependencies";
+
+   private static final String KEY = "key";
+   private static final String TIMESTAMP = "timestamp";
+
+   private final ConcurrentMap<String, Properties> entries = new ConcurrentHashMap<String, Properties>();
+   private final Set<String> refreshing = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+   private final AtomicLong hits = new AtomicLong();
+   private final AtomicLong staleHits = new AtomicLong();
+   private final AtomicLong misses = new AtomicLong();
+
+   private final ExecutorService refresher = Executors.newSingleThreadExecutor(new ThreadFactory()
+   {
+      @Override
+      public Thread newThread(final Runnable r)
+      {
+         Thread thread = new Thread(r, "Forge dependency cache refresh");
+         thread.setDaemon(true);
+         return thread;
+      }
+   });
+
+   @Inject
+   private ForgeEnvironment environment;
+
+   @PreDestroy
+   public void shutdown()
+   {
+      refresher.shutdownNow();
+   }
+
+   /**
+    * Return the available versions of the given query, as resolved by the given loader.
+    */
+   public List<Dependency> getVersions(final Dependency query, final List<DependencyRepository> repositories,
+            final Callable<List<Dependency>> loader)
+   {
+      String key = "versions|" + DependencyBuilder.toId(query) + "|" + toKey(repositories);
+      return get(key, loader, new Codec<List<Dependency>>()
+      {
+         @Override
+         public void write(final Properties properties, final List<Dependency> versions)
+         {
+            List<String> values = new ArrayList<String>();
+            for (Dependency version : versions)
+            {
+               values.add(version.getVersion());
+            }
+            writeList(properties, "version", values);
+         }
+
+         @Override
+         public List<Dependency> read(final Properties properties)
+         {
+            List<Dependency> result = new ArrayList<Dependency>();
+            for (String version : readList(properties, "version"))
+            {
+               result.add(DependencyBuilder.create(query).setVersion(version));
+            }
+            return result;
+         }
+
+         @Override
+         public boolean isCacheable(final List<Dependency> versions)
+         {
+            return !versions.isEmpty();
+         }
+      });
+   }
+
+   /**
+    * Return the {@link DependencyMetadata} of the given query, as resolved by the given loader.
+    */
+   public DependencyMetadata getMetadata(final Dependency query, final List<DependencyRepository> repositories,
+            final Callable<DependencyMetadata> loader)
+   {
+      String key = "metadata|" + DependencyBuilder.toId(query) + "|" + toKey(repositories);
+      return get(key, loader, new Codec<DependencyMetadata>()
+      {
+         @Override
+         public void write(final Properties properties, final DependencyMetadata metadata)
+         {
+            writeDependency(properties, "dependency", metadata.getDependency());
+            writeDependencies(properties, "dependencies", metadata.getDependencies());
+            writeDependencies(properties, "managed", metadata.getManagedDependencies());
+
+            List<String> repos = new ArrayList<String>();
+            for (DependencyRepository repository : metadata.getRepositories())
+            {
+               repos.add(repository.getId() + "|" + repository.getUrl());
+            }
+            writeList(properties, "repository", repos);
+         }
+
+         @Override
+         public DependencyMetadata read(final Properties properties)
+         {
+            List<DependencyRepository> repos = new ArrayList<DependencyRepository>();
+            for (String repository : readList(properties, "repository"))
+            {
+               int separator = repository.indexOf('|');
+               repos.add(new DependencyRepositoryImpl(repository.substring(0, separator), repository
+                        .substring(separator + 1)));
+            }
+
+            return new DependencyMetadataImpl(readDependency(properties, "dependency"), repos,
+                     readDependencies(properties, "managed"), readDependencies(properties, "dependencies"));
+         }
+
+         @Override
+         public boolean isCacheable(final DependencyMetadata metadata)
+         {
+            return metadata != null;
+         }
+      });
+   }
+
+   /**
+    * Discard all cached entries, in memory and on disk, and reset statistics.
+    */
+   public void clear()
+   {
+      entries.clear();
+      hits.set(0);
+      staleHits.set(0);
+      misses.set(0);
+
+      File dir = getCacheDirectory();
+      if (dir != null)
+      {
+         File[] files = dir.listFiles();
+         if (files != null)
+         {
+            for (File file : files)
+            {
+               file.delete();
+            }
+         }
+      }
+   }
+
+   /**
+    * Return the number of lookups served from fresh cache entries.
+    */
+   public long getHits()
+   {
+      return hits.get();
+   }
+
+   /**
+    * Return the number of lookups served from expired cache entries while a refresh was scheduled.
+    */
+   public long getStaleHits()
+   {
+      return staleHits.get();
+   }
+
+   /**
+    * Return the number of lookups that could not be served from the cache.
+    */
+   public long getMisses()
+   {
+      return misses.get();
+   }
+
+   private <T> T get(final String key, final Callable<T> loader, final Codec<T> codec)
+   {
+      long ttl = getTimeToLive();
+      if (ttl <= 0)
+      {
+         return load(loader);
+      }
+
+      Properties entry = getEntry(key);
+      if (entry != null)
+      {
+         try
+         {
+            long age = System.currentTimeMillis() - Long.parseLong(entry.getProperty(TIMESTAMP, "0"));
+            T result = codec.read(entry);
+            if (age < ttl)
+            {
+               hits.incrementAndGet();
+            }
+            else
+            {
+               staleHits.incrementAndGet();
+               if (environment.isOnline())
+               {
+                  refresh(key, loader, codec);
+               }
+            }
+            return result;
+         }
+         catch (RuntimeException e)
+         {
+            // a truncated or edited cache file; treat as a cache miss, and replace it
+            entries.remove(key, entry);
+         }
+      }
+
+      misses.incrementAndGet();
+      T result = load(loader);
+      store(key, result, codec);
+      return result;
+   }
+
+   private <T> void refresh(final String key, final Callable<T> loader, final Codec<T> codec)
+   {
+      if (refreshing.add(key))
+      {
+         refresher.execute(new Runnable()
+         {
+            @Override
+            public void run()
+            {
+               try
+               {
+                  store(key, load(loader), codec);
+               }
+               catch (RuntimeException e)
+               {
+                  // keep serving the stale entry
+               }
+               finally
+               {
+                  refreshing.remove(key);
+               }
+            }
+         });
+      }
+   }
+
+   private <T> T load(final Callable<T> loader)
+   {
+      try
+      {
+         return loader.call();
+      }
+      catch (RuntimeException e)
+      {
+         throw e;
+      }
+      catch (Exception e)
+      {
+         throw new ProjectModelException(e);
+      }
+   }
+
+   private <T> void store(final String key, final T value, final Codec<T> codec)
+   {
+      if (!environment.isOnline() || !codec.isCacheable(value))
+      {
+         return;
+      }
+
+      Properties entry = new Properties();
+      entry.setProperty(KEY, key);
+      entry.setProperty(TIMESTAMP, String.valueOf(System.currentTimeMillis()));
+      codec.write(entry, value);
+      entries.put(key, entry);
+
+      File file = getCacheFile(key);
+      if (file != null)
+      {
+         try
+         {
+            file.getParentFile().mkdirs();
+            OutputStream stream = new FileOutputStream(file);
+            try
+            {
+               entry.store(stream, null);
+            }
+            finally
+            {
+               stream.close();
+            }
+         }
+         catch (IOException e)
+         {
+            // the in-memory entry is still usable
+         }
+      }
+   }
+
+   private Properties getEntry(final String key)
+   {
+      Properties entry = entries.get(key);
+      if (entry == null)
+      {
+         File file = getCacheFile(key);
+         if ((file != null) && file.isFile())
+         {
+            try
+            {
+               Properties loaded = new Properties();
+               InputStream stream = new FileInputStream(file);
+               try
+               {
+                  loaded.load(stream);
+               }
+               finally
+               {
+                  stream.close();
+               }
+
+               if (key.equals(loaded.getProperty(KEY)))
+               {
+                  entries.putIfAbsent(key, loaded);
+                  entry = entries.get(key);
+               }
+            }
+            catch (IOException e)
+            {
+               // treat as a cache miss
+            }
+         }
+      }
+      return entry;
+   }
+
+   private long getTimeToLive()
+   {
+      long minutes = DEFAULT_TTL_MINUTES;
+      Object value = environment.getProperty(PROP_TTL);
+      if (value != null)
+      {
+         try
+         {
+            minutes = Long.parseLong(value.toString().trim());
+         }
+         catch (NumberFormatException e)
+         {
+            // use the default
+         }
+      }
+      return minutes * 60 * 1000;
+   }
+
+   private File getCacheDirectory()
+   {
+      try
+      {
+         return new File(environment.getConfigDirectory().getUnderlyingResourceObject(), CACHE_DIR);
+      }
+      catch (RuntimeException e)
+      {
+         // no configuration directory; keep entries in memory only
+         return null;
+      }
+   }
+
+   private File getCacheFile(final String key)
+   {
+      File dir = getCacheDirectory();
+      return dir == null ? null : new File(dir, digest(key) + ".properties");
+   }
+
+   private static String digest(final String key)
+   {
+      try
+      {
+         byte[] hash = MessageDigest.getInstance("SHA-1").digest(key.getBytes("UTF-8"));
+         StringBuilder result = new StringBuilder();
+         for (byte b : hash)
+         {
+            result.append(Integer.toHexString((b & 0xff) | 0x100).substring(1));
+         }
+         return result.toString();
+      }
+      catch (NoSuchAlgorithmException e)
+      {
+         return Integer.toHexString(key.hashCode());
+      }
+      catch (IOException e)
+      {
+         return Integer.toHexString(key.hashCode());
+      }
+   }
+
+   private static String toKey(final List<DependencyRepository> repositories)
+   {
+      StringBuilder result = new StringBuilder();
+      for (DependencyRepository repository : repositories)
+      {
+         result.append(repository.getUrl()).append(' ');
+      }
+      return result.toString().trim();
+   }
+
+   /**
+    * Write every field of the given dependency, including its exclusions, as properties starting with the given
+    * prefix.
+    */
+   private static void writeDependency(final Properties properties, final String prefix, final Dependency dependency)
+   {
+      setProperty(properties, prefix + ".groupId", dependency.getGroupId());
+      setProperty(properties, prefix + ".artifactId", dependency.getArtifactId());
+      setProperty(properties, prefix + ".version", dependency.getVersion());
+      setProperty(properties, prefix + ".scope", dependency.getScopeType());
+      setProperty(properties, prefix + ".packaging", dependency.getPackagingType());
+      setProperty(properties, prefix + ".classifier", dependency.getClassifier());
+      setProperty(properties, prefix + ".systemPath", dependency.getSystemPath());
+
+      List<String> exclusions = new ArrayList<String>();
+      if (dependency.getExcludedDependencies() != null)
+      {
+         for (Dependency exclusion : dependency.getExcludedDependencies())
+         {
+            exclusions.add(exclusion.getGroupId() + ":" + exclusion.getArtifactId());
+         }
+      }
+      writeList(properties, prefix + ".exclusion", exclusions);
+   }
+
+   private static Dependency readDependency(final Properties properties, final String prefix)
+   {
+      DependencyBuilder result = DependencyBuilder.create()
+               .setGroupId(properties.getProperty(prefix + ".groupId"))
+               .setArtifactId(properties.getProperty(prefix + ".artifactId"))
+               .setVersion(properties.getProperty(prefix + ".version"))
+               .setScopeType(properties.getProperty(prefix + ".scope"))
+               .setPackagingType(properties.getProperty(prefix + ".packaging"))
+               .setClassifier(properties.getProperty(prefix + ".classifier"))
+               .setSystemPath(properties.getProperty(prefix + ".systemPath"));
+
+      for (String exclusion : readList(properties, prefix + ".exclusion"))
+      {
+         int separator = exclusion.indexOf(':');
+         result.addExclusion().setGroupId(exclusion.substring(0, separator))
+                  .setArtifactId(exclusion.substring(separator + 1));
+      }
+      return result;
+   }
+
+   private static void writeDependencies(final Properties properties, final String name,
+            final List<Dependency> dependencies)
+   {
+      properties.setProperty(name + ".count", String.valueOf(dependencies.size()));
+      for (int i = 0; i < dependencies.size(); i++)
+      {
+         writeDependency(properties, name + "." + i, dependencies.get(i));
+      }
+   }
+
+   private static List<Dependency> readDependencies(final Properties properties, final String name)
+   {
+      List<Dependency> result = new ArrayList<Dependency>();
+      int count = Integer.parseInt(properties.getProperty(name + ".count", "0"));
+      for (int i = 0; i < count; i++)
+      {
+         result.add(readDependency(properties, name + "." + i));
+      }
+      return result;
+   }
+
+   private static void setProperty(final Properties properties, final String name, final String value)
+   {
+      if (value != null)
+      {
+         properties.setProperty(name, value);
+      }
+   }
+
+   private static void writeList(final Properties properties, final String name, final List<String> values)
+   {
+      properties.setProperty(name + ".count", String.valueOf(values.size()));
+      for (int i = 0; i < values.size(); i++)
+      {
+         properties.setProperty(name + "." + i, values.get(i));
+      }
+   }
+
+   private static List<String> readList(final Properties properties, final String name)
+   {
+      List<String> result = new ArrayList<String>();
+      int count = Integer.parseInt(properties.getProperty(name + ".count", "0"));
+      for (int i = 0; i < count; i++)
+      {
+         result.add(properties.getProperty(name + "." + i));
+      }
+      return result;
+   }
+
+   private interface Codec<T>
+   {
+      void write(Properties properties, T value);
+
+      T read(Properties properties);
+
+      boolean isCacheable(T value);
+   }
+}
@@ -9,12 +9,20 @@ package org.jboss.forge.maven.dependencies;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
-import org.apache.maven.repository.internal.MavenRepositorySystemSession;
 import org.apache.maven.settings.Proxy;
 import org.apache.maven.settings.Settings;
 import org.jboss.forge.ForgeEnvironment;
@@ -22,12 +30,12 @@ import org.jboss.forge.maven.RepositoryUtils;
 import org.jboss.forge.maven.facets.MavenContainer;
 import org.jboss.forge.parser.java.util.Strings;
 import org.jboss.forge.project.ProjectModelException;
+import org.jboss.forge.project.dependencies.BatchDependencyResolverProvider;
 import org.jboss.forge.project.dependencies.Dependency;
 import org.jboss.forge.project.dependencies.DependencyBuilder;
 import org.jboss.forge.project.dependencies.DependencyMetadata;
 import org.jboss.forge.project.dependencies.DependencyRepository;
 import org.jboss.forge.project.dependencies.DependencyRepositoryImpl;
-import org.jboss.forge.project.dependencies.DependencyResolverProvider;
 import org.jboss.forge.project.facets.DependencyFacet.KnownRepository;
 import org.jboss.forge.project.services.ResourceFactory;
 import org.jboss.forge.resources.DependencyResource;
@@ -35,6 +43,7 @@ import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
 import org.sonatype.aether.RepositorySystem;
+import org.sonatype.aether.RepositorySystemSession;
 import org.sonatype.aether.artifact.Artifact;
 import org.sonatype.aether.collection.CollectRequest;
 import org.sonatype.aether.repository.ArtifactRepository;
@@ -59,22 +68,27 @@ import org.sonatype.aether.version.Version;
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
 @Dependent
-public class RepositoryLookup implements DependencyResolverProvider
+public class RepositoryLookup implements BatchDependencyResolverProvider
 {
+   private static final Logger log = Logger.getLogger(RepositoryLookup.class.getName());
+   private static final int MAX_CONCURRENT_REQUESTS = 8;
+
    private MavenContainer container;
    private ResourceFactory factory;
    private ForgeEnvironment environment;
+   private DependencyMetadataCache cache;
 
    public RepositoryLookup()
    {}
 
    @Inject
    public RepositoryLookup(final MavenContainer container, final ResourceFactory factory,
-            final ForgeEnvironment environment)
+            final ForgeEnvironment environment, final DependencyMetadataCache cache)
    {
       this.container = container;
       this.factory = factory;
       this.environment = environment;
+      this.cache = cache;
    }
 
    @Override
@@ -92,14 +106,100 @@ public class RepositoryLookup implements DependencyResolverProvider
    @Override
    public List<DependencyResource> resolveArtifacts(final Dependency dep, final List<DependencyRepository> repositories)
    {
-      List<DependencyResource> result = new ArrayList<DependencyResource>();
+      return resolveArtifacts(Arrays.asList(dep), repositories).get(dep);
+   }
 
-      RepositorySystem system = container.lookup(RepositorySystem.class);
+   @Override
+   public Map<Dependency, List<DependencyResource>> resolveArtifacts(final List<Dependency> deps,
+            final List<DependencyRepository> repositories)
+   {
+      Map<Dependency, List<DependencyResource>> result = new LinkedHashMap<Dependency, List<DependencyResource>>();
 
       /**
        * First try resolving the artifact directly from the local repository - then fall back to aether. This may be a
        * bad practice but we can revisit if problems arise.
        */
+      List<Dependency> unresolved = new ArrayList<Dependency>();
+      for (Dependency dep : deps)
+      {
+         List<DependencyResource> artifacts = resolveFromLocalRepository(dep);
+         result.put(dep, artifacts);
+         if (artifacts.isEmpty())
+         {
+            unresolved.add(dep);
+         }
+      }
+
+      if (!unresolved.isEmpty())
+      {
+         RepositorySystem system = container.lookup(RepositorySystem.class);
+         RepositorySystemSession session = container.getRepositorySession(!environment.isOnline(), true);
+         List<RemoteRepository> remoteRepos = convertToMavenRepos(repositories);
+
+         Map<Dependency, VersionRangeResult> ranges = getVersions(unresolved, remoteRepos);
+
+         /*
+          * Collect one candidate per available version, in version order, then download all remote candidates with a
+          * single multi-artifact request.
+          */
+         List<Candidate> candidates = new ArrayList<Candidate>();
+         List<ArtifactRequest> requests = new ArrayList<ArtifactRequest>();
+         for (Dependency dep : unresolved)
+         {
+            VersionRangeResult versions = ranges.get(dep);
+            for (Version version : versions.getVersions())
+            {
+               ArtifactRepository ar = versions.getRepository(version);
+               DependencyBuilder currentVersion = DependencyBuilder.create(dep).setVersion(version.toString());
+               Artifact artifact = dependencyToMavenArtifact(currentVersion);
+
+               if (ar instanceof LocalRepository)
+               {
+                  LocalArtifactRequest request = new LocalArtifactRequest(artifact, null, null);
+                  LocalArtifactResult a = session.getLocalRepositoryManager().find(session, request);
+                  candidates.add(new Candidate(dep, currentVersion, a.getFile()));
+               }
+               else if (ar instanceof RemoteRepository)
+               {
+                  ArtifactRequest request = new ArtifactRequest();
+                  RemoteRepository remoteRepo = new RemoteRepository(ar.getId(), ar.getContentType(),
+                           ((RemoteRepository) ar).getUrl());
+                  request.addRepository(remoteRepo);
+                  request.setArtifact(artifact);
+
+                  candidates.add(new Candidate(dep, currentVersion, requests.size()));
+                  requests.add(request);
+               }
+            }
+         }
+
+         List<ArtifactResult> downloaded = resolveArtifactRequests(system, session, requests);
+         for (Candidate candidate : candidates)
+         {
+            File file = candidate.file;
+            if (candidate.request >= 0)
+            {
+               ArtifactResult a = downloaded.get(candidate.request);
+               file = (a != null) && (a.getArtifact() != null) ? a.getArtifact().getFile() : null;
+            }
+
+            if (file != null)
+            {
+               List<DependencyResource> artifacts = result.get(candidate.dependency);
+               DependencyResource resource = new DependencyResource(factory, file, candidate.version);
+               if (!artifacts.contains(resource))
+               {
+                  artifacts.add(resource);
+               }
+            }
+         }
+      }
+      return result;
+   }
+
+   private List<DependencyResource> resolveFromLocalRepository(final Dependency dep)
+   {
+      List<DependencyResource> result = new ArrayList<DependencyResource>();
       if (dep.getVersion() != null)
       {
          DirectoryResource dir = (DirectoryResource) factory.getResourceFrom(new File(container.getSettings()
@@ -131,63 +231,30 @@ public class RepositoryLookup implements DependencyResolverProvider
             }
          }
       }
+      return result;
+   }
 
-      if (result.isEmpty())
+   /*
+    * Resolve all requests at once, so that Aether can download artifacts in parallel. Requests that cannot be
+    * resolved yield a result without an artifact.
+    */
+   private List<ArtifactResult> resolveArtifactRequests(final RepositorySystem system,
+            final RepositorySystemSession session, final List<ArtifactRequest> requests)
+   {
+      if (requests.isEmpty())
       {
-         MavenRepositorySystemSession session = setupRepoSession(system);
-
-         session.setIgnoreInvalidArtifactDescriptor(true);
-         session.setIgnoreMissingArtifactDescriptor(true);
-
-         VersionRangeResult versions = getVersions(dep, convertToMavenRepos(repositories));
-
-         VERSION: for (Version version : versions.getVersions())
-         {
-            ArtifactRepository ar = versions.getRepository(version);
-            DependencyBuilder currentVersion = DependencyBuilder.create(dep).setVersion(version.toString());
-            Artifact artifact = dependencyToMavenArtifact(currentVersion);
-
-            if (ar instanceof LocalRepository)
-            {
-               LocalArtifactRequest request = new LocalArtifactRequest(artifact, null, null);
-               LocalArtifactResult a = session.getLocalRepositoryManager().find(session, request);
-
-               File file = a.getFile();
-               DependencyResource resource = new DependencyResource(factory, file, currentVersion);
-               if (!result.contains(resource))
-               {
-                  result.add(resource);
-                  continue VERSION;
-               }
-            }
-            if (ar instanceof RemoteRepository)
-            {
-               ArtifactRequest request = new ArtifactRequest();
-               RemoteRepository remoteRepo = new RemoteRepository(ar.getId(), ar.getContentType(),
-                        ((RemoteRepository) ar).getUrl());
-               request.addRepository(remoteRepo);
-               request.setArtifact(artifact);
+         return new ArrayList<ArtifactResult>();
+      }
 
-               try
-               {
-                  ArtifactResult a = system.resolveArtifact(session, request);
-
-                  File file = a.getArtifact().getFile();
-                  DependencyResource resource = new DependencyResource(factory, file, currentVersion);
-                  if (!result.contains(resource))
-                  {
-                     result.add(resource);
-                     continue VERSION;
-                  }
-               }
-               catch (ArtifactResolutionException e)
-               {
-                  System.out.println(e.getMessage());
-               }
-            }
-         }
+      try
+      {
+         return system.resolveArtifacts(session, requests);
+      }
+      catch (ArtifactResolutionException e)
+      {
+         log.fine(e.getMessage());
+         return e.getResults();
       }
-      return result;
    }
 
    @Override
@@ -215,7 +282,7 @@ public class RepositoryLookup implements DependencyResolverProvider
          }
 
          RepositorySystem system = container.lookup(RepositorySystem.class);
-         MavenRepositorySystemSession session = setupRepoSession(system);
+         RepositorySystemSession session = getRepositorySession();
 
          Artifact artifact = dependencyToMavenArtifact(dep);
          CollectRequest collectRequest = new CollectRequest(new org.sonatype.aether.graph.Dependency(artifact, null),
@@ -253,7 +320,20 @@ public class RepositoryLookup implements DependencyResolverProvider
    }
 
    @Override
-   public DependencyMetadata resolveDependencyMetadata(Dependency query, final List<DependencyRepository> repositories)
+   public DependencyMetadata resolveDependencyMetadata(final Dependency query,
+            final List<DependencyRepository> repositories)
+   {
+      return cache.getMetadata(query, repositories, new Callable<DependencyMetadata>()
+      {
+         @Override
+         public DependencyMetadata call() throws Exception
+         {
+            return readDependencyMetadata(query, repositories);
+         }
+      });
+   }
+
+   private DependencyMetadata readDependencyMetadata(Dependency query, final List<DependencyRepository> repositories)
    {
       try
       {
@@ -263,7 +343,7 @@ public class RepositoryLookup implements DependencyResolverProvider
          }
 
          RepositorySystem system = container.lookup(RepositorySystem.class);
-         MavenRepositorySystemSession session = setupRepoSession(system);
+         RepositorySystemSession session = getRepositorySession();
 
          Artifact artifact = dependencyToMavenArtifact(query);
 
@@ -297,31 +377,29 @@ public class RepositoryLookup implements DependencyResolverProvider
    @Override
    public List<Dependency> resolveVersions(final Dependency dep, final List<DependencyRepository> repositories)
    {
-      List<Dependency> result = new ArrayList<Dependency>();
+      return cache.getVersions(dep, repositories, new Callable<List<Dependency>>()
+      {
+         @Override
+         public List<Dependency> call() throws Exception
+         {
+            List<Dependency> result = new ArrayList<Dependency>();
 
-      List<RemoteRepository> remoteRepos = convertToMavenRepos(repositories);
-      VersionRangeResult r = getVersions(dep, remoteRepos);
+            List<RemoteRepository> remoteRepos = convertToMavenRepos(repositories);
+            VersionRangeResult r = getVersions(dep, remoteRepos);
 
-      for (Version v : r.getVersions())
-      {
-         result.add(DependencyBuilder.create(dep).setVersion(v.toString()));
-      }
+            for (Version v : r.getVersions())
+            {
+               result.add(DependencyBuilder.create(dep).setVersion(v.toString()));
+            }
 
-      return result;
+            return result;
+         }
+      });
    }
 
-   private MavenRepositorySystemSession setupRepoSession(final RepositorySystem repoSystem)
+   private RepositorySystemSession getRepositorySession()
    {
-      MavenRepositorySystemSession session = new MavenRepositorySystemSession();
-      session.setOffline(!environment.isOnline());
-      Settings settings = container.getSettings();
-
-      LocalRepository localRepo = new LocalRepository(new File(settings.getLocalRepository()), "");
-      session.setLocalRepositoryManager(repoSystem.newLocalRepositoryManager(localRepo));
-      session.setTransferErrorCachingEnabled(false);
-      session.setNotFoundCachingEnabled(false);
-
-      return session;
+      return container.getRepositorySession(!environment.isOnline());
    }
 
    private RemoteRepository convertToMavenRepo(final DependencyRepository repo)
@@ -361,6 +439,60 @@ public class RepositoryLookup implements DependencyResolverProvider
       return remoteRepos;
    }
 
+   /*
+    * Resolve the available versions of each dependency, concurrently if there is more than one.
+    */
+   private Map<Dependency, VersionRangeResult> getVersions(final List<Dependency> deps,
+            final List<RemoteRepository> repositories)
+   {
+      Map<Dependency, VersionRangeResult> result = new LinkedHashMap<Dependency, VersionRangeResult>();
+      if (deps.size() == 1)
+      {
+         result.put(deps.get(0), getVersions(deps.get(0), repositories));
+         return result;
+      }
+
+      Map<Dependency, Future<VersionRangeResult>> futures = new LinkedHashMap<Dependency, Future<VersionRangeResult>>();
+      ExecutorService executor = Executors.newFixedThreadPool(Math.min(deps.size(), MAX_CONCURRENT_REQUESTS));
+      try
+      {
+         for (final Dependency dep : deps)
+         {
+            futures.put(dep, executor.submit(new Callable<VersionRangeResult>()
+            {
+               @Override
+               public VersionRangeResult call() throws Exception
+               {
+                  return getVersions(dep, repositories);
+               }
+            }));
+         }
+
+         for (Entry<Dependency, Future<VersionRangeResult>> entry : futures.entrySet())
+         {
+            result.put(entry.getKey(), entry.getValue().get());
+         }
+         return result;
+      }
+      catch (ExecutionException e)
+      {
+         if (e.getCause() instanceof RuntimeException)
+         {
+            throw (RuntimeException) e.getCause();
+         }
+         throw new ProjectModelException("Failed to look up versions", e.getCause());
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new ProjectModelException("Interrupted while looking up versions", e);
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
    private VersionRangeResult getVersions(Dependency dep, final List<RemoteRepository> repositories)
    {
       try
@@ -376,7 +508,7 @@ public class RepositoryLookup implements DependencyResolverProvider
          }
 
          RepositorySystem maven = container.lookup(RepositorySystem.class);
-         MavenRepositorySystemSession session = setupRepoSession(maven);
+         RepositorySystemSession session = getRepositorySession();
 
          Artifact artifact = dependencyToMavenArtifact(dep);
          VersionRangeRequest rangeRequest = new VersionRangeRequest(artifact, repositories, null);
@@ -390,6 +522,30 @@ public class RepositoryLookup implements DependencyResolverProvider
       }
    }
 
+   private static class Candidate
+   {
+      private final Dependency dependency;
+      private final Dependency version;
+      private final File file;
+      private final int request;
+
+      public Candidate(final Dependency dependency, final Dependency version, final File file)
+      {
+         this.dependency = dependency;
+         this.version = version;
+         this.file = file;
+         this.request = -1;
+      }
+
+      public Candidate(final Dependency dependency, final Dependency version, final int request)
+      {
+         this.dependency = dependency;
+         this.version = version;
+         this.file = null;
+         this.request = request;
+      }
+   }
+
    public Artifact dependencyToMavenArtifact(final Dependency dep)
    {
       Artifact artifact = new DefaultArtifact(dep.getGroupId(), dep.getArtifactId(), dep.getClassifier(),
@@ -0,0 +1,505 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.ParserException;
+import org.jboss.forge.parser.java.Annotation;
+import org.jboss.forge.parser.java.Extendable;
+import org.jboss.forge.parser.java.InterfaceCapable;
+import org.jboss.forge.parser.java.JavaSource;
+import org.jboss.forge.parser.java.Member;
+import org.jboss.forge.parser.java.util.Strings;
+
+/**
+ * An index of the Java types declared in one source folder: their file, kind, declared annotations, supertypes and
+ * member names. The index is stored in the project's <code>.forge</code> directory. When first used it is checked
+ * against the size and last-modified time of every source file, and only changed files are parsed again; after that,
+ * files reported through {@link #invalidate(File)} are re-indexed on the next query.
+ */
+public class JavaTypeIndex
+{
+   private static final String HEADER = "# Forge Java type index, version 1";
+   private static final String SEPARATOR = "\t";
+   private static final String LIST_SEPARATOR = ",";
+
+   private static final Logger log = Logger.getLogger(JavaTypeIndex.class.getName());
+
+   private final File sourceFolder;
+   private final File indexFile;
+
+   /**
+    * Entries by relative path of their source file, and by qualified type name.
+    */
+   private final Map<String, IndexedType> entries = new HashMap<String, IndexedType>();
+   private final Map<String, IndexedType> types = new HashMap<String, IndexedType>();
+   private final Set<File> pending = new HashSet<File>();
+   private boolean loaded = false;
+
+   public JavaTypeIndex(final File sourceFolder, final File indexFile)
+   {
+      this.sourceFolder = sourceFolder.getAbsoluteFile();
+      this.indexFile = indexFile.getAbsoluteFile();
+   }
+
+   /**
+    * Return true if the given file or folder is within the source folder covered by this index.
+    */
+   public boolean covers(final File file)
+   {
+      String path = file.getAbsolutePath();
+      return path.equals(sourceFolder.getPath()) || path.startsWith(sourceFolder.getPath() + File.separator);
+   }
+
+   /**
+    * Mark the given source file as changed, so that it is indexed again before the next query. If a folder is given,
+    * every source file is checked again.
+    */
+   public synchronized void invalidate(final File file)
+   {
+      if (file.getName().endsWith(".java"))
+      {
+         pending.add(file.getAbsoluteFile());
+      }
+      else
+      {
+         loaded = false;
+      }
+   }
+
+   /**
+    * Return the source file declaring the given type, or null if no such type is indexed.
+    */
+   public synchronized File findType(final String qualifiedName)
+   {
+      refresh();
+      IndexedType type = types.get(qualifiedName);
+      if ((type != null) && reindexIfStale(Collections.singletonList(type)))
+      {
+         type = types.get(qualifiedName);
+      }
+      return type == null ? null : type.getFile(sourceFolder);
+   }
+
+   /**
+    * Return the source files of all types annotated with the given annotation, ordered by type name. Annotations are
+    * matched by qualified name; simple names are also matched where the declaring source does not make the package of
+    * an annotation explicit.
+    */
+   public synchronized List<File> findTypesAnnotatedWith(final String annotationType)
+   {
+      refresh();
+      List<IndexedType> result = getTypesAnnotatedWith(annotationType);
+      if (reindexIfStale(result))
+      {
+         result = getTypesAnnotatedWith(annotationType);
+      }
+
+      List<File> files = new ArrayList<File>();
+      for (IndexedType type : result)
+      {
+         files.add(type.getFile(sourceFolder));
+      }
+      return files;
+   }
+
+   private List<IndexedType> getTypesAnnotatedWith(final String annotationType)
+   {
+      String simpleName = annotationType.substring(annotationType.lastIndexOf('.') + 1);
+
+      Map<String, IndexedType> result = new TreeMap<String, IndexedType>();
+      for (IndexedType type : entries.values())
+      {
+         if (type.annotations.contains(annotationType) || type.annotations.contains(simpleName))
+         {
+            result.put(type.qualifiedName, type);
+         }
+      }
+      return new ArrayList<IndexedType>(result.values());
+   }
+
+   /**
+    * Return the name of every package containing at least one indexed type, in alphabetical order.
+    */
+   public synchronized List<String> listPackages()
+   {
+      refresh();
+      Set<String> result = new TreeSet<String>();
+      for (IndexedType type : entries.values())
+      {
+         int index = type.qualifiedName.lastIndexOf('.');
+         if (index > 0)
+         {
+            result.add(type.qualifiedName.substring(0, index));
+         }
+      }
+      return new ArrayList<String>(result);
+   }
+
+   /*
+    * Updating
+    */
+   private void refresh()
+   {
+      boolean changed = false;
+      List<File> toParse = new ArrayList<File>();
+
+      if (!loaded)
+      {
+         load();
+         loaded = true;
+         pending.clear();
+
+         Set<String> found = new HashSet<String>();
+         for (File file : listSourceFiles(sourceFolder, new ArrayList<File>()))
+         {
+            String path = relativize(file);
+            found.add(path);
+            IndexedType type = entries.get(path);
+            if ((type == null) || !type.isCurrent(file))
+            {
+               toParse.add(file);
+            }
+         }
+         for (String path : new ArrayList<String>(entries.keySet()))
+         {
+            if (!found.contains(path))
+            {
+               remove(path);
+               changed = true;
+            }
+         }
+      }
+      else if (!pending.isEmpty())
+      {
+         for (File file : pending)
+         {
+            if (file.isFile())
+            {
+               toParse.add(file);
+            }
+            else
+            {
+               changed |= remove(relativize(file));
+            }
+         }
+         pending.clear();
+      }
+
+      if (!toParse.isEmpty())
+      {
+         for (File file : toParse)
+         {
+            remove(relativize(file));
+         }
+         for (Entry<File, JavaSource<?>> entry : JavaParser.parseAll(toParse).entrySet())
+         {
+            File file = entry.getKey();
+            try
+            {
+               put(IndexedType.from(relativize(file), file, entry.getValue()));
+            }
+            catch (ParserException e)
+            {
+               // a file that cannot be parsed declares no types until it changes
+            }
+         }
+         changed = true;
+      }
+
+      if (changed)
+      {
+         save();
+      }
+   }
+
+   /**
+    * Events are only delivered once a command completes, so make sure results are not older than their files.
+    */
+   private boolean reindexIfStale(final List<IndexedType> types)
+   {
+      for (IndexedType type : types)
+      {
+         File file = type.getFile(sourceFolder);
+         if (!type.isCurrent(file))
+         {
+            pending.add(file);
+         }
+      }
+      if (!pending.isEmpty())
+      {
+         refresh();
+         return true;
+      }
+      return false;
+   }
+
+   private void put(final IndexedType type)
+   {
+      entries.put(type.path, type);
+      types.put(type.qualifiedName, type);
+   }
+
+   private boolean remove(final String path)
+   {
+      IndexedType type = entries.remove(path);
+      if (type != null)
+      {
+         types.remove(type.qualifiedName);
+         return true;
+      }
+      return false;
+   }
+
+   private List<File> listSourceFiles(final File folder, final List<File> result)
+   {
+      File[] children = folder.listFiles();
+      if (children != null)
+      {
+         for (File child : children)
+         {
+            if (child.isDirectory())
+            {
+               listSourceFiles(child, result);
+            }
+            else if (child.getName().endsWith(".java"))
+            {
+               result.add(child);
+            }
+         }
+      }
+      return result;
+   }
+
+   private String relativize(final File file)
+   {
+      String path = file.getAbsolutePath().substring(sourceFolder.getPath().length() + 1);
+      return path.replace(File.separatorChar, '/');
+   }
+
+   /*
+    * Storage
+    */
+   private void load()
+   {
+      entries.clear();
+      types.clear();
+      if (indexFile.isFile())
+      {
+         try
+         {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(indexFile), "UTF-8"));
+            try
+            {
+               if (HEADER.equals(reader.readLine()))
+               {
+                  String line;
+                  while ((line = reader.readLine()) != null)
+                  {
+                     IndexedType type = IndexedType.parse(line);
+                     if (type != null)
+                     {
+                        put(type);
+                     }
+                  }
+               }
+            }
+            finally
+            {
+               reader.close();
+            }
+         }
+         catch (IOException e)
+         {
+            // a damaged index is simply rebuilt
+            entries.clear();
+            types.clear();
+         }
+      }
+   }
+
+   /**
+    * Write the index to a temporary file, then move it into place, so that a failed write never leaves a truncated
+    * index behind.
+    */
+   private void save()
+   {
+      File temp = new File(indexFile.getPath() + ".tmp");
+      try
+      {
+         indexFile.getParentFile().mkdirs();
+         Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), "UTF-8"));
+         try
+         {
+            writer.write(HEADER);
+            writer.write('\n');
+            for (IndexedType type : entries.values())
+            {
+               writer.write(type.format());
+               writer.write('\n');
+            }
+         }
+         finally
+         {
+            writer.close();
+         }
+
+         if (!temp.renameTo(indexFile) && !(indexFile.delete() && temp.renameTo(indexFile)))
+         {
+            throw new IOException("Could not replace " + indexFile);
+         }
+      }
+      catch (IOException e)
+      {
+         /*
+          * The index in memory is still correct, and is written again after the next change; queries must not fail
+          * because the .forge directory is read-only.
+          */
+         log.log(Level.WARNING, "Could not write Java type index: " + indexFile, e);
+         temp.delete();
+      }
+   }
+
+   private static class IndexedType
+   {
+      private final String path;
+      private final long lastModified;
+      private final long length;
+      private final String qualifiedName;
+      private final String kind;
+      private final List<String> annotations;
+      private final List<String> supertypes;
+      private final List<String> members;
+
+      public IndexedType(final String path, final long lastModified, final long length, final String qualifiedName,
+               final String kind, final List<String> annotations, final List<String> supertypes,
+               final List<String> members)
+      {
+         this.path = path;
+         this.lastModified = lastModified;
+         this.length = length;
+         this.qualifiedName = qualifiedName;
+         this.kind = kind;
+         this.annotations = annotations;
+         this.supertypes = supertypes;
+         this.members = members;
+      }
+
+      @SuppressWarnings("rawtypes")
+      public static IndexedType from(final String path, final File file, final JavaSource<?> source)
+      {
+         List<String> annotations = new ArrayList<String>();
+         for (Annotation<?> annotation : source.getAnnotations())
+         {
+            annotations.add(annotation.getQualifiedName());
+         }
+
+         List<String> supertypes = new ArrayList<String>();
+         if (source instanceof Extendable)
+         {
+            String superType = ((Extendable) source).getSuperType();
+            if (!Strings.isNullOrEmpty(superType))
+            {
+               supertypes.add(stripGenerics(superType));
+            }
+         }
+         if (source instanceof InterfaceCapable)
+         {
+            for (Object type : ((InterfaceCapable) source).getInterfaces())
+            {
+               supertypes.add(stripGenerics((String) type));
+            }
+         }
+
+         List<String> members = new ArrayList<String>();
+         for (Object member : source.getMembers())
+         {
+            members.add(((Member<?, ?>) member).getName());
+         }
+
+         return new IndexedType(path, file.lastModified(), file.length(), source.getQualifiedName(), source
+                  .getSourceType().name(), annotations, supertypes, members);
+      }
+
+      public static IndexedType parse(final String line)
+      {
+         String[] fields = line.split(SEPARATOR, -1);
+         if (fields.length != 8)
+         {
+            return null;
+         }
+         try
+         {
+            return new IndexedType(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3],
+                     fields[4], split(fields[5]), split(fields[6]), split(fields[7]));
+         }
+         catch (NumberFormatException e)
+         {
+            return null;
+         }
+      }
+
+      public String format()
+      {
+         return Strings.join(Arrays.asList(path, String.valueOf(lastModified), String.valueOf(length), qualifiedName,
+                  kind, join(annotations), join(supertypes), join(members)), SEPARATOR);
+      }
+
+      public boolean isCurrent(final File file)
+      {
+         return (file.lastModified() == lastModified) && (file.length() == length);
+      }
+
+      public File getFile(final File sourceFolder)
+      {
+         return new File(sourceFolder, path);
+      }
+
+      private static String stripGenerics(final String type)
+      {
+         int index = type.indexOf('<');
+         return index == -1 ? type : type.substring(0, index);
+      }
+
+      private static List<String> split(final String value)
+      {
+         if (value.isEmpty())
+         {
+            return Collections.emptyList();
+         }
+         return Arrays.asList(value.split(LIST_SEPARATOR));
+      }
+
+      private static String join(final List<String> values)
+      {
+         return Strings.join(values, LIST_SEPARATOR);
+      }
+   }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.forge.resources.events.ResourceEvent;
+import org.jboss.forge.resources.events.ResourceRenamed;
+
+/**
+ * Holds the {@link JavaTypeIndex} of each source folder for the lifetime of the shell, and keeps them up to date as
+ * resources are created, modified and deleted.
+ */
+@ApplicationScoped
+public class JavaTypeIndexes
+{
+   private final ConcurrentMap<File, JavaTypeIndex> indexes = new ConcurrentHashMap<File, JavaTypeIndex>();
+
+   /**
+    * Return the index of the given source folder, stored in the given file.
+    */
+   public JavaTypeIndex getIndex(final File sourceFolder, final File indexFile)
+   {
+      File key = sourceFolder.getAbsoluteFile();
+      JavaTypeIndex index = indexes.get(key);
+      if (index == null)
+      {
+         indexes.putIfAbsent(key, new JavaTypeIndex(key, indexFile));
+         index = indexes.get(key);
+      }
+      return index;
+   }
+
+   public void update(@Observes final ResourceEvent event)
+   {
+      Object underlying = event.getResource().getUnderlyingResourceObject();
+      if (underlying instanceof File)
+      {
+         invalidate((File) underlying);
+      }
+      if ((event instanceof ResourceRenamed) && (((ResourceRenamed) event).getOriginalLocation() != null))
+      {
+         invalidate(new File(((ResourceRenamed) event).getOriginalLocation()));
+      }
+   }
+
+   private void invalidate(final File file)
+   {
+      for (JavaTypeIndex index : indexes.values())
+      {
+         if (index.covers(file))
+         {
+            index.invalidate(file);
+         }
+      }
+   }
+}
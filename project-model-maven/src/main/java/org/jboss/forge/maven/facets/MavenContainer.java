@@ -8,6 +8,8 @@
 package org.jboss.forge.maven.facets;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
@@ -36,7 +38,10 @@ import org.jboss.forge.ForgeEnvironment;
 import org.jboss.forge.maven.RepositoryUtils;
 import org.jboss.forge.project.ProjectModelException;
 import org.jboss.forge.shell.util.OSUtils;
-import org.sonatype.aether.impl.internal.SimpleLocalRepositoryManager;
+import org.sonatype.aether.RepositorySystem;
+import org.sonatype.aether.RepositorySystemSession;
+import org.sonatype.aether.repository.LocalRepository;
+import org.sonatype.aether.util.DefaultRepositoryCache;
 import org.sonatype.aether.util.repository.DefaultProxySelector;
 
 /**
@@ -46,11 +51,16 @@ import org.sonatype.aether.util.repository.DefaultProxySelector;
 public class MavenContainer
 {
    private static final String M2_HOME = System.getenv().get("M2_HOME");
+   private static final String CACHE_FAILURES_PROPERTY = "forge.maven.cacheFailures";
 
    private ProjectBuildingRequest request;
    private DefaultPlexusContainer container = null;
    private ProjectBuilder builder = null;
 
+   private Settings settings;
+   private String settingsStamp;
+   private final Map<String, RepositorySystemSession> sessions = new HashMap<String, RepositorySystemSession>();
+
    @Inject
    private ForgeEnvironment environment;
 
@@ -74,7 +84,7 @@ public class MavenContainer
          // TODO this reference to the M2_REPO should probably be centralized
 
          MavenExecutionRequest executionRequest = new DefaultMavenExecutionRequest();
-         lookup(MavenExecutionRequestPopulator.class).populateFromSettings(executionRequest, getSettings());
+         lookup(MavenExecutionRequestPopulator.class).populateFromSettings(executionRequest, settings);
          request = executionRequest.getProjectBuildingRequest();
          ArtifactRepository localRepository = new MavenArtifactRepository(
                   "local", new File(settings.getLocalRepository()).toURI().toURL().toString(),
@@ -87,15 +97,7 @@ public class MavenContainer
          //request.setRemoteRepositories(new ArrayList<ArtifactRepository>());
          request.setSystemProperties(System.getProperties());
 
-         MavenRepositorySystemSession repositorySession = new MavenRepositorySystemSession();
-         Proxy activeProxy = settings.getActiveProxy();
-         if (activeProxy != null) {
-            DefaultProxySelector dps = new DefaultProxySelector();
-            dps.add(RepositoryUtils.convertFromMavenProxy(activeProxy), activeProxy.getNonProxyHosts());
-            repositorySession.setProxySelector(dps);
-         }
-         repositorySession.setLocalRepositoryManager(new SimpleLocalRepositoryManager(settings.getLocalRepository()));
-         repositorySession.setOffline(offline);
+         RepositorySystemSession repositorySession = getRepositorySession(offline);
 
          request.setRepositorySession(repositorySession);
          request.setProcessPlugins(false);
@@ -118,17 +120,97 @@ public class MavenContainer
       }
    }
 
-   public Settings getSettings()
+   /**
+    * Return the effective Maven {@link Settings}. The result is cached until the user or global settings.xml file
+    * changes, and must not be modified.
+    */
+   public synchronized Settings getSettings()
+   {
+      File userSettingsFile = new File(OSUtils.getUserHomeDir().getAbsolutePath() + "/.m2/settings.xml");
+      File globalSettingsFile = M2_HOME == null ? null : new File(M2_HOME + "/conf/settings.xml");
+
+      String stamp = stamp(userSettingsFile) + ";" + stamp(globalSettingsFile);
+      if ((settings == null) || !stamp.equals(settingsStamp))
+      {
+         settings = buildSettings(userSettingsFile, globalSettingsFile);
+         settingsStamp = stamp;
+         sessions.clear();
+      }
+      return settings;
+   }
+
+   /**
+    * Return the {@link RepositorySystemSession} shared by all repository operations. The session is created once per
+    * effective {@link Settings} and online state, and is never modified after creation, so it may be used concurrently.
+    * Each session has its own {@link DefaultRepositoryCache}, so that metadata and descriptors are only resolved once.
+    * <p>
+    * Caching of artifacts that could not be found, or failed to transfer, is disabled unless the
+    * <code>forge.maven.cacheFailures</code> system property is set to <code>true</code>.
+    */
+   public RepositorySystemSession getRepositorySession(final boolean offline)
+   {
+      return getRepositorySession(offline, false);
+   }
+
+   /**
+    * Return a shared {@link RepositorySystemSession}, as {@link #getRepositorySession(boolean)}. If
+    * ignoreInvalidDescriptors is true, artifacts whose descriptor is missing or invalid are treated as having no
+    * dependencies rather than failing; this suits looking up available artifacts, but not building projects.
+    */
+   public synchronized RepositorySystemSession getRepositorySession(final boolean offline,
+            final boolean ignoreInvalidDescriptors)
+   {
+      Settings settings = getSettings();
+      String key = offline + ":" + ignoreInvalidDescriptors;
+      RepositorySystemSession result = sessions.get(key);
+      if (result == null)
+      {
+         MavenRepositorySystemSession session = new MavenRepositorySystemSession();
+         Proxy activeProxy = settings.getActiveProxy();
+         if (activeProxy != null)
+         {
+            DefaultProxySelector dps = new DefaultProxySelector();
+            dps.add(RepositoryUtils.convertFromMavenProxy(activeProxy), activeProxy.getNonProxyHosts());
+            session.setProxySelector(dps);
+         }
+         LocalRepository localRepo = new LocalRepository(new File(settings.getLocalRepository()), "");
+         session.setLocalRepositoryManager(lookup(RepositorySystem.class).newLocalRepositoryManager(localRepo));
+         session.setOffline(offline);
+         session.setCache(new DefaultRepositoryCache());
+         session.setIgnoreInvalidArtifactDescriptor(ignoreInvalidDescriptors);
+         session.setIgnoreMissingArtifactDescriptor(ignoreInvalidDescriptors);
+
+         boolean cacheFailures = Boolean.getBoolean(CACHE_FAILURES_PROPERTY);
+         session.setTransferErrorCachingEnabled(cacheFailures);
+         session.setNotFoundCachingEnabled(cacheFailures);
+
+         sessions.put(key, session);
+         result = session;
+      }
+      return result;
+   }
+
+   /**
+    * Discard the cached {@link Settings} and {@link RepositorySystemSession} instances, forcing them to be rebuilt on
+    * next use.
+    */
+   public synchronized void flush()
+   {
+      settings = null;
+      settingsStamp = null;
+      sessions.clear();
+   }
+
+   private Settings buildSettings(final File userSettingsFile, final File globalSettingsFile)
    {
       try
       {
          SettingsBuilder settingsBuilder = new DefaultSettingsBuilderFactory().newInstance();
          SettingsBuildingRequest settingsRequest = new DefaultSettingsBuildingRequest();
-         settingsRequest
-                  .setUserSettingsFile(new File(OSUtils.getUserHomeDir().getAbsolutePath() + "/.m2/settings.xml"));
+         settingsRequest.setUserSettingsFile(userSettingsFile);
 
-         if (M2_HOME != null)
-            settingsRequest.setGlobalSettingsFile(new File(M2_HOME + "/conf/settings.xml"));
+         if (globalSettingsFile != null)
+            settingsRequest.setGlobalSettingsFile(globalSettingsFile);
 
          SettingsBuildingResult settingsBuildingResult = settingsBuilder.build(settingsRequest);
          Settings effectiveSettings = settingsBuildingResult.getEffectiveSettings();
@@ -146,6 +228,13 @@ public class MavenContainer
       }
    }
 
+   private String stamp(final File file)
+   {
+      if ((file == null) || !file.exists())
+         return "-";
+      return file.lastModified() + ":" + file.length();
+   }
+
    public ProjectBuilder getBuilder()
    {
       return builder;
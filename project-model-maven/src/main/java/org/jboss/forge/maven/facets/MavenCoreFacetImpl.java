@@ -7,7 +7,6 @@
 package org.jboss.forge.maven.facets;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintStream;
@@ -22,13 +21,11 @@ import javax.inject.Inject;
 
 import org.apache.maven.cli.MavenCli;
 import org.apache.maven.model.Model;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuildingResult;
-import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.jboss.forge.maven.MavenCoreFacet;
 import org.jboss.forge.parser.java.util.Strings;
 import org.jboss.forge.project.Facet;
@@ -54,6 +51,16 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    private ProjectBuildingResult buildingResult;
    private ProjectBuildingResult fullBuildingResult;
 
+   /*
+    * State of the current batch of POM edits, if any
+    */
+   private int editDepth;
+   private Model original;
+   private Model working;
+   private boolean dirty;
+   private boolean written;
+   private boolean rollbackOnly;
+
    @Inject
    private MavenContainer container;
 
@@ -66,6 +73,9 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    @Inject
    private ResourceFactory factory;
 
+   @Inject
+   private MavenModelCache cache;
+
    public MavenCoreFacetImpl()
    {}
 
@@ -75,6 +85,7 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    @Override
    public ProjectBuildingResult getPartialProjectBuildingResult()
    {
+      flushEdits();
       if (this.buildingResult == null)
       {
          ProjectBuildingRequest request = null;
@@ -116,6 +127,7 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    @Override
    public ProjectBuildingResult getFullProjectBuildingResult()
    {
+      flushEdits();
       if (this.fullBuildingResult == null)
       {
          ProjectBuildingRequest request = null;
@@ -151,49 +163,154 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    @Override
    public Model getPOM()
    {
-      try
+      if (working != null)
       {
-         Model result = new Model();
+         return copyOf(working);
+      }
+      return cache.getModel(getPOMFile().getUnderlyingResourceObject());
+   }
 
-         // FIXME this should/can-not use the Maven Native file writer if we are going to abstract file APIs
-         MavenXpp3Reader reader = new MavenXpp3Reader();
-         FileInputStream stream = new FileInputStream(getPOMFile().getUnderlyingResourceObject());
-         if (stream.available() > 0)
+   @Override
+   public void setPOM(final Model pom)
+   {
+      if (isEditing())
+      {
+         working = copyOf(pom);
+         dirty = true;
+      }
+      else
+      {
+         writePOM(pom);
+         firePOMModified();
+         invalidateBuildingResults();
+      }
+   }
+
+   @Override
+   public void beginEdit()
+   {
+      if (editDepth == 0)
+      {
+         original = getPOM();
+         working = copyOf(original);
+         dirty = false;
+         written = false;
+         rollbackOnly = false;
+      }
+      editDepth++;
+   }
+
+   @Override
+   public void commitEdit()
+   {
+      if (!isEditing())
+      {
+         throw new IllegalStateException("No POM edit in progress");
+      }
+
+      if (--editDepth == 0)
+      {
+         if (rollbackOnly)
          {
-            result = reader.read(stream);
+            endEdit(false);
+            throw new ProjectModelException("POM edit was rolled back by a nested edit: " + getPOMFile());
          }
-         stream.close();
+         endEdit(true);
+      }
+   }
 
-         result.setPomFile(getPOMFile().getUnderlyingResourceObject());
-         return result;
+   @Override
+   public void rollbackEdit()
+   {
+      if (isEditing())
+      {
+         rollbackOnly = true;
+         if (--editDepth == 0)
+         {
+            endEdit(false);
+         }
       }
-      catch (IOException e)
+   }
+
+   @Override
+   public boolean isEditing()
+   {
+      return editDepth > 0;
+   }
+
+   private void endEdit(final boolean commit)
+   {
+      try
+      {
+         if (commit && dirty)
+         {
+            writePOM(working);
+            written = true;
+         }
+         else if (!commit && written)
+         {
+            writePOM(original);
+         }
+
+         if (written)
+         {
+            firePOMModified();
+            invalidateBuildingResults();
+         }
+      }
+      finally
       {
-         throw new ProjectModelException("Could not open POM file: " + getPOMFile(), e);
+         original = null;
+         working = null;
+         dirty = false;
+         written = false;
+         rollbackOnly = false;
       }
-      catch (XmlPullParserException e)
+   }
+
+   /*
+    * Maven reads the POM from disk, so pending edits must be written before building the project.
+    */
+   private void flushEdits()
+   {
+      if (isEditing() && dirty)
       {
-         throw new ProjectModelException("Could not parse POM file: " + getPOMFile(), e);
+         writePOM(working);
+         dirty = false;
+         written = true;
+         invalidateBuildingResults();
       }
    }
 
-   @Override
-   public void setPOM(final Model pom)
+   private void writePOM(final Model pom)
    {
+      File pomFile = getPOMFile().getUnderlyingResourceObject();
       try
       {
          // FIXME this should/can-not use the Maven Native file writer if we are going to abstract file APIs
          MavenXpp3Writer writer = new MavenXpp3Writer();
-         FileWriter fw = new FileWriter(getPOMFile().getUnderlyingResourceObject());
+         FileWriter fw = new FileWriter(pomFile);
          writer.write(fw, pom);
          fw.close();
-         manager.fireEvent(new ResourceModified(getPOMFile()), new Annotation[] {});
+         cache.update(pomFile, pom);
       }
       catch (IOException e)
       {
+         cache.invalidate(pomFile);
          throw new ProjectModelException("Could not write POM file: " + getPOMFile(), e);
       }
-      invalidateBuildingResults();
+   }
+
+   private Model copyOf(final Model pom)
+   {
+      Model result = pom.clone();
+      result.setPomFile(getPOMFile().getUnderlyingResourceObject());
+      return result;
+   }
+
+   private void firePOMModified()
+   {
+      manager.fireEvent(new ResourceModified(getPOMFile()), new Annotation[] {});
    }
 
    private Model createPOM()
@@ -299,7 +416,11 @@ public class MavenCoreFacetImpl extends BaseFacet implements MavenCoreFacet, Fac
    public String resolveProperties(final String input)
    {
       String result = input;
-      if (!Strings.isNullOrEmpty(input))
+      /*
+       * Only values with property references need the project built; building during a batch of edits would flush
+       * them to disk for every dependency compared.
+       */
+      if (!Strings.isNullOrEmpty(input) && input.contains("${"))
       {
          Properties properties = getPartialProjectBuildingResult().getProject().getProperties();
 
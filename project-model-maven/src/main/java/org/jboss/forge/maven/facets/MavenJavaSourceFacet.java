@@ -12,12 +12,14 @@ import org.apache.maven.model.Plugin;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
 import org.jboss.forge.maven.MavenCoreFacet;
+import org.jboss.forge.parser.JavaParser;
 import org.jboss.forge.parser.java.JavaEnum;
 import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.project.Facet;
 import org.jboss.forge.project.ProjectModelException;
 import org.jboss.forge.project.facets.BaseFacet;
 import org.jboss.forge.project.facets.JavaSourceFacet;
+import org.jboss.forge.project.services.ResourceFactory;
 import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.ResourceFilter;
@@ -28,11 +30,21 @@ import org.jboss.forge.shell.plugins.RequiresFacet;
 import org.jboss.forge.shell.util.Packages;
 
 import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.lang.annotation.Annotation;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -42,6 +54,14 @@ import java.util.List;
 @RequiresFacet(MavenCoreFacet.class)
 public class MavenJavaSourceFacet extends BaseFacet implements JavaSourceFacet, Facet
 {
+   private static final String TYPE_INDEX_FILE = ".forge/java-types.index";
+
+   @Inject
+   private JavaTypeIndexes indexes;
+
+   @Inject
+   private ResourceFactory factory;
+
    @Override
    public List<DirectoryResource> getSourceFolders()
    {
@@ -252,13 +272,17 @@ public class MavenJavaSourceFacet extends BaseFacet implements JavaSourceFacet,
    @Override
    public JavaResource saveJavaSource(final JavaSource<?> source) throws FileNotFoundException
    {
-      return getJavaResource(source.getQualifiedName()).setContents(source);
+      JavaResource resource = getJavaResource(source.getQualifiedName()).setContents(source);
+      getTypeIndex().invalidate(resource.getUnderlyingResourceObject());
+      return resource;
    }
 
    @Override
    public JavaResource saveEnumTypeSource(final JavaEnum source) throws FileNotFoundException
    {
-      return getEnumTypeResource(source.getQualifiedName()).setContents(source);
+      JavaResource resource = getEnumTypeResource(source.getQualifiedName()).setContents(source);
+      getTypeIndex().invalidate(resource.getUnderlyingResourceObject());
+      return resource;
    }
 
    @Override
@@ -279,6 +303,58 @@ public class MavenJavaSourceFacet extends BaseFacet implements JavaSourceFacet,
        visitSources(getTestSourceFolder(), visitor);
    }
 
+   @Override
+   public Map<JavaResource, JavaSource<?>> parseJavaSources(final Collection<JavaResource> resources)
+   {
+      Map<File, JavaResource> files = new LinkedHashMap<File, JavaResource>();
+      for (JavaResource resource : resources)
+      {
+         files.put(resource.getUnderlyingResourceObject(), resource);
+      }
+
+      return new ParsedResources(files, JavaParser.parseAll(files.keySet()));
+   }
+
+   @Override
+   public JavaResource findType(final String qualifiedName)
+   {
+      File file = getTypeIndex().findType(qualifiedName);
+      return file == null ? null : factory.getResourceFrom(file).reify(JavaResource.class);
+   }
+
+   @Override
+   public List<JavaResource> findTypesAnnotatedWith(final Class<? extends Annotation> type)
+   {
+      return findTypesAnnotatedWith(type.getName());
+   }
+
+   @Override
+   public List<JavaResource> findTypesAnnotatedWith(final String annotationType)
+   {
+      List<JavaResource> result = new ArrayList<JavaResource>();
+      for (File file : getTypeIndex().findTypesAnnotatedWith(annotationType))
+      {
+         JavaResource resource = factory.getResourceFrom(file).reify(JavaResource.class);
+         if (resource != null)
+         {
+            result.add(resource);
+         }
+      }
+      return result;
+   }
+
+   @Override
+   public List<String> listPackages()
+   {
+      return getTypeIndex().listPackages();
+   }
+
+   private JavaTypeIndex getTypeIndex()
+   {
+      File root = project.getProjectRoot().getUnderlyingResourceObject();
+      return indexes.getIndex(getSourceFolder().getUnderlyingResourceObject(), new File(root, TYPE_INDEX_FILE));
+   }
+
    private  void visitSources(final Resource<?> searchFolder, final JavaResourceVisitor visitor )
    {
        if (searchFolder instanceof DirectoryResource) {
@@ -298,4 +374,85 @@ public class MavenJavaSourceFacet extends BaseFacet implements JavaSourceFacet,
            });
        }
    }
+
+   /**
+    * The sources parsed by {@link JavaParser#parseAll(Collection)}, keyed by their {@link JavaResource}. Nothing is
+    * copied, so sources are still parsed only as they are iterated.
+    */
+   private static class ParsedResources extends AbstractMap<JavaResource, JavaSource<?>>
+   {
+      private final Map<File, JavaResource> resources;
+      private final Map<File, JavaSource<?>> sources;
+
+      public ParsedResources(final Map<File, JavaResource> resources, final Map<File, JavaSource<?>> sources)
+      {
+         this.resources = resources;
+         this.sources = sources;
+      }
+
+      @Override
+      public JavaSource<?> get(final Object key)
+      {
+         return key instanceof JavaResource ? sources.get(((JavaResource) key).getUnderlyingResourceObject()) : null;
+      }
+
+      @Override
+      public Set<Entry<JavaResource, JavaSource<?>>> entrySet()
+      {
+         return new AbstractSet<Entry<JavaResource, JavaSource<?>>>()
+         {
+            @Override
+            public Iterator<Entry<JavaResource, JavaSource<?>>> iterator()
+            {
+               final Iterator<Entry<File, JavaSource<?>>> iterator = sources.entrySet().iterator();
+               return new Iterator<Entry<JavaResource, JavaSource<?>>>()
+               {
+                  @Override
+                  public boolean hasNext()
+                  {
+                     return iterator.hasNext();
+                  }
+
+                  @Override
+                  public Entry<JavaResource, JavaSource<?>> next()
+                  {
+                     final Entry<File, JavaSource<?>> entry = iterator.next();
+                     return new Entry<JavaResource, JavaSource<?>>()
+                     {
+                        @Override
+                        public JavaResource getKey()
+                        {
+                           return resources.get(entry.getKey());
+                        }
+
+                        @Override
+                        public JavaSource<?> getValue()
+                        {
+                           return entry.getValue();
+                        }
+
+                        @Override
+                        public JavaSource<?> setValue(final JavaSource<?> value)
+                        {
+                           throw new UnsupportedOperationException();
+                        }
+                     };
+                  }
+
+                  @Override
+                  public void remove()
+                  {
+                     throw new UnsupportedOperationException();
+                  }
+               };
+            }
+
+            @Override
+            public int size()
+            {
+               return sources.size();
+            }
+         };
+      }
+   }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.maven.facets;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.jboss.forge.project.ProjectModelException;
+
+/**
+ * Holds the parsed {@link Model} of each POM file read through {@link MavenCoreFacetImpl}. Entries are validated
+ * against the size and last-modified time of the underlying file, so external edits are always picked up. Callers only
+ * ever receive copies of the cached {@link Model}, so mutating a returned instance can never corrupt the cache.
+ */
+@ApplicationScoped
+public class MavenModelCache
+{
+   private final ConcurrentMap<File, CachedModel> cache = new ConcurrentHashMap<File, CachedModel>();
+
+   private final AtomicLong hits = new AtomicLong();
+   private final AtomicLong misses = new AtomicLong();
+   private final AtomicLong parseTime = new AtomicLong();
+
+   /**
+    * Return a private copy of the {@link Model} contained in the given POM file, parsing it only if the file has changed
+    * since it was last read or written.
+    */
+   public Model getModel(final File pomFile)
+   {
+      File key = pomFile.getAbsoluteFile();
+      CachedModel cached = cache.get(key);
+      if ((cached != null) && cached.isCurrent(key))
+      {
+         hits.incrementAndGet();
+         return copy(cached.model, key);
+      }
+
+      misses.incrementAndGet();
+      long length = key.length();
+      long lastModified = key.lastModified();
+      Model model = parse(key);
+      cache.put(key, new CachedModel(copy(model, key), length, lastModified));
+      return model;
+   }
+
+   /**
+    * Record the given {@link Model} as the current content of the given POM file. Must be called after the file has
+    * been written.
+    */
+   public void update(final File pomFile, final Model model)
+   {
+      File key = pomFile.getAbsoluteFile();
+      cache.put(key, new CachedModel(copy(model, key), key.length(), key.lastModified()));
+   }
+
+   /**
+    * Discard any cached {@link Model} for the given POM file.
+    */
+   public void invalidate(final File pomFile)
+   {
+      cache.remove(pomFile.getAbsoluteFile());
+   }
+
+   /**
+    * Discard all cached {@link Model} instances and reset statistics.
+    */
+   public void clear()
+   {
+      cache.clear();
+      hits.set(0);
+      misses.set(0);
+      parseTime.set(0);
+   }
+
+   /**
+    * Return the number of requests served from the cache.
+    */
+   public long getHits()
+   {
+      return hits.get();
+   }
+
+   /**
+    * Return the number of requests that required the POM file to be parsed.
+    */
+   public long getMisses()
+   {
+      return misses.get();
+   }
+
+   /**
+    * Return the total time spent parsing POM files, in milliseconds.
+    */
+   public long getParseTime()
+   {
+      return parseTime.get() / 1000000;
+   }
+
+   /**
+    * Return the number of POM files currently cached.
+    */
+   public int size()
+   {
+      return cache.size();
+   }
+
+   private Model parse(final File pomFile)
+   {
+      long start = System.nanoTime();
+      try
+      {
+         Model result = new Model();
+
+         // FIXME this should/can-not use the Maven Native file writer if we are going to abstract file APIs
+         MavenXpp3Reader reader = new MavenXpp3Reader();
+         FileInputStream stream = new FileInputStream(pomFile);
+         try
+         {
+            if (stream.available() > 0)
+            {
+               result = reader.read(stream);
+            }
+         }
+         finally
+         {
+            stream.close();
+         }
+
+         result.setPomFile(pomFile);
+         return result;
+      }
+      catch (IOException e)
+      {
+         throw new ProjectModelException("Could not open POM file: " + pomFile, e);
+      }
+      catch (XmlPullParserException e)
+      {
+         throw new ProjectModelException("Could not parse POM file: " + pomFile, e);
+      }
+      finally
+      {
+         parseTime.addAndGet(System.nanoTime() - start);
+      }
+   }
+
+   private Model copy(final Model model, final File pomFile)
+   {
+      Model result = model.clone();
+      result.setPomFile(pomFile);
+      return result;
+   }
+
+   private static class CachedModel
+   {
+      private final Model model;
+      private final long length;
+      private final long lastModified;
+
+      public CachedModel(final Model model, final long length, final long lastModified)
+      {
+         this.model = model;
+         this.length = length;
+         this.lastModified = lastModified;
+      }
+
+      public boolean isCurrent(final File file)
+      {
+         return (lastModified != 0) && (file.lastModified() == lastModified) && (file.length() == length);
+      }
+   }
+}
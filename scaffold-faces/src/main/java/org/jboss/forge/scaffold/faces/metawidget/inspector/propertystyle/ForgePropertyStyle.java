@@ -25,6 +25,7 @@ import org.jboss.forge.parser.java.Parameter;
 import org.jboss.forge.parser.java.Type;
 import org.jboss.forge.project.Project;
 import org.jboss.forge.project.facets.JavaSourceFacet;
+import org.jboss.forge.resources.java.JavaResource;
 import org.metawidget.inspector.iface.InspectorException;
 import org.metawidget.inspector.impl.propertystyle.BaseProperty;
 import org.metawidget.inspector.impl.propertystyle.BasePropertyStyle;
@@ -384,7 +385,16 @@ public class ForgePropertyStyle
       try
       {
          JavaSourceFacet javaSourceFact = project.getFacet(JavaSourceFacet.class);
-         return javaSourceFact.getJavaResource(type).getJavaSource();
+         JavaResource resource = javaSourceFact.findType(type);
+
+         if (resource == null)
+         {
+            // Not a Forge-based type
+
+            return null;
+         }
+
+         return resource.getJavaSourceStructure();
       }
       catch (FileNotFoundException e)
       {
@@ -12,6 +12,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import javax.enterprise.event.Event;
@@ -19,11 +21,13 @@ import javax.inject.Inject;
 import javax.persistence.Entity;
 
 import org.jboss.forge.env.Configuration;
+import org.jboss.forge.parser.ParserException;
 import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.parser.java.util.Strings;
 import org.jboss.forge.project.Facet;
 import org.jboss.forge.project.Project;
+import org.jboss.forge.project.facets.JavaSourceFacet;
 import org.jboss.forge.project.facets.PackagingFacet;
 import org.jboss.forge.project.facets.WebResourceFacet;
 import org.jboss.forge.project.facets.events.InstallFacets;
@@ -343,28 +347,46 @@ public class ScaffoldPlugin implements Plugin
       {
          targets = new Resource<?>[] {};
       }
+      List<JavaResource> javaResources = new ArrayList<JavaResource>();
       for (Resource<?> r : targets)
       {
          if (r instanceof JavaResource)
          {
-            JavaSource<?> entity = ((JavaResource) r).getJavaSource();
+            javaResources.add((JavaResource) r);
+         }
+      }
+
+      Map<JavaResource, JavaSource<?>> sources = project.getFacet(JavaSourceFacet.class).parseJavaSources(
+               javaResources);
+      for (Entry<JavaResource, JavaSource<?>> entry : sources.entrySet())
+      {
+         JavaSource<?> entity;
+         try
+         {
+            entity = entry.getValue();
+         }
+         catch (ParserException e)
+         {
+            ShellMessages.warn(writer, "Skipped unparseable Java resource [" + entry.getKey().getFullyQualifiedName()
+                     + "]: " + e.getCause());
+            continue;
+         }
 
-            if (entity instanceof JavaClass)
+         if (entity instanceof JavaClass)
+         {
+            if (entity.hasAnnotation(Entity.class))
             {
-               if (entity.hasAnnotation(Entity.class))
-               {
-                  results.add((JavaResource) r);
-               }
-               else
-               {
-                  displaySkippingResourceMsg(entity);
-               }
+               results.add(entry.getKey());
             }
             else
             {
                displaySkippingResourceMsg(entity);
             }
          }
+         else
+         {
+            displaySkippingResourceMsg(entity);
+         }
       }
       return results;
    }
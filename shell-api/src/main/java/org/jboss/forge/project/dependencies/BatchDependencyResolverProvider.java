@@ -0,0 +1,29 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.project.dependencies;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.forge.resources.DependencyResource;
+
+/**
+ * A {@link DependencyResolverProvider} able to resolve the artifacts of several queries at once. Implementing this
+ * interface is optional; {@link DependencyResolver} resolves the queries one by one with other providers.
+ */
+public interface BatchDependencyResolverProvider extends DependencyResolverProvider
+{
+   /**
+    * Resolve the {@link DependencyResource} artifacts matching each of the given queries, searching in only the given
+    * list of {@link DependencyRepository} instances. Independent queries may be resolved concurrently.
+    * 
+    * @return a map containing an entry for each query, in the order given, to the artifacts resolved for that query
+    */
+   Map<Dependency, List<DependencyResource>> resolveArtifacts(final List<Dependency> queries,
+            final List<DependencyRepository> repositories);
+}
@@ -8,7 +8,10 @@
 package org.jboss.forge.project.dependencies;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
@@ -71,6 +74,60 @@ public class DependencyResolver
       return new ArrayList<DependencyResource>();
    }
 
+   /**
+    * Resolve the {@link DependencyResource} artifacts matching each of the given queries, searching in only the given
+    * list of {@link DependencyRepository} instances. Independent queries may be resolved concurrently.
+    * 
+    * @return a map containing an entry for each query, in the order given, to the artifacts resolved for that query
+    */
+   public Map<Dependency, List<DependencyResource>> resolveArtifacts(final List<Dependency> queries,
+            final List<DependencyRepository> repositories)
+   {
+      Map<Dependency, List<DependencyResource>> result = new LinkedHashMap<Dependency, List<DependencyResource>>();
+      for (Dependency query : queries)
+      {
+         result.put(query, new ArrayList<DependencyResource>());
+      }
+
+      List<Dependency> remaining = new ArrayList<Dependency>(result.keySet());
+      for (DependencyResolverProvider p : providers)
+      {
+         if (remaining.isEmpty())
+         {
+            break;
+         }
+
+         Map<Dependency, List<DependencyResource>> resolved;
+         if (p instanceof BatchDependencyResolverProvider)
+         {
+            resolved = ((BatchDependencyResolverProvider) p).resolveArtifacts(remaining, repositories);
+         }
+         else
+         {
+            resolved = new LinkedHashMap<Dependency, List<DependencyResource>>();
+            for (Dependency query : remaining)
+            {
+               resolved.put(query, p.resolveArtifacts(query, repositories));
+            }
+         }
+
+         if (resolved != null)
+         {
+            for (Iterator<Dependency> iterator = remaining.iterator(); iterator.hasNext();)
+            {
+               Dependency query = iterator.next();
+               List<DependencyResource> artifacts = resolved.get(query);
+               if ((artifacts != null) && !artifacts.isEmpty())
+               {
+                  result.put(query, artifacts);
+                  iterator.remove();
+               }
+            }
+         }
+      }
+      return result;
+   }
+
    public List<DependencyResource> resolveDependencies(final Dependency query)
    {
       for (DependencyResolverProvider p : providers)
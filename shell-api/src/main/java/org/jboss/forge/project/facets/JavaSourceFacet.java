@@ -7,6 +7,7 @@
 
 package org.jboss.forge.project.facets;
 
+import org.jboss.forge.parser.ParserException;
 import org.jboss.forge.parser.java.JavaClass;
 import org.jboss.forge.parser.java.JavaEnum;
 import org.jboss.forge.parser.java.JavaSource;
@@ -18,7 +19,10 @@ import org.jboss.forge.resources.java.JavaResourceVisitor;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -158,4 +162,41 @@ public interface JavaSourceFacet extends Facet
     */
    public void visitJavaTestSources(JavaResourceVisitor visitor);
 
+   /**
+    * Parse the given {@link JavaResource}s concurrently, returning their {@link JavaSource} in the same order. Sources
+    * are parsed as the result is iterated, so a caller may stop at the first one it needs. Looking up a resource that
+    * cannot be parsed throws a {@link ParserException}, and does not affect the others.
+    * 
+    * @param resources The {@link JavaResource}s to parse. Cannot be null.
+    */
+   public Map<JavaResource, JavaSource<?>> parseJavaSources(Collection<JavaResource> resources);
+
+   /**
+    * Return the {@link JavaResource} declaring the given type in {@link #getSourceFolder()}, or null if there is no such
+    * type. Types are looked up in an index of the project's sources, so no source is parsed unless it has changed.
+    * 
+    * @param qualifiedName The fully qualified name of the type.
+    */
+   public JavaResource findType(String qualifiedName);
+
+   /**
+    * Return the {@link JavaResource}s in {@link #getSourceFolder()} declaring a type annotated with the given annotation,
+    * ordered by type name. Types are looked up in an index of the project's sources.
+    */
+   public List<JavaResource> findTypesAnnotatedWith(Class<? extends Annotation> type);
+
+   /**
+    * Return the {@link JavaResource}s in {@link #getSourceFolder()} declaring a type annotated with the given annotation,
+    * ordered by type name. Types are looked up in an index of the project's sources.
+    * 
+    * @param annotationType The fully qualified name of the annotation type.
+    */
+   public List<JavaResource> findTypesAnnotatedWith(String annotationType);
+
+   /**
+    * Return the name of every package in {@link #getSourceFolder()} that contains at least one type, in alphabetical
+    * order.
+    */
+   public List<String> listPackages();
+
 }
@@ -8,8 +8,15 @@
 package org.jboss.forge.project.services;
 
 import java.io.File;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import javax.enterprise.context.spi.CreationalContext;
@@ -26,6 +33,9 @@ import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.ResourceHandles;
 import org.jboss.forge.resources.UnknownFileResource;
+import org.jboss.forge.resources.events.ResourceModified;
+import org.jboss.forge.resources.java.JavaResource;
+import org.jboss.forge.resources.java.JavaSourceCache;
 import org.jboss.forge.shell.events.PostStartup;
 
 /**
@@ -37,21 +47,26 @@ public class ResourceFactory implements Extension
    @Inject
    private Instance<BeanManager> managerInstance;
 
+   /**
+    * Every registered generator, in registration order. Guarded by this factory.
+    */
    private final List<ResourceGenerator> resourceGenerators = new ArrayList<ResourceGenerator>();
 
    /**
-    * Most directories will tend to contain the same type of file (such as .java, .jar, .xml, etc). So we will remember
-    * the last resource type we tested against and always re-try on subsequent queries before doing a comprehensive
-    * match.
+    * An immutable index of {@link #resourceGenerators}, replaced whenever a generator is registered, so that resources
+    * can be created without locking.
     */
-   private volatile ResourceGenerator lastTypeLoaded = new ResourceGenerator()
-   {
-      @Override
-      public boolean matches(final String name)
-      {
-         return false;
-      }
-   };
+   private volatile ResourceDispatcher dispatcher = new ResourceDispatcher(new ArrayList<ResourceGenerator>());
+
+   /**
+    * The {@link DirectoryResource} instances in use, one per directory, so that their cached listings are reused by
+    * every lookup. Directories no longer referenced elsewhere are forgotten.
+    */
+   private final ConcurrentMap<File, DirectoryReference> directories =
+            new ConcurrentHashMap<File, DirectoryReference>();
+   private final ReferenceQueue<DirectoryResource> collectedDirectories = new ReferenceQueue<DirectoryResource>();
+
+   private final JavaSourceCache javaSourceCache = new JavaSourceCache();
 
    public void setManager(@Observes final PostStartup event, final Instance<BeanManager> manager)
    {
@@ -67,32 +82,41 @@ public class ResourceFactory implements Extension
       {
          for (String pspec : clazz.getAnnotation(ResourceHandles.class).value())
          {
-            Pattern p = Pattern.compile(pathspecToRegEx(pspec));
             CreationalContext<?> creationalCtx = manager.createCreationalContext(bean);
             Resource<?> rInst = (Resource<?>) manager.getReference(bean, bean.getBeanClass(), creationalCtx);
 
-            resourceGenerators.add(new ResourceGenerator(p, rInst));
+            register(pspec, rInst);
          }
       }
    }
 
+   /**
+    * Create resources from files matching the given path specification (as in {@link ResourceHandles}) using the given
+    * resource. When several path specifications match a file, the one registered first is used.
+    */
+   public void register(final String pathspec, final Resource<?> resource)
+   {
+      synchronized (this)
+      {
+         resourceGenerators.add(new ResourceGenerator(resourceGenerators.size(), pathspec, resource));
+         dispatcher = new ResourceDispatcher(new ArrayList<ResourceGenerator>(resourceGenerators));
+      }
+   }
+
    @SuppressWarnings("unchecked")
    public <E, T extends Resource<E>> T createFromType(final Class<T> type, final E underlyingResource)
    {
-      synchronized (this)
+      for (ResourceGenerator gen : dispatcher.getGenerators())
       {
-         for (ResourceGenerator gen : resourceGenerators)
+         Resource<?> resource = gen.getResource();
+         if (type.isAssignableFrom(resource.getClass()))
          {
-            Resource<?> resource = gen.getResource();
-            if (type.isAssignableFrom(resource.getClass()))
-            {
-               /*
-                * This little <T> hack is required due to bug in javac:
-                * http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6302954
-                */
-               T result = (lastTypeLoaded = gen).<T> getResource();
-               return (T) result.createFrom(underlyingResource);
-            }
+            /*
+             * This little <T> hack is required due to bug in javac:
+             * http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6302954
+             */
+            T result = gen.<T> getResource();
+            return (T) result.createFrom(underlyingResource);
          }
       }
       return null;
@@ -106,28 +130,69 @@ public class ResourceFactory implements Extension
       file = file.getAbsoluteFile();
       if (file.isDirectory())
       {
-         return new DirectoryResource(this, file);
+         return getDirectoryResource(file);
       }
 
-      final String name = file.getName();
-
-      synchronized (this)
+      ResourceGenerator gen = dispatcher.find(file.getName());
+      if (gen != null)
       {
-         if (lastTypeLoaded.matches(name))
-         {
-            return lastTypeLoaded.getResource(File.class).createFrom(file);
-         }
+         return gen.getResource(File.class).createFrom(file);
+      }
+
+      return new UnknownFileResource(this, file);
+   }
 
-         for (ResourceGenerator gen : resourceGenerators)
+   /**
+    * Return the {@link DirectoryResource} for the given directory, whether existing or non-existing. The same instance
+    * is returned for as long as it is referenced.
+    */
+   public DirectoryResource getDirectoryResource(File dir)
+   {
+      dir = dir.getAbsoluteFile();
+      expungeDirectories();
+
+      DirectoryReference reference = directories.get(dir);
+      DirectoryResource result = reference == null ? null : reference.get();
+      if (result == null)
+      {
+         synchronized (directories)
          {
-            if (gen.matches(name))
+            reference = directories.get(dir);
+            result = reference == null ? null : reference.get();
+            if (result == null)
             {
-               return (lastTypeLoaded = gen).getResource(File.class).createFrom(file);
+               result = new DirectoryResource(this, dir);
+               directories.put(dir, new DirectoryReference(dir, result, collectedDirectories));
             }
          }
       }
+      return result;
+   }
 
-      return new UnknownFileResource(this, file);
+   private void expungeDirectories()
+   {
+      DirectoryReference reference;
+      while ((reference = (DirectoryReference) collectedDirectories.poll()) != null)
+      {
+         directories.remove(reference.dir, reference);
+      }
+   }
+
+   /**
+    * Return the cache of parsed Java sources shared by all {@link JavaResource} instances created by this factory.
+    */
+   public JavaSourceCache getJavaSourceCache()
+   {
+      return javaSourceCache;
+   }
+
+   public void invalidateJavaSource(@Observes final ResourceModified event)
+   {
+      Object underlying = event.getResource().getUnderlyingResourceObject();
+      if (underlying instanceof File)
+      {
+         javaSourceCache.invalidate((File) underlying);
+      }
    }
 
    public BeanManager getManagerInstance()
@@ -139,20 +204,31 @@ public class ResourceFactory implements Extension
       return null;
    }
 
-   static class ResourceGenerator
+   private static class DirectoryReference extends WeakReference<DirectoryResource>
    {
-      private Pattern pattern;
-      private Resource<?> resource;
+      private final File dir;
 
-      ResourceGenerator()
+      public DirectoryReference(final File dir, final DirectoryResource resource,
+               final ReferenceQueue<DirectoryResource> queue)
       {
+         super(resource, queue);
+         this.dir = dir;
       }
+   }
 
-      ResourceGenerator(final Pattern pattern, final Resource<?> resource)
+   static class ResourceGenerator
+   {
+      private final int index;
+      private final String pathspec;
+      private final Pattern pattern;
+      private final Resource<?> resource;
+
+      ResourceGenerator(final int index, final String pathspec, final Resource<?> resource)
       {
-         this.pattern = pattern;
+         this.index = index;
+         this.pathspec = pathspec;
+         this.pattern = Pattern.compile(pathspecToRegEx(pathspec));
          this.resource = resource;
-
       }
 
       public boolean matches(final String name)
@@ -173,8 +249,114 @@ public class ResourceFactory implements Extension
       }
    }
 
+   /**
+    * Finds the generator for a file name. Path specifications naming a single file (<code>pom.xml</code>) or an
+    * extension (<code>*.java</code>) are looked up by hash; only other wildcards are matched one by one.
+    */
+   static class ResourceDispatcher
+   {
+      private final List<ResourceGenerator> generators;
+      private final Map<String, ResourceGenerator> names = new HashMap<String, ResourceGenerator>();
+      private final Map<String, ResourceGenerator> extensions = new HashMap<String, ResourceGenerator>();
+      private final List<ResourceGenerator> wildcards = new ArrayList<ResourceGenerator>();
+
+      ResourceDispatcher(final List<ResourceGenerator> generators)
+      {
+         this.generators = Collections.unmodifiableList(generators);
+         for (ResourceGenerator gen : generators)
+         {
+            String pathspec = gen.pathspec;
+            if (!isWildcard(pathspec))
+            {
+               putFirst(names, pathspec, gen);
+            }
+            else if (pathspec.startsWith("*.") && !isWildcard(pathspec.substring(1))
+                     && (pathspec.indexOf('.', 2) == -1))
+            {
+               putFirst(extensions, pathspec.substring(1), gen);
+            }
+            else
+            {
+               wildcards.add(gen);
+            }
+         }
+      }
+
+      public List<ResourceGenerator> getGenerators()
+      {
+         return generators;
+      }
+
+      /**
+       * Return the first registered generator matching the given file name, or null if none match.
+       */
+      public ResourceGenerator find(final String name)
+      {
+         ResourceGenerator result = names.get(name);
+
+         int dot = name.lastIndexOf('.');
+         if (dot != -1)
+         {
+            ResourceGenerator gen = extensions.get(name.substring(dot));
+            if ((gen != null) && ((result == null) || (gen.index < result.index)))
+            {
+               result = gen;
+            }
+         }
+
+         for (ResourceGenerator gen : wildcards)
+         {
+            if ((result != null) && (gen.index > result.index))
+            {
+               break;
+            }
+            if (gen.matches(name))
+            {
+               return gen;
+            }
+         }
+         return result;
+      }
+
+      private static void putFirst(final Map<String, ResourceGenerator> map, final String key,
+               final ResourceGenerator gen)
+      {
+         if (!map.containsKey(key))
+         {
+            map.put(key, gen);
+         }
+      }
+
+      private static boolean isWildcard(final String pathspec)
+      {
+         return (pathspec.indexOf('*') != -1) || (pathspec.indexOf('?') != -1);
+      }
+   }
+
    private static String pathspecToRegEx(final String pathSpec)
    {
-      return "^" + pathSpec.replaceAll("\\*", "\\.\\*").replaceAll("\\?", "\\.") + "$";
+      StringBuilder result = new StringBuilder("^");
+      StringBuilder literal = new StringBuilder();
+      for (char c : pathSpec.toCharArray())
+      {
+         if ((c == '*') || (c == '?'))
+         {
+            if (literal.length() > 0)
+            {
+               result.append(Pattern.quote(literal.toString()));
+               literal.setLength(0);
+            }
+            result.append(c == '*' ? ".*" : ".");
+         }
+         else
+         {
+            literal.append(c);
+         }
+      }
+      if (literal.length() > 0)
+      {
+         result.append(Pattern.quote(literal.toString()));
+      }
+      return result.append("$").toString();
    }
 }
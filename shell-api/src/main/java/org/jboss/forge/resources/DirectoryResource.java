@@ -9,7 +9,8 @@ package org.jboss.forge.resources;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.LinkedList;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.jboss.forge.project.ProjectModelException;
@@ -24,7 +25,17 @@ import org.jboss.forge.shell.util.OSUtils;
  */
 public class DirectoryResource extends FileResource<DirectoryResource>
 {
-   private volatile List<Resource<?>> listCache;
+   /**
+    * Directory timestamps may be as coarse as two seconds, so files added within that time of a listing may not change
+    * the timestamp; listings of such recently modified directories are not reused.
+    */
+   private static final long TIMESTAMP_RESOLUTION = 2000;
+
+   /**
+    * Held softly: a listing holds its children, and through their own listings every directory listed below this one,
+    * which would otherwise never leave the {@link ResourceFactory}'s registry of directories.
+    */
+   private volatile SoftReference<Listing> listCache;
 
    public DirectoryResource(final ResourceFactory factory, final File file)
    {
@@ -35,26 +46,37 @@ public class DirectoryResource extends FileResource<DirectoryResource>
    @Override
    protected List<Resource<?>> doListResources()
    {
-      if (isStale())
-      {
-         listCache = null;
-      }
+      SoftReference<Listing> cached = listCache;
+      Listing listing = cached == null ? null : cached.get();
+      long modified = file.lastModified();
 
-      if (listCache == null)
+      if ((listing == null) || !listing.isCurrent(modified))
       {
-         listCache = new LinkedList<Resource<?>>();
+         long listed = System.currentTimeMillis();
+         List<Resource<?>> resources = new ArrayList<Resource<?>>();
 
          File[] files = file.listFiles();
          if (files != null)
          {
             for (File f : files)
             {
-               listCache.add(resourceFactory.getResourceFrom(f));
+               resources.add(resourceFactory.getResourceFrom(f));
             }
          }
+
+         listing = new Listing(resources, modified, listed);
+         listCache = new SoftReference<Listing>(listing);
       }
 
-      return listCache;
+      return listing.resources;
+   }
+
+   /**
+    * Return a {@link DirectoryWalker} over the files and directories below this directory.
+    */
+   public DirectoryWalker walker()
+   {
+      return new DirectoryWalker(file);
    }
 
    /**
@@ -84,7 +106,7 @@ public class DirectoryResource extends FileResource<DirectoryResource>
 
       if (!(result instanceof DirectoryResource))
       {
-         result = new DirectoryResource(resourceFactory, new File(file.getAbsoluteFile(), name));
+         result = getDirectory(new File(file.getAbsoluteFile(), name));
       }
       return (DirectoryResource) result;
    }
@@ -167,11 +189,16 @@ public class DirectoryResource extends FileResource<DirectoryResource>
             return null;
          }
 
-         parent = createFrom(parentFile);
+         parent = parentFile.exists() ? getDirectory(parentFile) : createFrom(parentFile);
       }
       return parent;
    }
 
+   private DirectoryResource getDirectory(final File dir)
+   {
+      return resourceFactory == null ? new DirectoryResource(null, dir) : resourceFactory.getDirectoryResource(dir);
+   }
+
    @Override
    public String getName()
    {
@@ -191,4 +218,26 @@ public class DirectoryResource extends FileResource<DirectoryResource>
    {
       return (obj instanceof DirectoryResource) && ((DirectoryResource) obj).file.equals(file);
    }
+
+   /**
+    * The resources of this directory, listed when its last modification time was {@link #modified}.
+    */
+   private static class Listing
+   {
+      private final List<Resource<?>> resources;
+      private final long modified;
+      private final long listed;
+
+      public Listing(final List<Resource<?>> resources, final long modified, final long listed)
+      {
+         this.resources = resources;
+         this.modified = modified;
+         this.listed = listed;
+      }
+
+      public boolean isCurrent(final long lastModified)
+      {
+         return (lastModified == modified) && (listed - modified >= TIMESTAMP_RESOLUTION);
+      }
+   }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.resources;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import org.jboss.forge.shell.util.PathspecParser;
+
+/**
+ * Walks the files and directories below a directory, without creating a {@link Resource} for each of them, and without
+ * descending into virtual resources such as the members of Java sources. Each entry is checked once for being a
+ * directory. The entries of a directory are visited in name order, each directory before its own entries.
+ * <p>
+ * Subtrees may be walked concurrently with {@link #setParallel(boolean)}; entries are still visited in the same order,
+ * on the calling thread.
+ */
+public class DirectoryWalker
+{
+   /**
+    * Receives the entries found by a {@link DirectoryWalker}.
+    */
+   public interface Visitor
+   {
+      /**
+       * Visit the given file or directory, whose path relative to the walked directory is given, separated by '/'.
+       */
+      public void visit(File file, String path, boolean directory);
+   }
+
+   private static final Comparator<File> NAME_ORDER = new Comparator<File>()
+   {
+      @Override
+      public int compare(final File left, final File right)
+      {
+         return left.getName().compareTo(right.getName());
+      }
+   };
+
+   private final File root;
+   private int maxDepth = Integer.MAX_VALUE;
+   private Pattern namePattern;
+   private boolean parallel;
+
+   public DirectoryWalker(final File root)
+   {
+      this.root = root;
+   }
+
+   /**
+    * Visit only entries at most the given number of levels below the walked directory; its own entries are at depth 1.
+    */
+   public DirectoryWalker setMaxDepth(final int maxDepth)
+   {
+      this.maxDepth = maxDepth;
+      return this;
+   }
+
+   /**
+    * Visit only entries whose name matches the given pattern, such as <code>*.java</code>. Directories that do not
+    * match are still walked.
+    */
+   public DirectoryWalker setNameGlob(final String glob)
+   {
+      return setNamePattern(glob == null ? null : Pattern.compile(PathspecParser.pathspecToRegEx(glob)));
+   }
+
+   /**
+    * Visit only entries whose name matches the given regular expression. Directories that do not match are still
+    * walked.
+    */
+   public DirectoryWalker setNamePattern(final Pattern pattern)
+   {
+      this.namePattern = pattern;
+      return this;
+   }
+
+   /**
+    * Walk the subtrees of the walked directory concurrently.
+    */
+   public DirectoryWalker setParallel(final boolean parallel)
+   {
+      this.parallel = parallel;
+      return this;
+   }
+
+   /**
+    * Return the fully qualified name of the given directory followed by a single separator, to which the paths given
+    * to a {@link Visitor} may be appended. A directory whose name already ends with a separator, such as the file
+    * system root, is not given a second one.
+    */
+   public static String getPathPrefix(final DirectoryResource dir)
+   {
+      String name = dir.getFullyQualifiedName();
+      if (name.endsWith("/") || name.endsWith(File.separator))
+      {
+         return name;
+      }
+      return name + "/";
+   }
+
+   public void walk(final Visitor visitor)
+   {
+      if (!parallel || (maxDepth <= 1))
+      {
+         walk(root, "", 1, visitor);
+         return;
+      }
+
+      ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+      try
+      {
+         List<Future<List<Entry>>> subtrees = new ArrayList<Future<List<Entry>>>();
+         List<Entry> entries = new ArrayList<Entry>();
+         for (final File file : list(root))
+         {
+            final Entry entry = new Entry(file, file.getName(), file.isDirectory());
+            entries.add(entry);
+            subtrees.add(!entry.directory ? null : executor.submit(new Callable<List<Entry>>()
+            {
+               @Override
+               public List<Entry> call() throws Exception
+               {
+                  final List<Entry> result = new ArrayList<Entry>();
+                  walk(file, entry.path + "/", 2, new Visitor()
+                  {
+                     @Override
+                     public void visit(final File child, final String path, final boolean directory)
+                     {
+                        result.add(new Entry(child, path, directory));
+                     }
+                  });
+                  return result;
+               }
+            }));
+         }
+
+         for (int i = 0; i < entries.size(); i++)
+         {
+            Entry entry = entries.get(i);
+            if (accept(entry.file))
+            {
+               visitor.visit(entry.file, entry.path, entry.directory);
+            }
+
+            Future<List<Entry>> subtree = subtrees.get(i);
+            if (subtree != null)
+            {
+               for (Entry child : subtree.get())
+               {
+                  visitor.visit(child.file, child.path, child.directory);
+               }
+            }
+         }
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+      }
+      catch (ExecutionException e)
+      {
+         throw new ResourceException("Failed to walk directory: " + root.getAbsolutePath(), e.getCause());
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   private void walk(final File dir, final String prefix, final int depth, final Visitor visitor)
+   {
+      for (File file : list(dir))
+      {
+         boolean directory = file.isDirectory();
+         String path = prefix + file.getName();
+         if (accept(file))
+         {
+            visitor.visit(file, path, directory);
+         }
+         if (directory && (depth < maxDepth))
+         {
+            walk(file, path + "/", depth + 1, visitor);
+         }
+      }
+   }
+
+   private boolean accept(final File file)
+   {
+      return (namePattern == null) || namePattern.matcher(file.getName()).matches();
+   }
+
+   private static List<File> list(final File dir)
+   {
+      File[] files = dir.listFiles();
+      if (files == null)
+      {
+         return new ArrayList<File>();
+      }
+      Arrays.sort(files, NAME_ORDER);
+      return Arrays.asList(files);
+   }
+
+   private static class Entry
+   {
+      private final File file;
+      private final String path;
+      private final boolean directory;
+
+      public Entry(final File file, final String path, final boolean directory)
+      {
+         this.file = file;
+         this.path = path;
+         this.directory = directory;
+      }
+   }
+}
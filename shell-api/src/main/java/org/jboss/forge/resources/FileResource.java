@@ -15,7 +15,6 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 
 import javax.enterprise.inject.spi.BeanManager;
@@ -27,6 +26,7 @@ import org.jboss.forge.resources.events.ResourceDeleted;
 import org.jboss.forge.resources.events.ResourceModified;
 import org.jboss.forge.resources.events.ResourceRenamed;
 import org.jboss.forge.resources.events.TempResourceCreated;
+import org.jboss.forge.shell.util.Files;
 import org.jboss.forge.shell.util.OSUtils;
 
 /**
@@ -100,7 +100,16 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
    @Override
    public Resource<?> getParent()
    {
-      return file.getParentFile() != null ? new DirectoryResource(resourceFactory, file.getParentFile()) : null;
+      File parentFile = file.getParentFile();
+      if (parentFile == null)
+      {
+         return null;
+      }
+      else if (resourceFactory == null)
+      {
+         return new DirectoryResource(null, parentFile);
+      }
+      return resourceFactory.getDirectoryResource(parentFile);
    }
 
    @Override
@@ -307,15 +316,10 @@ public abstract class FileResource<T extends FileResource<?>> extends AbstractRe
 
          file.delete();
 
-         OutputStream out = new FileOutputStream(file);
+         FileOutputStream out = new FileOutputStream(file);
          try
          {
-            byte buf[] = new byte[1024];
-            int len;
-            while ((len = data.read(buf)) > 0)
-            {
-               out.write(buf, 0, len);
-            }
+            Files.copy(data, out);
          }
          finally
          {
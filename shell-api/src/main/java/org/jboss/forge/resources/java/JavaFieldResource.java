@@ -7,6 +7,7 @@
 
 package org.jboss.forge.resources.java;
 
+import java.io.FileNotFoundException;
 import java.util.Collections;
 import java.util.List;
 
@@ -14,6 +15,7 @@ import org.jboss.forge.parser.java.Field;
 import org.jboss.forge.parser.java.FieldHolder;
 import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceException;
 import org.jboss.forge.resources.ResourceFlag;
 
 /**
@@ -61,18 +63,36 @@ public class JavaFieldResource extends JavaMemberResource<Field<? extends JavaSo
       return field.toString();
    }
 
+   /**
+    * Remove this field from a full parse of its file, as the field listed here comes from the shared structure of the
+    * file, which has no method bodies, and write the result back.
+    */
    @Override
    @SuppressWarnings({ "unchecked", "rawtypes" })
    public boolean delete() throws UnsupportedOperationException
    {
-      JavaSource<?> origin = field.getOrigin();
+      JavaResource parent = (JavaResource) this.getParent();
+      JavaSource<?> origin;
+      try
+      {
+         origin = parent.getJavaSource();
+      }
+      catch (FileNotFoundException e)
+      {
+         throw new ResourceException(e);
+      }
+
       if (origin instanceof FieldHolder)
       {
-         ((FieldHolder) origin).removeField(field);
-         if (!((FieldHolder) origin).hasField(field))
+         Field target = ((FieldHolder) origin).getField(field.getName());
+         if (target != null)
          {
-            ((JavaResource) this.getParent()).setContents(origin.toString());
-            return true;
+            ((FieldHolder) origin).removeField(target);
+            if (!((FieldHolder) origin).hasField(target))
+            {
+               parent.setContents(origin.toString());
+               return true;
+            }
          }
       }
       return false;
@@ -7,6 +7,7 @@
 
 package org.jboss.forge.resources.java;
 
+import java.io.FileNotFoundException;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -15,7 +16,9 @@ import org.jboss.forge.parser.java.JavaSource;
 import org.jboss.forge.parser.java.Method;
 import org.jboss.forge.parser.java.MethodHolder;
 import org.jboss.forge.parser.java.Parameter;
+import org.jboss.forge.parser.java.util.Strings;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceException;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -79,23 +82,66 @@ public class JavaMethodResource extends JavaMemberResource<Method>
       return method.toString();
    }
 
+   /**
+    * Remove this method from a full parse of its file, as the method listed here comes from the shared structure of the
+    * file, which has no method bodies, and write the result back.
+    */
    @Override
    @SuppressWarnings({ "unchecked" })
    public boolean delete() throws UnsupportedOperationException
    {
-      JavaSource<?> origin = method.getOrigin();
+      JavaResource parent = (JavaResource) this.getParent();
+      JavaSource<?> origin;
+      try
+      {
+         origin = parent.getJavaSource();
+      }
+      catch (FileNotFoundException e)
+      {
+         throw new ResourceException(e);
+      }
+
       if (origin instanceof MethodHolder)
       {
-         ((MethodHolder) origin).removeMethod(method);
-         if (!((MethodHolder) origin).hasMethodSignature(method))
+         Method<?> target = findMethod((MethodHolder<?>) origin);
+         if (target != null)
          {
-            ((JavaResource) this.getParent()).setContents(origin.toString());
-            return true;
+            ((MethodHolder) origin).removeMethod(target);
+            if (!((MethodHolder) origin).hasMethodSignature(target))
+            {
+               parent.setContents(origin.toString());
+               return true;
+            }
          }
       }
       return false;
    }
 
+   /**
+    * Return the method of the given holder with the same name and parameter types as this method, or null.
+    */
+   private Method<?> findMethod(final MethodHolder<?> holder)
+   {
+      List<Parameter> parameters = method.getParameters();
+      for (Method<?> candidate : holder.getMethods())
+      {
+         List<Parameter> candidateParameters = candidate.getParameters();
+         if (candidate.getName().equals(method.getName()) && (candidateParameters.size() == parameters.size()))
+         {
+            boolean matches = true;
+            for (int i = 0; matches && (i < parameters.size()); i++)
+            {
+               matches = Strings.areEqual(candidateParameters.get(i).getType(), parameters.get(i).getType());
+            }
+            if (matches)
+            {
+               return candidate;
+            }
+         }
+      }
+      return null;
+   }
+
    @Override
    public boolean delete(final boolean recursive) throws UnsupportedOperationException
    {
@@ -9,6 +9,7 @@ package org.jboss.forge.resources.java;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -93,7 +94,11 @@ public class JavaResource extends FileResource<JavaResource>
       {
          List<Resource<?>> list = new LinkedList<Resource<?>>();
 
-         for (Member<?, ?> member : getJavaSource().getMembers())
+         /*
+          * Members come from the shared structure of this file, and must not be modified
+          */
+         JavaSource<?> source = getJavaSourceStructure();
+         for (Member<?, ?> member : source.getMembers())
          {
             if (member instanceof Field)
             {
@@ -109,9 +114,9 @@ public class JavaResource extends FileResource<JavaResource>
             }
          }
 
-         if (getJavaSource() instanceof JavaEnum)
+         if (source instanceof JavaEnum)
          {
-            for (EnumConstant<JavaEnum> e : ((JavaEnum) getJavaSource()).getEnumConstants())
+            for (EnumConstant<JavaEnum> e : ((JavaEnum) source).getEnumConstants())
             {
                list.add(new EnumConstantResource(this, (EnumConstant<JavaEnum>) e));
             }
@@ -135,6 +140,19 @@ public class JavaResource extends FileResource<JavaResource>
       return this;
    }
 
+   @Override
+   public JavaResource setContents(final InputStream data)
+   {
+      try
+      {
+         return super.setContents(data);
+      }
+      finally
+      {
+         getCache().invalidate(file);
+      }
+   }
+
    /**
     * Attempts to perform cast automatically. This can lead to problems.
     */
@@ -143,6 +161,21 @@ public class JavaResource extends FileResource<JavaResource>
       return JavaParser.parse(file);
    }
 
+   /**
+    * Return the structure of this Java file (types, members, annotations and signatures, but no method bodies), as
+    * returned by {@link JavaParser#parseStructure(File)}. The result is cached until the file changes, and shared with
+    * other callers, so it must not be modified; use {@link #getJavaSource()} to make changes.
+    */
+   public JavaSource<?> getJavaSourceStructure() throws FileNotFoundException
+   {
+      return getCache().getShared(file);
+   }
+
+   private JavaSourceCache getCache()
+   {
+      return resourceFactory.getJavaSourceCache();
+   }
+
    @Override
    public JavaResource createFrom(final File file)
    {
@@ -154,7 +187,7 @@ public class JavaResource extends FileResource<JavaResource>
    {
       try
       {
-         return getJavaSource().getQualifiedName();
+         return getCache().getQualifiedName(file);
       }
       catch (FileNotFoundException e)
       {
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.resources.java;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.java.JavaSource;
+import org.jboss.forge.project.services.ResourceFactory;
+
+/**
+ * Holds the structure of each Java file read through {@link JavaResource} (see
+ * {@link JavaParser#parseStructure(File)}), so that browsing a project (<code>ls</code>, <code>cd</code>, tab
+ * completion) does not parse the same file over and over. Entries are validated against the size and last-modified
+ * time of the underlying file, so external edits are always picked up.
+ * <p>
+ * Cached instances are shared between readers. Callers that modify a source must parse their own copy.
+ * <p>
+ * Owned by the {@link ResourceFactory}.
+ */
+public class JavaSourceCache
+{
+   private final ConcurrentMap<File, CachedSource> cache = new ConcurrentHashMap<File, CachedSource>();
+
+   private final AtomicLong hits = new AtomicLong();
+   private final AtomicLong misses = new AtomicLong();
+
+   /**
+    * Return the cached structure of the given file, parsing it only if the file has changed since it was last read. The
+    * result is shared, and must not be modified.
+    */
+   public JavaSource<?> getShared(final File file) throws FileNotFoundException
+   {
+      File key = file.getAbsoluteFile();
+      CachedSource cached = cache.get(key);
+      if ((cached != null) && cached.isCurrent(key))
+      {
+         hits.incrementAndGet();
+         return cached.source;
+      }
+
+      misses.incrementAndGet();
+      long length = key.length();
+      long lastModified = key.lastModified();
+      JavaSource<?> source = JavaParser.parseStructure(key);
+      cache.put(key, new CachedSource(source, length, lastModified));
+      return source;
+   }
+
+   /**
+    * Return the qualified name of the type declared in the given file.
+    */
+   public String getQualifiedName(final File file) throws FileNotFoundException
+   {
+      return getShared(file).getQualifiedName();
+   }
+
+   /**
+    * Discard any cached {@link JavaSource} for the given file.
+    */
+   public void invalidate(final File file)
+   {
+      cache.remove(file.getAbsoluteFile());
+   }
+
+   /**
+    * Discard all cached {@link JavaSource} instances and reset statistics.
+    */
+   public void clear()
+   {
+      cache.clear();
+      hits.set(0);
+      misses.set(0);
+   }
+
+   /**
+    * Return the number of requests served from the cache.
+    */
+   public long getHits()
+   {
+      return hits.get();
+   }
+
+   /**
+    * Return the number of requests that required a file to be parsed.
+    */
+   public long getMisses()
+   {
+      return misses.get();
+   }
+
+   /**
+    * Return the number of files currently cached.
+    */
+   public int size()
+   {
+      return cache.size();
+   }
+
+   private static class CachedSource
+   {
+      private final JavaSource<?> source;
+      private final long length;
+      private final long lastModified;
+
+      public CachedSource(final JavaSource<?> source, final long length, final long lastModified)
+      {
+         this.source = source;
+         this.length = length;
+         this.lastModified = lastModified;
+      }
+
+      public boolean isCurrent(final File file)
+      {
+         return (lastModified != 0) && (file.lastModified() == lastModified) && (file.length() == length);
+      }
+   }
+}
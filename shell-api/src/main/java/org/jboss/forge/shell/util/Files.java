@@ -13,7 +13,15 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -26,6 +34,16 @@ public class Files
    public static final String HOME_ALIAS = "~";
    public static final String SLASH = File.separator;
 
+   /**
+    * Files at least this large are digested through a memory mapping rather than read into a buffer.
+    */
+   private static final long MAPPING_THRESHOLD = 1024 * 1024;
+
+   /**
+    * The largest region of a file mapped at once, to bound the address space used for very large files.
+    */
+   private static final long MAPPING_SIZE = 64 * 1024 * 1024;
+
    /**
     * Replace instances of internal tokens with actual file equivalents.
     */
@@ -88,4 +106,142 @@ public class Files
       }
    }
 
+   /**
+    * Copy the given file to the given target file, replacing its contents. The bytes are transferred by the file system
+    * where possible, rather than read into memory.
+    */
+   public static void copy(final File source, final File target) throws IOException
+   {
+      FileInputStream in = new FileInputStream(source);
+      try
+      {
+         FileOutputStream out = new FileOutputStream(target);
+         try
+         {
+            copy(in, out);
+         }
+         finally
+         {
+            out.close();
+         }
+      }
+      finally
+      {
+         in.close();
+      }
+   }
+
+   /**
+    * Copy the remaining contents of the given stream to the given file. If the stream reads a regular file, the bytes
+    * are transferred by the file system rather than read into memory. Other sources, such as pipes, devices or the
+    * files of /proc, report no size, and are read until they end.
+    */
+   public static void copy(final InputStream source, final FileOutputStream target) throws IOException
+   {
+      if (source instanceof FileInputStream)
+      {
+         FileChannel channel = ((FileInputStream) source).getChannel();
+         if (channel.size() > 0)
+         {
+            copy(channel, target.getChannel());
+            return;
+         }
+      }
+      Streams.copy(source, target);
+   }
+
+   /**
+    * Transfer the remaining contents of the given source channel to the given target channel. The source must be a
+    * regular file: only as many bytes as its size are transferred.
+    */
+   public static void copy(final FileChannel source, final FileChannel target) throws IOException
+   {
+      long position = source.position();
+      long size = source.size();
+      while (position < size)
+      {
+         long transferred = source.transferTo(position, size - position, target);
+         if (transferred <= 0)
+         {
+            break;
+         }
+         position += transferred;
+      }
+      source.position(position);
+   }
+
+   /**
+    * Update the given {@link MessageDigest} with the contents of the given file. Large files are memory mapped.
+    */
+   public static void digest(final File file, final MessageDigest digest) throws IOException
+   {
+      if (file.length() < MAPPING_THRESHOLD)
+      {
+         InputStream in = new FileInputStream(file);
+         try
+         {
+            Streams.digest(in, digest);
+         }
+         finally
+         {
+            in.close();
+         }
+         return;
+      }
+
+      FileInputStream in = new FileInputStream(file);
+      try
+      {
+         FileChannel channel = in.getChannel();
+         long size = channel.size();
+         for (long position = 0; position < size; position += MAPPING_SIZE)
+         {
+            MappedByteBuffer region = channel.map(MapMode.READ_ONLY, position, Math.min(MAPPING_SIZE, size - position));
+            digest.update(region);
+         }
+      }
+      finally
+      {
+         in.close();
+      }
+   }
+
+   /**
+    * Read and decode the contents of the given file, which must be smaller than 2GB. Large files are memory mapped
+    * rather than read into a buffer. Malformed input is replaced rather than reported.
+    */
+   public static CharBuffer read(final File file, final Charset charset) throws IOException
+   {
+      FileInputStream in = new FileInputStream(file);
+      try
+      {
+         FileChannel channel = in.getChannel();
+         long size = channel.size();
+         if (size > Integer.MAX_VALUE)
+         {
+            throw new IOException("File too large to read: " + file.getAbsolutePath());
+         }
+
+         ByteBuffer bytes;
+         if (size < MAPPING_THRESHOLD)
+         {
+            bytes = ByteBuffer.allocate((int) size);
+            while (bytes.hasRemaining())
+            {
+               if (channel.read(bytes) == -1)
+                  break;
+            }
+            bytes.flip();
+         }
+         else
+         {
+            bytes = channel.map(MapMode.READ_ONLY, 0, size);
+         }
+         return charset.decode(bytes);
+      }
+      finally
+      {
+         in.close();
+      }
+   }
 }
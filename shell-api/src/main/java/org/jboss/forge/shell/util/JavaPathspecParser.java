@@ -14,6 +14,7 @@ import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.ResourceFilter;
 import org.jboss.forge.resources.UnknownFileResource;
+import org.jboss.forge.resources.java.JavaResource;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -61,6 +62,7 @@ public class JavaPathspecParser
       Resource<?> r = java.getSourceFolder();
 
       String p = path;
+      String basePackage = null;
 
       if (path.startsWith("~"))
       {
@@ -76,6 +78,7 @@ public class JavaPathspecParser
          else
          {
             r = base;
+            basePackage = java.getBasePackage();
          }
 
          p = p.substring(1);
@@ -85,6 +88,12 @@ public class JavaPathspecParser
          }
       }
 
+      JavaResource type = findType(p, basePackage);
+      if ((type != null) && filter.accept(type))
+      {
+         return singleResult(type);
+      }
+
       String[] split = p.split("\\.");
       for (int i = 0; i < split.length; i++)
       {
@@ -143,6 +152,18 @@ public class JavaPathspecParser
       return results;
    }
 
+   /**
+    * Look up a fully specified type name in the project's type index, instead of walking the source folders.
+    */
+   private JavaResource findType(final String name, final String basePackage)
+   {
+      if (name.isEmpty() || name.endsWith(".") || name.contains("*") || name.contains("?"))
+      {
+         return null;
+      }
+      return java.findType(basePackage == null ? name : basePackage + "." + name);
+   }
+
    private static List<Resource<?>> singleResult(Resource<?> item)
    {
       return Collections.<Resource<?>> singletonList(item);
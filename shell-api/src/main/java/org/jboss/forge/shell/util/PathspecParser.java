@@ -184,6 +184,10 @@ public class PathspecParser
                {
                   if (p.matcher(child.getName()).matches())
                   {
+                     if (r instanceof DirectoryResource)
+                     {
+                        child = copyOf(child);
+                     }
                      child.setFlag(ResourceFlag.AmbiguouslyQualified);
 
                      if (child.getName().startsWith("."))
@@ -242,6 +246,20 @@ public class PathspecParser
       return singleResult(r);
    }
 
+   /**
+    * Return a new instance of the given child of a {@link DirectoryResource}. Directory listings are cached and shared
+    * by every lookup, so their children must not be flagged.
+    */
+   private Resource<?> copyOf(final Resource<?> child)
+   {
+      File file = (File) child.getUnderlyingResourceObject();
+      if (child instanceof DirectoryResource)
+      {
+         return new DirectoryResource(factory, file);
+      }
+      return factory.getResourceFrom(file);
+   }
+
    /**
     * Perform a search, by doing a breadth-first traversal of the resource tree for resources that match the path
     * string.
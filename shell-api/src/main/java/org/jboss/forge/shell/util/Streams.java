@@ -15,6 +15,7 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
 
 /**
  * Stream utilities.
@@ -23,6 +24,11 @@ import java.io.UnsupportedEncodingException;
  */
 public abstract class Streams
 {
+   /**
+    * The size of the buffers used to copy and digest streams.
+    */
+   public static final int BUFFER_SIZE = 0x10000;
+
    /**
     * Return a {@link String} containing the contents of the given {@link InputStream}
     */
@@ -31,7 +37,7 @@ public abstract class Streams
       StringBuilder out = new StringBuilder();
       try
       {
-         final char[] buffer = new char[0x10000];
+         final char[] buffer = new char[BUFFER_SIZE];
          Reader in = new InputStreamReader(stream, "UTF-8");
          int read;
          do
@@ -59,17 +65,7 @@ public abstract class Streams
    {
       try
       {
-         final byte[] buffer = new byte[0x10000];
-         int read;
-         do
-         {
-            read = source.read(buffer, 0, buffer.length);
-            if (read > 0)
-            {
-               destination.write(buffer, 0, read);
-            }
-         }
-         while (read >= 0);
+         copy(source, destination);
       }
       catch (IOException e)
       {
@@ -77,6 +73,36 @@ public abstract class Streams
       }
    }
 
+   /**
+    * Copy the contents of the given {@link InputStream} to the given {@link OutputStream}, returning the number of
+    * bytes copied. Neither stream is closed.
+    */
+   public static long copy(final InputStream source, final OutputStream destination) throws IOException
+   {
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      long total = 0;
+      int read;
+      while ((read = source.read(buffer, 0, buffer.length)) >= 0)
+      {
+         destination.write(buffer, 0, read);
+         total += read;
+      }
+      return total;
+   }
+
+   /**
+    * Update the given {@link MessageDigest} with the contents of the given {@link InputStream}, which is not closed.
+    */
+   public static void digest(final InputStream source, final MessageDigest digest) throws IOException
+   {
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = source.read(buffer, 0, buffer.length)) >= 0)
+      {
+         digest.update(buffer, 0, read);
+      }
+   }
+
    public static InputStream fromString(final String data)
    {
       return new ByteArrayInputStream(data.getBytes());
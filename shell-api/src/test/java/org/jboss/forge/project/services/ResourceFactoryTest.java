@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.project.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.PropertiesFileResource;
+import org.jboss.forge.resources.UnknownFileResource;
+import org.jboss.forge.resources.java.JavaResource;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResourceFactoryTest
+{
+   private ResourceFactory factory;
+
+   @Before
+   public void setUp()
+   {
+      factory = new ResourceFactory();
+   }
+
+   @Test
+   public void testExtensionAndExactNames()
+   {
+      factory.register("*.java", new JavaResource(factory));
+      factory.register("build.properties", new JavaResource(factory));
+      factory.register("*.properties", new PropertiesFileResource(factory));
+
+      assertTrue(factory.getResourceFrom(new File("Foo.java")) instanceof JavaResource);
+      assertTrue(factory.getResourceFrom(new File("build.properties")) instanceof JavaResource);
+      assertTrue(factory.getResourceFrom(new File("other.properties")) instanceof PropertiesFileResource);
+      assertTrue(factory.getResourceFrom(new File("Foojava")) instanceof UnknownFileResource);
+      assertTrue(factory.getResourceFrom(new File("Foo.txt")) instanceof UnknownFileResource);
+   }
+
+   @Test
+   public void testFirstRegisteredWildcardWins()
+   {
+      factory.register("README*", new JavaResource(factory));
+      factory.register("*.properties", new PropertiesFileResource(factory));
+      factory.register("messages_??.properties", new JavaResource(factory));
+
+      assertTrue(factory.getResourceFrom(new File("README.properties")) instanceof JavaResource);
+      assertTrue(factory.getResourceFrom(new File("messages_en.properties")) instanceof PropertiesFileResource);
+      assertTrue(factory.getResourceFrom(new File("README")) instanceof JavaResource);
+   }
+
+   @Test
+   public void testDirectories()
+   {
+      factory.register("*", new JavaResource(factory));
+
+      File dir = new File(System.getProperty("java.io.tmpdir"));
+      assertTrue(factory.getResourceFrom(dir) instanceof DirectoryResource);
+   }
+
+   @Test
+   public void testCreateFromType()
+   {
+      factory.register("*.properties", new PropertiesFileResource(factory));
+
+      assertTrue(factory.createFromType(PropertiesFileResource.class, new File("a.properties")) != null);
+      assertTrue(factory.createFromType(JavaResource.class, new File("A.java")) == null);
+   }
+
+   @Test
+   public void testDirectoriesAreShared() throws IOException
+   {
+      File dir = createTempDir();
+      try
+      {
+         File child = new File(dir, "child");
+         child.mkdir();
+
+         DirectoryResource resource = factory.getDirectoryResource(dir);
+         assertSame(resource, factory.getResourceFrom(dir));
+         assertSame(resource, factory.getResourceFrom(new File(child, "A.java")).getParent().getParent());
+         assertSame(resource.getChild("child"), factory.getResourceFrom(child));
+      }
+      finally
+      {
+         delete(dir);
+      }
+   }
+
+   @Test
+   public void testSharedListingsSeeNewFiles() throws IOException
+   {
+      File dir = createTempDir();
+      try
+      {
+         DirectoryResource resource = factory.getDirectoryResource(dir);
+         assertEquals(0, resource.listResources().size());
+
+         new File(dir, "A.txt").createNewFile();
+         assertEquals(1, factory.getDirectoryResource(dir).listResources().size());
+
+         new File(dir, "B.txt").createNewFile();
+         assertEquals(2, factory.getDirectoryResource(dir).listResources().size());
+      }
+      finally
+      {
+         delete(dir);
+      }
+   }
+
+   private static File createTempDir() throws IOException
+   {
+      File dir = File.createTempFile("forge-resources", "");
+      dir.delete();
+      dir.mkdir();
+      return dir;
+   }
+
+   private static void delete(final File file)
+   {
+      File[] children = file.listFiles();
+      if (children != null)
+      {
+         for (File child : children)
+         {
+            delete(child);
+         }
+      }
+      file.delete();
+   }
+}
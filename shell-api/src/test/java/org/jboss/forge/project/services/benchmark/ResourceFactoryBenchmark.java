@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.project.services.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.jboss.forge.project.services.ResourceFactory;
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.PropertiesFileResource;
+import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.java.JavaResource;
+
+/**
+ * Measures the time taken to list every resource of a large tree, where {@link ResourceFactory#getResourceFrom(File)}
+ * is called for each file. The tree is created in a temporary directory, mostly of Java sources, with some properties,
+ * <code>pom.xml</code> and unknown files. Not run as part of the build; run it with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *    -Dexec.mainClass=org.jboss.forge.project.services.benchmark.ResourceFactoryBenchmark
+ * </pre>
+ *
+ * Optional arguments are the number of files, and the number of warm-up and measured iterations (default 50000, 3 and
+ * 10).
+ */
+public class ResourceFactoryBenchmark
+{
+   private static final int FILES_PER_DIRECTORY = 100;
+
+   public static void main(final String[] args) throws Exception
+   {
+      int count = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+      int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+      int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+      ResourceFactory factory = new ResourceFactory();
+      factory.register("*.java", new JavaResource(factory));
+      factory.register("*.properties", new PropertiesFileResource(factory));
+      factory.register("pom.xml", new PropertiesFileResource(factory));
+
+      File root = File.createTempFile("forge-resources", "");
+      root.delete();
+      try
+      {
+         createTree(root, count);
+         DirectoryResource directory = new DirectoryResource(factory, root);
+
+         for (int i = 0; i < warmup; i++)
+         {
+            list(factory, directory);
+         }
+
+         int listed = 0;
+         long start = System.nanoTime();
+         for (int i = 0; i < iterations; i++)
+         {
+            listed = list(factory, directory);
+         }
+         long time = (System.nanoTime() - start) / 1000;
+
+         System.out.println("Listed " + listed + " resources, " + iterations + " times");
+         System.out.println("   " + (time / iterations) + " us/listing");
+      }
+      finally
+      {
+         delete(root);
+      }
+   }
+
+   /**
+    * List the tree from scratch, as a new session would, and return the number of resources listed.
+    */
+   private static int list(final ResourceFactory factory, final DirectoryResource root)
+   {
+      int result = 0;
+      for (Resource<?> child : new DirectoryResource(factory, root.getUnderlyingResourceObject()).listResources())
+      {
+         result++;
+         if (child instanceof DirectoryResource)
+         {
+            result += list(factory, (DirectoryResource) child);
+         }
+      }
+      return result;
+   }
+
+   private static void createTree(final File root, final int count) throws IOException
+   {
+      for (int i = 0; i < count; i++)
+      {
+         File dir = new File(root, "package" + (i / FILES_PER_DIRECTORY));
+         dir.mkdirs();
+
+         String name;
+         switch (i % FILES_PER_DIRECTORY)
+         {
+         case 0:
+            name = "pom.xml";
+            break;
+         case 1:
+         case 2:
+            name = "messages" + i + ".properties";
+            break;
+         case 3:
+            name = "notes" + i + ".txt";
+            break;
+         default:
+            name = "Type" + i + ".java";
+            break;
+         }
+         new File(dir, name).createNewFile();
+      }
+   }
+
+   private static void delete(final File file)
+   {
+      File[] children = file.listFiles();
+      if (children != null)
+      {
+         for (File child : children)
+         {
+            delete(child);
+         }
+      }
+      file.delete();
+   }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.resources;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DirectoryWalkerTest
+{
+   private File root;
+
+   @Before
+   public void setUp() throws IOException
+   {
+      root = File.createTempFile("forge-walker", "");
+      root.delete();
+      for (String path : new String[] { "b/B.java", "b/c/C.java", "b/c/c.properties", "a.txt", "d/D.java" })
+      {
+         File file = new File(root, path);
+         file.getParentFile().mkdirs();
+         file.createNewFile();
+      }
+   }
+
+   @After
+   public void tearDown()
+   {
+      delete(root);
+   }
+
+   @Test
+   public void testWalkInNameOrder()
+   {
+      assertEquals(Arrays.asList("a.txt", "b/", "b/B.java", "b/c/", "b/c/C.java", "b/c/c.properties", "d/", "d/D.java"),
+               walk(new DirectoryWalker(root)));
+   }
+
+   @Test
+   public void testMaxDepth()
+   {
+      assertEquals(Arrays.asList("a.txt", "b/", "d/"), walk(new DirectoryWalker(root).setMaxDepth(1)));
+      assertEquals(Arrays.asList("a.txt", "b/", "b/B.java", "b/c/", "d/", "d/D.java"),
+               walk(new DirectoryWalker(root).setMaxDepth(2)));
+   }
+
+   @Test
+   public void testNameGlob()
+   {
+      assertEquals(Arrays.asList("b/B.java", "b/c/C.java", "d/D.java"),
+               walk(new DirectoryWalker(root).setNameGlob("*.java")));
+   }
+
+   @Test
+   public void testParallelWalkKeepsOrder()
+   {
+      assertEquals(walk(new DirectoryWalker(root)), walk(new DirectoryWalker(root).setParallel(true)));
+      assertEquals(walk(new DirectoryWalker(root).setNameGlob("?.java")),
+               walk(new DirectoryWalker(root).setNameGlob("?.java").setParallel(true)));
+   }
+
+   private static List<String> walk(final DirectoryWalker walker)
+   {
+      final List<String> result = new ArrayList<String>();
+      walker.walk(new DirectoryWalker.Visitor()
+      {
+         @Override
+         public void visit(final File file, final String path, final boolean directory)
+         {
+            result.add(directory ? path + "/" : path);
+         }
+      });
+      return result;
+   }
+
+   private static void delete(final File file)
+   {
+      File[] children = file.listFiles();
+      if (children != null)
+      {
+         for (File child : children)
+         {
+            delete(child);
+         }
+      }
+      file.delete();
+   }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.shell.util.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.forge.shell.util.Files;
+import org.jboss.forge.shell.util.Streams;
+
+/**
+ * Compares the block I/O used by <code>cp</code>, <code>fingerprint</code> and <code>grep</code> with the small-buffer
+ * and byte-at-a-time loops they replaced, over a large generated text file. Not run as part of the build; run it with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *    -Dexec.mainClass=org.jboss.forge.shell.util.benchmark.IOBenchmark
+ * </pre>
+ *
+ * Optional arguments are the size of the file in megabytes, and the number of measured iterations (default 100 and 3).
+ */
+public class IOBenchmark
+{
+   private static final String LINE = "The quick brown fox jumps over the lazy dog, again and again and AGAIN";
+
+   public static void main(final String[] args) throws Exception
+   {
+      int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+      int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+      File source = File.createTempFile("forge-io", ".txt");
+      File target = File.createTempFile("forge-io", ".copy");
+      try
+      {
+         createFile(source, megabytes * 1024L * 1024L);
+         System.out.println("Input of " + source.length() + " bytes, " + iterations + " iterations");
+
+         long time = System.nanoTime();
+         for (int i = 0; i < iterations; i++)
+         {
+            copySmallBuffer(source, target);
+         }
+         report("copy, 1KB buffer", time, iterations);
+
+         time = System.nanoTime();
+         for (int i = 0; i < iterations; i++)
+         {
+            InputStream in = new FileInputStream(source);
+            OutputStream out = new FileOutputStream(target);
+            try
+            {
+               Streams.copy(in, out);
+            }
+            finally
+            {
+               Streams.closeQuietly(in);
+               Streams.closeQuietly(out);
+            }
+         }
+         report("copy, Streams.copy", time, iterations);
+
+         time = System.nanoTime();
+         for (int i = 0; i < iterations; i++)
+         {
+            Files.copy(source, target);
+         }
+         report("copy, Files.copy", time, iterations);
+
+         time = System.nanoTime();
+         for (int i = 0; i < iterations; i++)
+         {
+            digestByteByByte(source);
+         }
+         report("digest, byte at a time", time, iterations);
+
+         time = System.nanoTime();
+         for (int i = 0; i < iterations; i++)
+         {
+            InputStream in = new FileInputStream(source);
+            try
+            {
+               Streams.digest(in, MessageDigest.getInstance("SHA-256"));
+            }
+            finally
+            {
+               Streams.closeQuietly(in);
+            }
+         }
+         report("digest, Streams.digest", time, iterations);
+
+         time = System.nanoTime();
+         for (int i = 0; i < iterations; i++)
+         {
+            Files.digest(source, MessageDigest.getInstance("SHA-256"));
+         }
+         report("digest, Files.digest", time, iterations);
+
+         time = System.nanoTime();
+         for (int i = 0; i < iterations; i++)
+         {
+            grep(source, Pattern.compile("again"), true);
+         }
+         report("grep -i, lower-cased lines", time, iterations);
+
+         time = System.nanoTime();
+         for (int i = 0; i < iterations; i++)
+         {
+            grep(source, Pattern.compile("again", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE), false);
+         }
+         report("grep -i, case-insensitive pattern", time, iterations);
+      }
+      finally
+      {
+         source.delete();
+         target.delete();
+      }
+   }
+
+   private static void copySmallBuffer(final File source, final File target) throws IOException
+   {
+      InputStream in = new FileInputStream(source);
+      OutputStream out = new FileOutputStream(target);
+      try
+      {
+         byte[] buf = new byte[1024];
+         int read;
+         while ((read = in.read(buf)) != -1)
+         {
+            out.write(buf, 0, read);
+         }
+      }
+      finally
+      {
+         Streams.closeQuietly(in);
+         Streams.closeQuietly(out);
+      }
+   }
+
+   private static void digestByteByByte(final File source) throws Exception
+   {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      InputStream in = new FileInputStream(source);
+      try
+      {
+         int b;
+         while ((b = in.read()) != -1)
+         {
+            md.update((byte) b);
+         }
+      }
+      finally
+      {
+         Streams.closeQuietly(in);
+      }
+   }
+
+   private static int grep(final File source, final Pattern pattern, final boolean lowerCase) throws IOException
+   {
+      int matches = 0;
+      BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(source), "UTF-8"),
+               Streams.BUFFER_SIZE);
+      try
+      {
+         Matcher matcher = pattern.matcher("");
+         String line;
+         while ((line = reader.readLine()) != null)
+         {
+            if (matcher.reset(lowerCase ? line.toLowerCase() : line).find())
+            {
+               matches++;
+            }
+         }
+      }
+      finally
+      {
+         Streams.closeQuietly(reader);
+      }
+      return matches;
+   }
+
+   private static void createFile(final File file, final long size) throws IOException
+   {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+      try
+      {
+         long written = 0;
+         for (int i = 0; written < size; i++)
+         {
+            String line = i + " " + LINE + "\n";
+            writer.write(line);
+            written += line.length();
+         }
+      }
+      finally
+      {
+         writer.close();
+      }
+   }
+
+   private static void report(final String name, final long start, final int iterations)
+   {
+      long time = (System.nanoTime() - start) / 1000000;
+      System.out.println("   " + name + ": " + (time / iterations) + " ms");
+   }
+}
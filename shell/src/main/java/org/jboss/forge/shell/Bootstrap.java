@@ -13,10 +13,13 @@ import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.decorator.Decorator;
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
+import javax.interceptor.Interceptor;
 
+import org.jboss.forge.bus.util.Annotations;
 import org.jboss.forge.shell.events.AcceptUserInput;
 import org.jboss.forge.shell.events.PostStartup;
 import org.jboss.forge.shell.events.PreStartup;
@@ -98,6 +101,7 @@ public class Bootstrap
             @Override
             public void run()
             {
+               StartupProfile profile = new StartupProfile();
                initLogging();
 
                boolean restarting = restartRequested;
@@ -106,23 +110,13 @@ public class Bootstrap
                Weld weld = new ModularWeld();
                BeanManager manager = null;
 
-               // FIXME this plugin loading scheme causes classloading issues w/weld because weld cannot load classes
-               // from its own classloaders before plugins are loaded and pollute the classpath.
-               // We can work around it by loading weld before we load plugins, then restarting weld, but this is SLOW.
-               try
-               {
-                  WeldContainer container = weld.initialize();
-                  manager = container.getBeanManager();
-                  weld.shutdown();
-               }
-               catch (Exception e)
-               {
-               }
-
                try
                {
                   // TODO verify plugin API versions. only activate compatible plugins.
+                  profile.start("Plugin loading");
                   loadPlugins();
+
+                  profile.start("Bean discovery");
                   WeldContainer container = weld.initialize();
                   manager = container.getBeanManager();
                }
@@ -136,47 +130,20 @@ public class Bootstrap
                   Thread.currentThread().setContextClassLoader(mainClassLoader);
 
                   initLogging();
+                  profile.start("Bean discovery (plugins disabled)");
                   WeldContainer container = weld.initialize();
                   manager = container.getBeanManager();
                }
-               try
-               {
-                  manager.fireEvent(new PreStartup());
-               }
-               catch (Throwable t)
-               {
-                  System.out.println("Error during PreStartup event");
-                  t.printStackTrace();
-               }
-               try
-               {
-                  manager.fireEvent(new Startup(workingDir, restarting));
-               }
-               catch (Throwable t)
-               {
-                  System.out.println("Error during Startup event");
-                  t.printStackTrace();
-               }
-               try
-               {
 
-                  manager.fireEvent(new PostStartup());
-               }
-               catch (Throwable t)
-               {
-                  System.out.println("Error during PostStartup event");
-                  t.printStackTrace();
-               }
-               try
-               {
-                  manager.fireEvent(new AcceptUserInput());
-               }
-               catch (Throwable t)
-               {
-                  System.out.println("Error during AcceptUserInput event");
-                  t.printStackTrace();
-               }
+               fire(manager, new PreStartup(), profile);
+               fire(manager, new Startup(workingDir, restarting), profile);
+               fire(manager, new PostStartup(), profile);
+               profile.report(System.out, restarting ? "restart" : "startup");
+
+               fire(manager, new AcceptUserInput(), profile);
+               profile.report(System.out, "session");
                weld.shutdown();
+               Annotations.clearCache();
             }
          });
 
@@ -193,6 +160,28 @@ public class Bootstrap
       while (restartRequested);
    }
 
+   /**
+    * Fire the given startup event, timing it as a phase named after the event type.
+    */
+   private static void fire(final BeanManager manager, final Object event, final StartupProfile profile)
+   {
+      String name = event.getClass().getSimpleName();
+      profile.start(name);
+      try
+      {
+         manager.fireEvent(event);
+      }
+      catch (Throwable t)
+      {
+         System.out.println("Error during " + name + " event");
+         t.printStackTrace();
+      }
+      finally
+      {
+         profile.end();
+      }
+   }
+
    public void observeReinitialize(@Observes final ReinitializeEnvironment event, final Shell shell)
    {
       workingDir = shell.getCurrentDirectory().getUnderlyingResourceObject();
@@ -228,6 +217,8 @@ public class Bootstrap
          CompositeClassLoader composite = new CompositeClassLoader();
          composite.add(Module.forClassLoader(Bootstrap.class.getClassLoader(), true).getClassLoader());
 
+         shareContainer(composite);
+
          List<PluginEntry> toLoad = new ArrayList<PluginEntry>();
 
          List<PluginEntry> installed = InstalledPluginRegistry.listByAPICompatibleVersion(InstalledPluginRegistry
@@ -271,4 +262,17 @@ public class Bootstrap
          e.printStackTrace();
       }
    }
+
+   /**
+    * Weld is about to be initialized with the given loader; make sure neither it nor the beans it manages ever see a
+    * second copy of its own classes, or of the CDI API, from the plugin modules added to it.
+    */
+   static void shareContainer(final CompositeClassLoader composite)
+   {
+      composite.share(Weld.class.getClassLoader(), "org.jboss.weld");
+      composite.share(BeanManager.class.getClassLoader(), "javax.enterprise");
+      composite.share(Inject.class.getClassLoader(), "javax.inject");
+      composite.share(Interceptor.class.getClassLoader(), "javax.interceptor");
+      composite.share(Decorator.class.getClassLoader(), "javax.decorator");
+   }
 }
@@ -12,30 +12,69 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.jboss.modules.ConcurrentClassLoader;
 
+/**
+ * Loads classes and resources from a list of module class loaders, asking them in precedence order. To avoid asking
+ * every loader in turn, a package is remembered as owned by a loader when that loader alone provides the package
+ * folder itself (such as "com/example/"), and that loader is asked first for the rest of the package. Packages whose
+ * folder is provided by several loaders, such as META-INF or those of duplicated libraries, or by none, are never
+ * indexed, nor are packages found to be split between loaders; they are always looked up in precedence order. Names
+ * that no loader provides are remembered too. All indexes are discarded whenever a loader is added.
+ * <p>
+ * Lookups do not lock; loaders are expected to be added before the composite is used.
+ */
 public class CompositeClassLoader extends ConcurrentClassLoader
 {
-   private final List<ConcurrentClassLoader> classLoaders = Collections
-            .synchronizedList(new ArrayList<ConcurrentClassLoader>());
+   private static final Object MISSING = new Object();
+
+   private final List<ConcurrentClassLoader> classLoaders = new CopyOnWriteArrayList<ConcurrentClassLoader>();
+   private final ConcurrentMap<String, ClassLoader> sharedPackages = new ConcurrentHashMap<String, ClassLoader>();
+
+   private final ConcurrentMap<String, ConcurrentClassLoader> packageIndex =
+            new ConcurrentHashMap<String, ConcurrentClassLoader>();
+   private final ConcurrentMap<String, Object> ambiguous = new ConcurrentHashMap<String, Object>();
+   private final ConcurrentMap<String, Object> missing = new ConcurrentHashMap<String, Object>();
+   private final ConcurrentMap<String, List<URL>> resourceLists = new ConcurrentHashMap<String, List<URL>>();
 
    public CompositeClassLoader()
    {
    }
 
+   /**
+    * Always load classes from the given packages (and their sub-packages) with the given loader, before consulting
+    * any other loader. This keeps a single copy of classes, such as those of the CDI container, that are also packaged
+    * in the added modules.
+    */
+   public void share(final ClassLoader loader, final String... packages)
+   {
+      for (String name : packages)
+      {
+         sharedPackages.put(name.endsWith(".") ? name : name + ".", loader);
+      }
+   }
+
    /**
     * Add a loader to the internal List of loaders. Loaders will be used in the reverse order from which they were
     * added.
     */
-   public void add(ConcurrentClassLoader loader)
+   public synchronized void add(ConcurrentClassLoader loader)
    {
       if (loader != null && !classLoaders.contains(loader) && !this.equals(loader))
       {
          classLoaders.add(0, loader);
+         packageIndex.clear();
+         ambiguous.clear();
+         missing.clear();
+         resourceLists.clear();
       }
    }
 
@@ -50,52 +89,196 @@ public class CompositeClassLoader extends ConcurrentClassLoader
    @Override
    protected Class<?> findClass(String className, boolean exportsOnly, boolean resolve) throws ClassNotFoundException
    {
-      for (ConcurrentClassLoader loader : classLoaders)
+      ClassLoader shared = getSharedLoader(className);
+      if (shared != null)
+      {
+         return shared.loadClass(className);
+      }
+
+      if (missing.containsKey(className))
+      {
+         throw new ClassNotFoundException(className);
+      }
+
+      String pkg = getPackage(className, '.');
+      ConcurrentClassLoader indexed = packageIndex.get(pkg);
+      if (indexed != null)
       {
          try
          {
-            Class<?> found = loader.loadClass(className, resolve);
-            return found;
+            return indexed.loadClass(className, resolve);
          }
          catch (ClassNotFoundException e)
          {
-            // I don't care yet...
+            // the class may still be elsewhere; fall back to asking every loader
          }
       }
+      else
+      {
+         index(pkg, pkg.replace('.', '/'), className.replace('.', '/') + ".class");
+      }
+
+      for (ConcurrentClassLoader loader : classLoaders)
+      {
+         if (loader != indexed)
+         {
+            try
+            {
+               Class<?> found = loader.loadClass(className, resolve);
+               unindex(pkg, indexed);
+               return found;
+            }
+            catch (ClassNotFoundException e)
+            {
+               // I don't care yet...
+            }
+         }
+      }
+
+      missing.put(className, MISSING);
       throw new ClassNotFoundException(className);
    }
 
+   private ClassLoader getSharedLoader(final String className)
+   {
+      for (Entry<String, ClassLoader> entry : sharedPackages.entrySet())
+      {
+         if (className.startsWith(entry.getKey()))
+         {
+            return entry.getValue();
+         }
+      }
+      return null;
+   }
+
    @Override
    protected URL findResource(String name, boolean exportsOnly)
    {
-      for (ConcurrentClassLoader loader : classLoaders)
+      String key = "/" + name;
+      if (missing.containsKey(key))
+      {
+         return null;
+      }
+
+      String pkg = "/" + getPackage(name, '/');
+      ConcurrentClassLoader indexed = packageIndex.get(pkg);
+      if (indexed != null)
       {
-         URL resource = loader.getResource(name);
+         URL resource = indexed.getResource(name);
          if (resource != null)
             return resource;
       }
+      else
+      {
+         index(pkg, getPackage(name, '/'), name);
+      }
+
+      for (ConcurrentClassLoader loader : classLoaders)
+      {
+         if (loader != indexed)
+         {
+            URL resource = loader.getResource(name);
+            if (resource != null)
+            {
+               unindex(pkg, indexed);
+               return resource;
+            }
+         }
+      }
+
+      missing.put(key, MISSING);
       return null;
    }
 
+   /**
+    * Index the given package under the only loader that provides its folder, if that loader also provides the given
+    * resource from it. Otherwise the package is marked as ambiguous, and never indexed: a name unique to one loader
+    * says nothing of the other names in its package, which a loader of higher precedence may also provide.
+    */
+   private void index(final String pkg, final String folder, final String resource)
+   {
+      if (ambiguous.containsKey(pkg))
+      {
+         return;
+      }
+
+      ConcurrentClassLoader owner = null;
+      if (folder.length() > 0)
+      {
+         for (ConcurrentClassLoader loader : classLoaders)
+         {
+            if (loader.getResource(folder + "/") != null)
+            {
+               if (owner != null)
+               {
+                  owner = null;
+                  break;
+               }
+               owner = loader;
+            }
+         }
+      }
+
+      if ((owner != null) && (owner.getResource(resource) != null))
+      {
+         packageIndex.putIfAbsent(pkg, owner);
+      }
+      else
+      {
+         ambiguous.put(pkg, MISSING);
+      }
+   }
+
+   /**
+    * Stop indexing the given package, as a name from it was found outside the loader it was indexed under.
+    */
+   private void unindex(final String pkg, final ConcurrentClassLoader indexed)
+   {
+      if (indexed != null)
+      {
+         ambiguous.put(pkg, MISSING);
+         packageIndex.remove(pkg, indexed);
+      }
+   }
+
    @Override
    protected Enumeration<URL> findResources(String name, boolean exportsOnly) throws IOException
    {
-      Set<URL> urls = new HashSet<URL>();
-      for (ConcurrentClassLoader loader : classLoaders)
+      List<URL> result = resourceLists.get(name);
+      if (result == null)
       {
-         Enumeration<URL> resources = loader.getResources(name);
-         while (resources.hasMoreElements())
+         Set<URL> urls = new LinkedHashSet<URL>();
+         for (ConcurrentClassLoader loader : classLoaders)
          {
-            urls.add(resources.nextElement());
+            Enumeration<URL> resources = loader.getResources(name);
+            while (resources.hasMoreElements())
+            {
+               urls.add(resources.nextElement());
+            }
          }
+         result = Collections.unmodifiableList(new ArrayList<URL>(urls));
+         resourceLists.put(name, result);
       }
 
-      return Collections.enumeration(urls);
+      return Collections.enumeration(result);
    }
 
    @Override
    protected InputStream findResourceAsStream(String name, boolean exportsOnly)
    {
+      URL resource = findResource(name, exportsOnly);
+      if (resource != null)
+      {
+         try
+         {
+            return resource.openStream();
+         }
+         catch (IOException e)
+         {
+            // fall back to asking every loader
+         }
+      }
+
       for (ConcurrentClassLoader loader : classLoaders)
       {
          InputStream stream = loader.getResourceAsStream(name);
@@ -107,6 +290,15 @@ public class CompositeClassLoader extends ConcurrentClassLoader
       return null;
    }
 
+   /**
+    * Return the package, or resource folder, of the given name, using the given separator.
+    */
+   private static String getPackage(final String name, final char separator)
+   {
+      int index = name.lastIndexOf(separator);
+      return index == -1 ? "" : name.substring(0, index);
+   }
+
    @Override
    public String toString()
    {
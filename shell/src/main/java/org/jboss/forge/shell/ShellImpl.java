@@ -862,6 +862,7 @@ public class ShellImpl extends AbstractShellPrompt implements Shell
       if (executorThread != null)
       {
          executorThread.interrupt();
+         fshRuntime.interrupt();
          try
          {
             inputPipe.interruptPipe();
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Records how long each phase of {@link Bootstrap} takes. The timings are printed only when the shell is started with
+ * <code>-Dforge.startup.profile=true</code>.
+ */
+class StartupProfile
+{
+   public static final String PROP_STARTUP_PROFILE = "forge.startup.profile";
+
+   private final boolean enabled = Boolean.getBoolean(PROP_STARTUP_PROFILE);
+   private final long created = System.nanoTime();
+   private final Map<String, Long> phases = new LinkedHashMap<String, Long>();
+
+   private String current;
+   private long started;
+
+   /**
+    * Start timing the given phase, ending the current one.
+    */
+   public void start(final String phase)
+   {
+      end();
+      current = phase;
+      started = System.nanoTime();
+   }
+
+   /**
+    * End the current phase, if any.
+    */
+   public void end()
+   {
+      if (current != null)
+      {
+         Long previous = phases.get(current);
+         long elapsed = System.nanoTime() - started;
+         phases.put(current, previous == null ? elapsed : previous + elapsed);
+         current = null;
+      }
+   }
+
+   /**
+    * Print the phases timed since the last report, and the total time elapsed since this profile was created.
+    */
+   public void report(final PrintStream out, final String title)
+   {
+      end();
+      if (enabled)
+      {
+         out.println("Startup profile - " + title + ":");
+         for (Entry<String, Long> phase : phases.entrySet())
+         {
+            out.println("   " + phase.getKey() + ": " + millis(phase.getValue()) + " ms");
+         }
+         out.println("   Total: " + millis(System.nanoTime() - created) + " ms");
+      }
+      phases.clear();
+   }
+
+   private static long millis(final long nanos)
+   {
+      return nanos / 1000000;
+   }
+}
@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.Set;
 
 import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterDeploymentValidation;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.Extension;
 import javax.enterprise.inject.spi.ProcessBean;
@@ -44,6 +45,17 @@ public class CommandLibraryExtension implements Extension
 {
    private final Map<String, List<PluginMetadata>> plugins = new HashMap<String, List<PluginMetadata>>();
    private Set<Class<? extends Facet>> facetTypes = new HashSet<Class<? extends Facet>>();
+   private final PluginMetadataCache cache;
+
+   public CommandLibraryExtension()
+   {
+      this(new PluginMetadataCache());
+   }
+
+   public CommandLibraryExtension(final PluginMetadataCache cache)
+   {
+      this.cache = cache;
+   }
 
    public Map<String, List<PluginMetadata>> getPlugins()
    {
@@ -75,13 +87,28 @@ public class CommandLibraryExtension implements Extension
       }
    }
 
+   public void storeMetadata(@Observes final AfterDeploymentValidation event)
+   {
+      cache.save();
+   }
+
    public Set<Class<? extends Facet>> getFacetTypes()
    {
       return Collections.unmodifiableSet(facetTypes);
    }
 
+   /**
+    * Return the metadata of the given plugin type, from the {@link PluginMetadataCache} if the plugin has not changed
+    * since it was last inspected.
+    */
    public PluginMetadata getMetadataFor(final Class<? extends Plugin> plugin)
    {
+      PluginMetadataImpl cached = cache.get(plugin);
+      if (cached != null)
+      {
+         return cached;
+      }
+
       String name = getPluginName(plugin);
 
       PluginMetadataImpl pluginMeta = new PluginMetadataImpl();
@@ -110,7 +137,8 @@ public class CommandLibraryExtension implements Extension
          pluginMeta.setTopic(Annotations.getAnnotation(plugin, Topic.class).value());
       }
 
-      processPluginCommands(pluginMeta, plugin);
+      List<CommandMetadata> commands = processPluginCommands(pluginMeta, plugin);
+      cache.put(plugin, pluginMeta, commands);
 
       return pluginMeta;
    }
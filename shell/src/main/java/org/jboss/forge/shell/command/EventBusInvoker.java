@@ -6,13 +6,23 @@
  */
 package org.jboss.forge.shell.command;
 
+import java.util.List;
+
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.jboss.forge.bus.EventBus;
+import org.jboss.forge.bus.EventBusQueuedException;
+import org.jboss.forge.bus.event.Async;
+import org.jboss.forge.shell.Shell;
+import org.jboss.forge.shell.ShellMessages;
 import org.jboss.forge.shell.events.CommandExecuted;
+import org.jboss.forge.shell.events.PreShutdown;
 
 /**
+ * Fires queued events once a command has executed. Failures of {@link Async} observers are reported after the next
+ * command, or when the shell exits, at which point all pending deliveries are awaited.
+ * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  * 
  */
@@ -21,9 +31,38 @@ public class EventBusInvoker
    @Inject
    private EventBus bus;
 
+   @Inject
+   private Shell shell;
+
    @SuppressWarnings("unused")
    private void fire(@Observes final CommandExecuted event)
    {
       bus.fireAll();
+      report(bus.takeAsyncFailures());
+   }
+
+   @SuppressWarnings("unused")
+   private void drain(@Observes final PreShutdown event)
+   {
+      try
+      {
+         bus.drain();
+      }
+      catch (EventBusQueuedException e)
+      {
+         report(e.getQueuedExceptions());
+      }
+   }
+
+   private void report(final List<Exception> failures)
+   {
+      for (Exception e : failures)
+      {
+         ShellMessages.error(shell, "An asynchronous event observer failed: " + e.getMessage());
+         if (shell.isVerbose())
+         {
+            e.printStackTrace();
+         }
+      }
    }
 }
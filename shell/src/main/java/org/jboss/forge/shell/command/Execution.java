@@ -43,6 +43,11 @@ public class Execution
 
    private boolean scriptOnly;
 
+   /**
+    * The outcome of the plugin method, or null if it was not invoked.
+    */
+   private volatile Status status;
+
    @Inject
    public Execution(final BeanManager manager)
    {
@@ -67,8 +72,27 @@ public class Execution
       }
    }
 
-   @SuppressWarnings("unchecked")
+   /**
+    * Invoke the command, then fire the events reporting its outcome.
+    */
    public void perform(final PipeOut pipeOut)
+   {
+      try
+      {
+         invoke(pipeOut);
+      }
+      finally
+      {
+         complete();
+      }
+   }
+
+   /**
+    * Invoke the command without firing the events reporting its outcome, so that it may run on another thread than the
+    * shell; {@link #complete()} must then be called on the shell thread.
+    */
+   @SuppressWarnings("unchecked")
+   public void invoke(final PipeOut pipeOut)
    {
       if (command != null)
       {
@@ -126,7 +150,7 @@ public class Execution
             {
                plugin = (Plugin) manager.getReference(bean, pluginType, context);
 
-               Status status = Status.FAILURE;
+               status = Status.FAILURE;
                ClassLoader current = Thread.currentThread().getContextClassLoader();
                try
                {
@@ -141,17 +165,26 @@ public class Execution
                finally
                {
                   Thread.currentThread().setContextClassLoader(current);
-                  manager.fireEvent(new CommandExecuted(status, command, originalStatement, parameterArray),
-                           new Annotation[] {});
                }
             }
          }
       }
-      else
+   }
+
+   /**
+    * Fire the events reporting the outcome of {@link #invoke(PipeOut)}.
+    */
+   public void complete()
+   {
+      if (command == null)
       {
          manager.fireEvent(new CommandMissing(originalStatement, parameterArray));
       }
-
+      else if (status != null)
+      {
+         manager.fireEvent(new CommandExecuted(status, command, originalStatement, parameterArray),
+                  new Annotation[] {});
+      }
    }
 
    private static boolean isBooleanOption(final Class<?> type)
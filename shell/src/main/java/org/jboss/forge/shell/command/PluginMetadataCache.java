@@ -0,0 +1,523 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.command;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.jboss.forge.shell.PromptType;
+import org.jboss.forge.shell.completer.CommandCompleter;
+import org.jboss.forge.shell.plugins.Option;
+import org.jboss.forge.shell.plugins.Plugin;
+import org.jboss.forge.shell.util.OSUtils;
+
+/**
+ * Stores the {@link PluginMetadata} built by {@link CommandLibraryExtension}, so that plugins whose classes have not
+ * changed need not be inspected again on the next boot. Each entry is keyed by plugin class name and by a fingerprint
+ * of the jars or class files that define the plugin, its superclasses, the annotations and completers they use, and
+ * the plugin API; an entry whose fingerprint no longer matches is ignored, and the plugin is inspected as usual.
+ * <p>
+ * The cache is kept in <code>~/.forge/plugin-metadata.cache</code>, and can be disabled with
+ * <code>-Dforge.metadata.cache.disable=true</code>.
+ */
+public class PluginMetadataCache
+{
+   public static final String PROP_DISABLE = "forge.metadata.cache.disable";
+
+   private static final String CACHE_FILE = ".forge/plugin-metadata.cache";
+   private static final int VERSION = 1;
+
+   private static final Map<String, Class<?>> PRIMITIVES = new HashMap<String, Class<?>>();
+   static
+   {
+      for (Class<?> type : new Class<?>[] { boolean.class, byte.class, char.class, short.class, int.class, long.class,
+               float.class, double.class })
+      {
+         PRIMITIVES.put(type.getName(), type);
+      }
+   }
+
+   private final File file;
+   private final boolean enabled;
+
+   private final Map<String, CachedPlugin> loaded = new HashMap<String, CachedPlugin>();
+   private final Map<String, CachedPlugin> used = new LinkedHashMap<String, CachedPlugin>();
+   private boolean changed = false;
+   private boolean read = false;
+
+   public PluginMetadataCache()
+   {
+      this(new File(OSUtils.getUserHomeDir(), CACHE_FILE), !Boolean.getBoolean(PROP_DISABLE));
+   }
+
+   public PluginMetadataCache(final File file, final boolean enabled)
+   {
+      this.file = file;
+      this.enabled = enabled;
+   }
+
+   /**
+    * Return the cached metadata for the given plugin type, or null if there is none or the plugin has changed since it
+    * was cached.
+    */
+   public PluginMetadataImpl get(final Class<? extends Plugin> plugin)
+   {
+      if (!enabled)
+      {
+         return null;
+      }
+      read();
+
+      String fingerprint = fingerprint(plugin);
+      CachedPlugin cached = loaded.get(plugin.getName());
+      if ((fingerprint == null) || (cached == null) || !fingerprint.equals(cached.fingerprint))
+      {
+         return null;
+      }
+
+      try
+      {
+         PluginMetadataImpl result = decode(plugin, cached.data);
+         used.put(plugin.getName(), cached);
+         return result;
+      }
+      catch (Exception e)
+      {
+         // anything that cannot be restored is simply inspected again
+         return null;
+      }
+   }
+
+   /**
+    * Cache the metadata of the given plugin type, with its commands in declaration order.
+    */
+   public void put(final Class<? extends Plugin> plugin, final PluginMetadataImpl metadata,
+            final List<CommandMetadata> commands)
+   {
+      if (!enabled)
+      {
+         return;
+      }
+
+      String fingerprint = fingerprint(plugin);
+      if (fingerprint != null)
+      {
+         try
+         {
+            used.put(plugin.getName(), new CachedPlugin(fingerprint, encode(metadata, commands)));
+            changed = true;
+         }
+         catch (IOException e)
+         {
+            // not cacheable; the plugin will be inspected again next time
+         }
+      }
+   }
+
+   /**
+    * Write the entries used since this cache was created, if any of them changed. Entries of plugins that were not
+    * seen are dropped.
+    */
+   public void save()
+   {
+      if (!enabled || (!changed && (used.size() == loaded.size())))
+      {
+         return;
+      }
+
+      try
+      {
+         file.getParentFile().mkdirs();
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+         try
+         {
+            out.writeInt(VERSION);
+            out.writeInt(used.size());
+            for (Entry<String, CachedPlugin> entry : used.entrySet())
+            {
+               out.writeUTF(entry.getKey());
+               out.writeUTF(entry.getValue().fingerprint);
+               out.writeInt(entry.getValue().data.length);
+               out.write(entry.getValue().data);
+            }
+         }
+         finally
+         {
+            out.close();
+         }
+      }
+      catch (IOException e)
+      {
+         // the cache is only an optimization
+         file.delete();
+      }
+   }
+
+   private void read()
+   {
+      if (read)
+      {
+         return;
+      }
+      read = true;
+
+      if (file.isFile())
+      {
+         try
+         {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try
+            {
+               if (in.readInt() == VERSION)
+               {
+                  int count = in.readInt();
+                  for (int i = 0; i < count; i++)
+                  {
+                     String name = in.readUTF();
+                     String fingerprint = in.readUTF();
+                     byte[] data = new byte[in.readInt()];
+                     in.readFully(data);
+                     loaded.put(name, new CachedPlugin(fingerprint, data));
+                  }
+               }
+            }
+            finally
+            {
+               in.close();
+            }
+         }
+         catch (IOException e)
+         {
+            // a damaged cache is simply rebuilt
+            loaded.clear();
+         }
+      }
+   }
+
+   /*
+    * Fingerprinting
+    */
+   private String fingerprint(final Class<?> plugin)
+   {
+      Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+      types.add(Plugin.class);
+      for (Class<?> type = plugin; (type != null) && (type != Object.class); type = type.getSuperclass())
+      {
+         types.add(type);
+         addAnnotationTypes(types, type.getAnnotations());
+         for (Method method : type.getDeclaredMethods())
+         {
+            addAnnotationTypes(types, method.getAnnotations());
+            for (Annotation[] parameter : method.getParameterAnnotations())
+            {
+               addAnnotationTypes(types, parameter);
+            }
+         }
+      }
+
+      Set<File> sources = new LinkedHashSet<File>();
+      for (Class<?> type : types)
+      {
+         if (type.getClassLoader() != null)
+         {
+            File source = getSourceFile(type);
+            if (source == null)
+            {
+               return null;
+            }
+            sources.add(source);
+         }
+      }
+
+      StringBuilder result = new StringBuilder();
+      for (File source : sources)
+      {
+         result.append(source.getPath()).append(':').append(source.length()).append(':')
+                  .append(source.lastModified()).append(';');
+      }
+      return result.toString();
+   }
+
+   /**
+    * Add the types of the given annotations, of the annotations on them (as with stereotypes), and of the completers
+    * they name, since all of them shape the metadata of a plugin.
+    */
+   private void addAnnotationTypes(final Set<Class<?>> types, final Annotation[] annotations)
+   {
+      for (Annotation annotation : annotations)
+      {
+         if (annotation instanceof Option)
+         {
+            types.add(((Option) annotation).completer());
+         }
+         if (types.add(annotation.annotationType()))
+         {
+            addAnnotationTypes(types, annotation.annotationType().getAnnotations());
+         }
+      }
+   }
+
+   /**
+    * Return the jar or class file from which the given type was loaded, or null if it cannot be determined.
+    */
+   private File getSourceFile(final Class<?> type)
+   {
+      try
+      {
+         CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+         URL location = codeSource == null ? null : codeSource.getLocation();
+         if ((location != null) && "jar".equals(location.getProtocol()))
+         {
+            // module jars are located as jar:file:/path/to.jar!/
+            String path = location.getPath();
+            int separator = path.indexOf("!/");
+            location = new URL(separator == -1 ? path : path.substring(0, separator));
+         }
+         if ((location == null) || !"file".equals(location.getProtocol()))
+         {
+            return null;
+         }
+
+         File source = new File(location.toURI());
+         if (source.isDirectory())
+         {
+            source = new File(source, type.getName().replace('.', File.separatorChar) + ".class");
+         }
+         return source.exists() ? source : null;
+      }
+      catch (SecurityException e)
+      {
+         return null;
+      }
+      catch (URISyntaxException e)
+      {
+         return null;
+      }
+      catch (MalformedURLException e)
+      {
+         return null;
+      }
+      catch (IllegalArgumentException e)
+      {
+         return null;
+      }
+   }
+
+   /*
+    * Encoding
+    */
+   private byte[] encode(final PluginMetadataImpl plugin, final List<CommandMetadata> commands) throws IOException
+   {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+
+      out.writeUTF(plugin.getName());
+      writeString(out, plugin.getHelp());
+      writeString(out, plugin.getTopic());
+      writeTypes(out, new ArrayList<Class<?>>(plugin.getResourceScopes()));
+
+      out.writeInt(commands.size());
+      for (CommandMetadata command : commands)
+      {
+         Method method = command.getMethod();
+         out.writeUTF(method.getName());
+         List<Class<?>> parameterTypes = new ArrayList<Class<?>>();
+         for (Class<?> type : method.getParameterTypes())
+         {
+            parameterTypes.add(type);
+         }
+         writeTypes(out, parameterTypes);
+
+         writeString(out, command.getName());
+         writeString(out, command.getHelp());
+         out.writeBoolean(command.isDefault());
+         out.writeBoolean(command.isSetup());
+         writeTypes(out, new ArrayList<Class<?>>(command.getResourceScopes()));
+
+         List<OptionMetadata> options = command.getOptions();
+         out.writeInt(options.size());
+         for (OptionMetadata option : options)
+         {
+            out.writeBoolean(option.getParent() != null);
+            writeString(out, option.getName());
+            writeString(out, option.getShortName());
+            out.writeBoolean(option.isFlagOnly());
+            writeString(out, option.getDescription());
+            writeString(out, option.getDefaultValue());
+            writeString(out, option.getHelp());
+            out.writeBoolean(option.isRequired());
+            writeString(out, option.getPromptType() == null ? null : option.getPromptType().name());
+            writeString(out, option.getCompleterType() == null ? null : option.getCompleterType().getName());
+            out.writeBoolean(option.isPipeIn());
+            out.writeBoolean(option.isPipeOut());
+         }
+      }
+
+      out.close();
+      return bytes.toByteArray();
+   }
+
+   @SuppressWarnings({ "unchecked", "rawtypes" })
+   private PluginMetadataImpl decode(final Class<? extends Plugin> plugin, final byte[] data) throws IOException,
+            ClassNotFoundException, NoSuchMethodException
+   {
+      ClassLoader loader = plugin.getClassLoader();
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+
+      PluginMetadataImpl pluginMeta = new PluginMetadataImpl();
+      pluginMeta.setName(in.readUTF());
+      pluginMeta.setType(plugin);
+      pluginMeta.setHelp(readString(in));
+      String topic = readString(in);
+      if (topic != null)
+      {
+         pluginMeta.setTopic(topic);
+      }
+      List scopes = readTypes(in, loader);
+      if (!scopes.isEmpty())
+      {
+         pluginMeta.setResourceScopes(scopes);
+      }
+
+      List<CommandMetadata> commands = new ArrayList<CommandMetadata>();
+      int commandCount = in.readInt();
+      for (int c = 0; c < commandCount; c++)
+      {
+         String methodName = in.readUTF();
+         List<Class<?>> parameterTypes = readTypes(in, loader);
+         Method method = plugin.getMethod(methodName, parameterTypes.toArray(new Class<?>[parameterTypes.size()]));
+
+         CommandMetadataImpl commandMeta = new CommandMetadataImpl();
+         commandMeta.setMethod(method);
+         commandMeta.setParent(pluginMeta);
+         commandMeta.setName(readString(in));
+         commandMeta.setHelp(readString(in));
+         commandMeta.setDefault(in.readBoolean());
+         commandMeta.setSetup(in.readBoolean());
+         List commandScopes = readTypes(in, loader);
+         if (!commandScopes.isEmpty())
+         {
+            commandMeta.setResourceScopes(commandScopes);
+         }
+
+         int optionCount = in.readInt();
+         for (int i = 0; i < optionCount; i++)
+         {
+            OptionMetadataImpl optionMeta = new OptionMetadataImpl();
+            optionMeta.setType(parameterTypes.get(i));
+            optionMeta.setIndex(i);
+            if (in.readBoolean())
+            {
+               optionMeta.setParent(commandMeta);
+            }
+            optionMeta.setName(readString(in));
+            optionMeta.setShortName(readString(in));
+            optionMeta.setFlagOnly(in.readBoolean());
+            optionMeta.setDescription(readString(in));
+            optionMeta.setDefaultValue(readString(in));
+            optionMeta.setHelp(readString(in));
+            optionMeta.setRequired(in.readBoolean());
+            String promptType = readString(in);
+            if (promptType != null)
+            {
+               optionMeta.setPromptType(PromptType.valueOf(promptType));
+            }
+            String completerType = readString(in);
+            if (completerType != null)
+            {
+               optionMeta.setCompleterType((Class<? extends CommandCompleter>) Class.forName(completerType, false,
+                        loader));
+            }
+            optionMeta.setPipeIn(in.readBoolean());
+            optionMeta.setPipeOut(in.readBoolean());
+            commandMeta.addOption(optionMeta);
+         }
+         commands.add(commandMeta);
+      }
+
+      pluginMeta.addCommands(commands);
+      return pluginMeta;
+   }
+
+   private static void writeString(final DataOutputStream out, final String value) throws IOException
+   {
+      out.writeBoolean(value != null);
+      if (value != null)
+      {
+         out.writeUTF(value);
+      }
+   }
+
+   private static String readString(final DataInputStream in) throws IOException
+   {
+      return in.readBoolean() ? in.readUTF() : null;
+   }
+
+   private static void writeTypes(final DataOutputStream out, final List<Class<?>> types) throws IOException
+   {
+      out.writeInt(types.size());
+      for (Class<?> type : types)
+      {
+         out.writeUTF(type.getName());
+      }
+   }
+
+   private static List<Class<?>> readTypes(final DataInputStream in, final ClassLoader loader) throws IOException,
+            ClassNotFoundException
+   {
+      int count = in.readInt();
+      List<Class<?>> result = new ArrayList<Class<?>>(count);
+      for (int i = 0; i < count; i++)
+      {
+         result.add(loadType(in.readUTF(), loader));
+      }
+      return result;
+   }
+
+   private static Class<?> loadType(final String name, final ClassLoader loader) throws ClassNotFoundException
+   {
+      if (PRIMITIVES.containsKey(name))
+      {
+         return PRIMITIVES.get(name);
+      }
+      return Class.forName(name, false, loader);
+   }
+
+   private static class CachedPlugin
+   {
+      private final String fingerprint;
+      private final byte[] data;
+
+      public CachedPlugin(final String fingerprint, final byte[] data)
+      {
+         this.fingerprint = fingerprint;
+         this.data = data;
+      }
+   }
+}
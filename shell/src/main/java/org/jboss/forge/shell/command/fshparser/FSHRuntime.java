@@ -6,8 +6,11 @@
  */
 package org.jboss.forge.shell.command.fshparser;
 
+import java.io.InputStream;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
@@ -18,6 +21,8 @@ import org.jboss.forge.shell.command.Execution;
 import org.jboss.forge.shell.command.ExecutionParser;
 import org.jboss.forge.shell.command.PluginRegistry;
 import org.jboss.forge.shell.plugins.PipeOut;
+import org.jboss.forge.shell.util.BrokenPipeException;
+import org.jboss.forge.shell.util.PipeBuffer;
 import org.jboss.forge.shell.util.PipeOutImpl;
 
 /**
@@ -30,6 +35,7 @@ public class FSHRuntime
    private final PluginRegistry pluginRegistry;
    private final Instance<Execution> executionInstance;
    private final ExecutionParser executionParser;
+   private final Set<Stage> stages = new CopyOnWriteArraySet<Stage>();
 
    @Inject
    public FSHRuntime(Shell shell, PluginRegistry pluginRegistry,
@@ -47,11 +53,15 @@ public class FSHRuntime
       run(new FSHParser(str).parse(), null);
    }
 
-   public void run(final Node startNode, final PipeOut forwardPipe)
+   /**
+    * Run the given statements, reading the given input, if any. A statement piped into another runs on its own thread,
+    * streaming its output to the next statement through a bounded {@link PipeBuffer}, so that no stage waits for the
+    * previous one to complete, nor holds all of its output in memory.
+    */
+   public void run(final Node startNode, final InputStream pipeIn)
    {
       AutoReducingQueue arQueue;
       Node n = startNode;
-      PipeOut lastPipe = null;
 
       do
       {
@@ -61,13 +71,7 @@ public class FSHRuntime
          }
          else if (n instanceof PipeNode)
          {
-            if (lastPipe == null)
-            {
-               throw new RuntimeException("broken pipe");
-            }
-
-            run(((PipeNode) n).getNest(), lastPipe);
-            continue;
+            throw new RuntimeException("broken pipe");
          }
          else
          {
@@ -86,14 +90,6 @@ public class FSHRuntime
 
          if (!outQueue.isEmpty())
          {
-            PipeOut pipeOut = new PipeOutImpl(shell);
-
-            if (n.next != null && n.next instanceof PipeNode)
-            {
-               pipeOut.setPiped(true);
-               lastPipe = pipeOut;
-            }
-
             Node x = n;
             while (x instanceof LogicalStatement && (x = ((LogicalStatement) x).nest) != null)
             {
@@ -103,15 +99,99 @@ public class FSHRuntime
                }
             }
 
-            String pipeIn = forwardPipe != null ? forwardPipe.getBuffer() : null;
-            Execution execution = executionParser.parse(outQueue, pipeIn, pipeOut);
-            execution.verifyConstraints(shell);
-            execution.perform(forwardPipe);
+            if (n.next instanceof PipeNode)
+            {
+               PipeBuffer pipe = new PipeBuffer();
+               PipeOut pipeOut = new PipeOutImpl(shell, pipe);
+               Execution execution = executionParser.parse(outQueue, pipeIn, pipeOut);
+               execution.verifyConstraints(shell);
+
+               n = n.next;
+               runPiped(new Stage(execution, pipeOut, pipe), ((PipeNode) n).getNest());
+            }
+            else
+            {
+               PipeOut pipeOut = new PipeOutImpl(shell);
+               Execution execution = executionParser.parse(outQueue, pipeIn, pipeOut);
+               execution.verifyConstraints(shell);
+               execution.perform(pipeOut);
+            }
          }
       }
       while ((n = n.next) != null);
    }
 
+   /**
+    * Run the given stage on its own thread, while running the given statements on this thread, reading its output.
+    */
+   private void runPiped(final Stage stage, final Node next)
+   {
+      stages.add(stage);
+      stage.start();
+      try
+      {
+         run(next, stage.pipe.getInputStream());
+      }
+      finally
+      {
+         /*
+          * The next statements may not read all of the output; stop the stage writing it.
+          */
+         stage.pipe.closeReader();
+         join(stage);
+
+         /*
+          * Observers of the outcome of a command, such as the event bus, expect to be notified on the shell thread.
+          */
+         stage.execution.complete();
+      }
+
+      if (stage.failure instanceof RuntimeException)
+      {
+         throw (RuntimeException) stage.failure;
+      }
+      else if (stage.failure instanceof Error)
+      {
+         throw (Error) stage.failure;
+      }
+      else if (stage.failure != null)
+      {
+         throw new RuntimeException(stage.failure);
+      }
+   }
+
+   private void join(final Stage stage)
+   {
+      boolean interrupted = false;
+      while (stage.isAlive())
+      {
+         try
+         {
+            stage.join();
+         }
+         catch (InterruptedException e)
+         {
+            interrupted = true;
+            stage.interrupt();
+         }
+      }
+      if (interrupted)
+      {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   /**
+    * Interrupt the statements running on their own threads, as part of a pipeline.
+    */
+   public void interrupt()
+   {
+      for (Stage stage : stages.toArray(new Stage[0]))
+      {
+         stage.interrupt();
+      }
+   }
+
    public void shell(String command)
    {
       run(command);
@@ -131,4 +211,46 @@ public class FSHRuntime
    {
       return executionInstance;
    }
+
+   /**
+    * A statement piped into another, run on its own thread. Only the command itself runs on that thread; the events
+    * reporting its outcome are fired on the shell thread once the stage has ended.
+    */
+   private class Stage extends Thread
+   {
+      private final Execution execution;
+      private final PipeOut pipeOut;
+      private final PipeBuffer pipe;
+      private volatile Throwable failure;
+
+      public Stage(final Execution execution, final PipeOut pipeOut, final PipeBuffer pipe)
+      {
+         super("Forge pipe [" + execution.getOriginalStatement() + "]");
+         this.execution = execution;
+         this.pipeOut = pipeOut;
+         this.pipe = pipe;
+         setDaemon(true);
+      }
+
+      @Override
+      public void run()
+      {
+         try
+         {
+            execution.invoke(pipeOut);
+         }
+         catch (Throwable e)
+         {
+            if (!BrokenPipeException.isCause(e))
+            {
+               failure = e;
+            }
+         }
+         finally
+         {
+            pipe.closeWriter();
+            stages.remove(this);
+         }
+      }
+   }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.plugins.builtin;
+
+import javax.inject.Inject;
+
+import org.jboss.forge.maven.dependencies.DependencyMetadataCache;
+import org.jboss.forge.maven.facets.MavenContainer;
+import org.jboss.forge.maven.facets.MavenModelCache;
+import org.jboss.forge.project.services.ResourceFactory;
+import org.jboss.forge.resources.java.JavaSourceCache;
+import org.jboss.forge.shell.ShellColor;
+import org.jboss.forge.shell.plugins.Alias;
+import org.jboss.forge.shell.plugins.Command;
+import org.jboss.forge.shell.plugins.DefaultCommand;
+import org.jboss.forge.shell.plugins.Help;
+import org.jboss.forge.shell.plugins.PipeOut;
+import org.jboss.forge.shell.plugins.Plugin;
+import org.jboss.forge.shell.plugins.Topic;
+
+/**
+ * Displays statistics about, and flushes, the caches used internally by Forge.
+ */
+@Alias("cache")
+@Topic("Shell Environment")
+@Help("Display statistics about, or flush, the caches used internally by Forge.")
+public class CachePlugin implements Plugin
+{
+   @Inject
+   private MavenModelCache modelCache;
+
+   @Inject
+   private MavenContainer container;
+
+   @Inject
+   private DependencyMetadataCache dependencyCache;
+
+   @Inject
+   private ResourceFactory resourceFactory;
+
+   @DefaultCommand(help = "Display cache statistics")
+   public void stats(final PipeOut out)
+   {
+      out.println(ShellColor.BOLD, "POM models:");
+      printStat(out, "entries", modelCache.size());
+      printStat(out, "hits", modelCache.getHits());
+      printStat(out, "misses", modelCache.getMisses());
+      printStat(out, "parse time (ms)", modelCache.getParseTime());
+
+      out.println(ShellColor.BOLD, "Dependency versions & metadata:");
+      printStat(out, "hits", dependencyCache.getHits());
+      printStat(out, "stale hits", dependencyCache.getStaleHits());
+      printStat(out, "misses", dependencyCache.getMisses());
+
+      JavaSourceCache javaSourceCache = resourceFactory.getJavaSourceCache();
+      out.println(ShellColor.BOLD, "Java sources:");
+      printStat(out, "entries", javaSourceCache.size());
+      printStat(out, "hits", javaSourceCache.getHits());
+      printStat(out, "misses", javaSourceCache.getMisses());
+   }
+
+   @Command(value = "flush", help = "Discard all cached data (including Maven settings and repository sessions) and reset statistics")
+   public void flush(final PipeOut out)
+   {
+      modelCache.clear();
+      container.flush();
+      dependencyCache.clear();
+      resourceFactory.getJavaSourceCache().clear();
+      out.println("Caches flushed.");
+   }
+
+   private void printStat(final PipeOut out, final String name, final long value)
+   {
+      out.print("   " + name + ": ");
+      out.println(String.valueOf(value));
+   }
+}
@@ -35,10 +35,10 @@ public class ConcatenatePlugin implements Plugin
             final PipeOut out // pipe out
    ) throws IOException
    {
-      String lastBuf = null;
+      int last = -1;
       if (in != null)
       {
-         lastBuf = writeOutToConsole(in, out);
+         last = writeOutToConsole(in, out);
       }
 
       if (paths != null)
@@ -52,7 +52,11 @@ public class ConcatenatePlugin implements Plugin
                is = res.getResourceInputStream();
                if (is != null)
                {
-                  lastBuf = writeOutToConsole(is, out);
+                  int written = writeOutToConsole(is, out);
+                  if (written != -1)
+                  {
+                     last = written;
+                  }
                }
             }
             finally
@@ -62,23 +66,28 @@ public class ConcatenatePlugin implements Plugin
          }
       }
 
-      if (lastBuf == null || lastBuf.charAt(lastBuf.length() - 1) != '\n')
+      if (last != '\n')
       {
          out.println();
       }
    }
 
-   private static String writeOutToConsole(InputStream istream, PipeOut out) throws IOException
+   /**
+    * Copy the given stream to the given {@link PipeOut}, returning the last byte written, or -1 if the stream is empty.
+    */
+   private static int writeOutToConsole(InputStream istream, PipeOut out) throws IOException
    {
-      byte[] buf = new byte[10];
+      byte[] buf = new byte[Streams.BUFFER_SIZE];
       int read;
-      String s = null;
+      int last = -1;
       while ((read = istream.read(buf)) != -1)
       {
-         out.print(s = new String(buf, 0, read));
+         if (read > 0)
+         {
+            out.write(buf, 0, read);
+            last = buf[read - 1];
+         }
       }
-
-      return s;
-
+      return last;
    }
 }
@@ -6,6 +6,10 @@
  */
 package org.jboss.forge.shell.plugins.builtin;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -14,6 +18,7 @@ import org.jboss.forge.project.services.ResourceFactory;
 import org.jboss.forge.resources.DirectoryResource;
 import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceException;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.Current;
 import org.jboss.forge.shell.plugins.DefaultCommand;
@@ -88,7 +93,7 @@ public class CopyPlugin implements Plugin
                targetResource = targetResource.getChild(source.getName());
             }
          }
-         ((FileResource<?>) targetResource).setContents(source.getResourceInputStream());
+         ((FileResource<?>) targetResource).setContents(openStream(source));
       }
    }
 
@@ -128,17 +133,33 @@ public class CopyPlugin implements Plugin
             if (child == null)
             {
                ((DirectoryResource) targetResource).getOrCreateChildDirectory(source.getName()).setContents(
-                        source.getResourceInputStream());
+                        openStream(source));
             }
             else
             {
-               ((FileResource<?>) child).setContents(source.getResourceInputStream());
+               ((FileResource<?>) child).setContents(openStream(source));
             }
             newTargetDir = (DirectoryResource) targetResource;
          }
       }
    }
 
+   /**
+    * Open the given file directly, so that its contents can be transferred to the target by the file system.
+    */
+   private InputStream openStream(final Resource<?> source)
+   {
+      File file = (File) source.getUnderlyingResourceObject();
+      try
+      {
+         return new FileInputStream(file);
+      }
+      catch (FileNotFoundException e)
+      {
+         throw new ResourceException("cannot obtain stream to file: file does not exist: " + file.getAbsolutePath());
+      }
+   }
+
    private boolean isFile(Resource<?> source)
    {
       return source instanceof FileResource;
@@ -6,9 +6,16 @@
  */
 package org.jboss.forge.shell.plugins.builtin;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.regex.Pattern;
 
+import javax.inject.Inject;
+
+import org.jboss.forge.project.services.ResourceFactory;
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.DirectoryWalker;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.DefaultCommand;
@@ -17,6 +24,7 @@ import org.jboss.forge.shell.plugins.Option;
 import org.jboss.forge.shell.plugins.PipeOut;
 import org.jboss.forge.shell.plugins.Plugin;
 import org.jboss.forge.shell.plugins.Topic;
+import org.jboss.forge.shell.util.PathspecParser;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -26,26 +34,117 @@ import org.jboss.forge.shell.plugins.Topic;
 @Help("Lists all resources recursively from the given resource.")
 public class FindPlugin implements Plugin
 {
+   private final ResourceFactory factory;
+
+   @Inject
+   public FindPlugin(final ResourceFactory factory)
+   {
+      this.factory = factory;
+   }
+
    @DefaultCommand
    public void run(
             @Option(description = "The starting resource to be listed",
                      defaultValue = ".") final Resource<?> r,
-            PipeOut out)
+            @Option(name = "name",
+                     description = "Only list resources whose names match the given pattern, such as *.java")
+            final String name,
+            @Option(name = "regex", flagOnly = true,
+                     description = "Match names against the given pattern as a regular expression") final boolean regex,
+            @Option(name = "depth",
+                     description = "The maximum number of levels to list below the starting resource")
+            final Integer depth,
+            @Option(name = "files", shortName = "f", flagOnly = true,
+                     description = "Do not list the members of files, such as the methods of Java sources")
+            final boolean filesOnly,
+            @Option(name = "parallel", flagOnly = true,
+                     description = "Read directories concurrently") final boolean parallel,
+            final PipeOut out)
             throws IOException
    {
-      listResources(out, r);
+      Pattern pattern = null;
+      if (name != null)
+      {
+         pattern = Pattern.compile(regex ? name : PathspecParser.pathspecToRegEx(name));
+      }
+      int maxDepth = depth == null ? Integer.MAX_VALUE : depth;
+
+      if (matches(pattern, r))
+      {
+         out.println(r.getFullyQualifiedName());
+      }
+
+      if (r instanceof DirectoryResource)
+      {
+         walk(out, (DirectoryResource) r, pattern, maxDepth, filesOnly, parallel);
+      }
+      else if (!filesOnly)
+      {
+         listMembers(out, r, pattern, maxDepth);
+      }
+   }
+
+   /**
+    * List the files below the given directory without creating resources for them, then list the members of each file
+    * unless only files are requested.
+    */
+   private void walk(final PipeOut out, final DirectoryResource dir, final Pattern pattern, final int maxDepth,
+            final boolean filesOnly, final boolean parallel)
+   {
+      final String root = DirectoryWalker.getPathPrefix(dir);
+
+      DirectoryWalker walker = dir.walker().setMaxDepth(maxDepth).setParallel(parallel);
+      if (filesOnly)
+      {
+         walker.setNamePattern(pattern);
+      }
+
+      walker.walk(new DirectoryWalker.Visitor()
+      {
+         @Override
+         public void visit(final File file, final String path, final boolean directory)
+         {
+            if (filesOnly || (pattern == null) || pattern.matcher(file.getName()).matches())
+            {
+               out.println(root + path);
+            }
+
+            if (!filesOnly && !directory)
+            {
+               int level = 1;
+               for (int i = path.indexOf('/'); i != -1; i = path.indexOf('/', i + 1))
+               {
+                  level++;
+               }
+               listMembers(out, factory.getResourceFrom(file), pattern, maxDepth - level);
+            }
+         }
+      });
    }
 
-   private void listResources(PipeOut out, Resource<?> r)
+   private void listMembers(final PipeOut out, final Resource<?> r, final Pattern pattern, final int maxDepth)
    {
+      if (maxDepth <= 0)
+      {
+         return;
+      }
+
       List<Resource<?>> list = r.listResources();
-      out.println(r.getFullyQualifiedName());
-      if (list != null && !list.isEmpty())
+      if (list != null)
       {
          for (Resource<?> resource : list)
          {
-            listResources(out, resource);
+            if (matches(pattern, resource))
+            {
+               out.println(resource.getFullyQualifiedName());
+            }
+            listMembers(out, resource, pattern, maxDepth - 1);
          }
       }
    }
+
+   private static boolean matches(final Pattern pattern, final Resource<?> resource)
+   {
+      return (pattern == null) || pattern.matcher(resource.getName()).matches();
+   }
 }
@@ -6,9 +6,12 @@
  */
 package org.jboss.forge.shell.plugins.builtin;
 
+import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
 import org.jboss.forge.resources.ResourceFlag;
 import org.jboss.forge.shell.plugins.*;
+import org.jboss.forge.shell.util.Files;
+import org.jboss.forge.shell.util.Streams;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -55,6 +58,12 @@ public class FingerprintPlugin implements Plugin
                   continue;
 
                names.append(r.getName()).append(" ");
+               if (r instanceof FileResource<?>)
+               {
+                  Files.digest(((FileResource<?>) r).getUnderlyingResourceObject(), md);
+                  continue;
+               }
+
                try
                {
                   fingerprint(inputStream = r.getResourceInputStream(), md);
@@ -90,10 +99,6 @@ public class FingerprintPlugin implements Plugin
 
    private void fingerprint(InputStream instream, MessageDigest md) throws IOException
    {
-      byte b;
-      while ((b = (byte) instream.read()) != -1)
-      {
-         md.update(b);
-      }
+      Streams.digest(instream, md);
    }
 }
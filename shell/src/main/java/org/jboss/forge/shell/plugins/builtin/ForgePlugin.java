@@ -14,6 +14,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.UUID;
 
 import javax.enterprise.event.Event;
@@ -750,13 +751,13 @@ public class ForgePlugin implements Plugin
       List<DependencyResource> pluginDependencies = new ArrayList<DependencyResource>();
       List<Dependency> effectiveDependenciesInScopes = deps.getEffectiveDependenciesInScopes(ScopeType.COMPILE,
                ScopeType.RUNTIME);
+      List<Dependency> toResolve = new ArrayList<Dependency>();
       for (Dependency d : effectiveDependenciesInScopes)
       {
          if (d.getPackagingTypeEnum().equals(PackagingType.JAR)
                   && !d.getGroupId().equals("org.jboss.forge"))
          {
-            List<DependencyResource> artifacts = resolveArtifacts(project, d);
-            pluginDependencies.addAll(artifacts);
+            toResolve.add(d);
          }
          // TODO encapsulate this?
          if (DependencyBuilder.areEquivalent(d, DependencyBuilder.create("org.jboss.forge:forge-javaee-api")))
@@ -784,6 +785,7 @@ public class ForgePlugin implements Plugin
                               + "] - this is not allowed and may cause failures.");
          }
       }
+      pluginDependencies.addAll(resolveArtifacts(project, toResolve));
       return pluginDependencies;
    }
 
@@ -832,32 +834,37 @@ public class ForgePlugin implements Plugin
       moduleXml.setContents(XMLParser.toXMLString(module));
    }
 
-   private List<DependencyResource> resolveArtifacts(final Project project, final Dependency dep)
+   private List<DependencyResource> resolveArtifacts(final Project project, final List<Dependency> dependencies)
    {
-      Dependency d = dep;
-
-      List<DependencyResource> artifacts = new ArrayList<DependencyResource>();
       DependencyFacet deps = project.getFacet(DependencyFacet.class);
+      List<Dependency> directDependencies = deps.getDependencies();
 
-      for (Dependency d2 : deps.getDependencies())
+      List<Dependency> queries = new ArrayList<Dependency>();
+      for (Dependency d : dependencies)
       {
-         if (DependencyBuilder.areEquivalent(d, d2) && (d2.getVersion() != null))
+         for (Dependency d2 : directDependencies)
          {
-            d = d2;
-            break;
+            if (DependencyBuilder.areEquivalent(d, d2) && (d2.getVersion() != null))
+            {
+               d = d2;
+               break;
+            }
          }
+         queries.add(d);
       }
 
-      if (artifacts.size() != 1)
-      {
-         artifacts = resolver.resolveArtifacts(d, deps.getRepositories());
-      }
-      if (artifacts.size() != 1)
+      List<DependencyResource> result = new ArrayList<DependencyResource>();
+      Map<Dependency, List<DependencyResource>> resolved = resolver.resolveArtifacts(queries, deps.getRepositories());
+      for (Entry<Dependency, List<DependencyResource>> entry : resolved.entrySet())
       {
-         ShellMessages.warn(writer, "Could not resolve dependency [" + d.toCoordinates() + "]");
+         List<DependencyResource> artifacts = entry.getValue();
+         if (artifacts.size() != 1)
+         {
+            ShellMessages.warn(writer, "Could not resolve dependency [" + entry.getKey().toCoordinates() + "]");
+         }
+         result.addAll(artifacts);
       }
-
-      return artifacts;
+      return result;
    }
 
    public void registerPlugin(final String pluginName, final String pluginSlot, final String apiVersion)
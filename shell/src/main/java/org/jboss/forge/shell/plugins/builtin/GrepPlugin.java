@@ -6,11 +6,28 @@
  */
 package org.jboss.forge.shell.plugins.builtin;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.DirectoryWalker;
+import org.jboss.forge.resources.FileResource;
 import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.ResourceException;
 import org.jboss.forge.shell.plugins.Alias;
 import org.jboss.forge.shell.plugins.DefaultCommand;
 import org.jboss.forge.shell.plugins.Help;
@@ -19,11 +36,16 @@ import org.jboss.forge.shell.plugins.PipeIn;
 import org.jboss.forge.shell.plugins.PipeOut;
 import org.jboss.forge.shell.plugins.Plugin;
 import org.jboss.forge.shell.plugins.Topic;
-import org.mvel2.util.StringAppender;
+import org.jboss.forge.shell.util.BrokenPipeException;
+import org.jboss.forge.shell.util.Files;
+import org.jboss.forge.shell.util.LineSearch;
+import org.jboss.forge.shell.util.PathspecParser;
+import org.jboss.forge.shell.util.Streams;
 
 /**
- * A simple port of the Unix grep command.
- * 
+ * A simple port of the Unix grep command. Files are searched concurrently, and their results printed in the order the
+ * files were given, or found below a directory.
+ *
  * @author Mike Brock .
  */
 @Alias("grep")
@@ -31,24 +53,45 @@ import org.mvel2.util.StringAppender;
 @Help("print lines matching a pattern")
 public class GrepPlugin implements Plugin
 {
+   private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+   /**
+    * Files larger than this are read a line at a time, rather than decoded into memory at once.
+    */
+   private static final long MAX_DECODED_SIZE = 64 * 1024 * 1024;
+
    @DefaultCommand
    public void run(
             @PipeIn final InputStream pipeIn,
             @Option(name = "ignore-case", shortName = "i", help = "ignore case distinctions in both patterns and input", flagOnly = true) boolean ignoreCase,
             @Option(name = "regexp", shortName = "e", help = "match using a regular expression") String regExp,
+            @Option(name = "recursive", shortName = "r", flagOnly = true,
+                     help = "search the files below each directory") final boolean recursive,
+            @Option(name = "include",
+                     help = "search only files whose names match the given pattern, such as *.xhtml")
+            final String include,
+            @Option(name = "exclude",
+                     help = "skip files whose names match the given pattern") final String exclude,
+            @Option(name = "files-with-matches", shortName = "l", flagOnly = true,
+                     help = "print only the names of files containing a match") final boolean filesWithMatches,
+            @Option(name = "max-count", shortName = "m",
+                     help = "stop reading a file after the given number of matching lines") final Integer maxCount,
+            @Option(name = "line-number", shortName = "n", flagOnly = true,
+                     help = "prefix each line with its line number") final boolean lineNumber,
+            @Option(name = "with-filename", shortName = "H", flagOnly = true,
+                     help = "prefix each line with its file name (the default with -r)") final boolean withFilename,
             @Option(description = "PATTERN") String pattern,
             @Option(description = "FILE ...") Resource<?>[] resources,
             final PipeOut pipeOut
             ) throws IOException
    {
+      int flags = ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0;
       Pattern matchPattern;
+      boolean wholeLine;
       if (regExp != null)
       {
-         if (ignoreCase)
-         {
-            regExp = regExp.toLowerCase();
-         }
-         matchPattern = Pattern.compile(regExp);
+         matchPattern = Pattern.compile(regExp, flags);
+         wholeLine = true;
       }
       else if (pattern == null)
       {
@@ -56,61 +99,237 @@ public class GrepPlugin implements Plugin
       }
       else
       {
-         if (ignoreCase)
-         {
-            pattern = pattern.toLowerCase();
-         }
-         matchPattern = Pattern.compile(".*" + pattern + ".*");
+         matchPattern = Pattern.compile(pattern, flags);
+         wholeLine = false;
       }
 
+      int max = filesWithMatches ? 1 : (maxCount == null ? Integer.MAX_VALUE : maxCount);
+      Search search = new Search(new LineSearch(matchPattern, wholeLine), max, filesWithMatches,
+               withFilename || recursive, lineNumber);
+
       if (resources != null)
       {
-         for (Resource<?> r : resources)
+         Pattern includePattern = include == null ? null : Pattern.compile(PathspecParser.pathspecToRegEx(include));
+         Pattern excludePattern = exclude == null ? null : Pattern.compile(PathspecParser.pathspecToRegEx(exclude));
+         searchResources(search, resources, recursive, includePattern, excludePattern, pipeOut);
+      }
+      else if (pipeIn != null)
+      {
+         BufferedReader reader = new BufferedReader(new InputStreamReader(pipeIn, UTF_8), Streams.BUFFER_SIZE);
+         search.search("<pipe>", reader, pipeOut);
+      }
+      else
+      {
+         throw new RuntimeException("arguments required");
+      }
+   }
+
+   /**
+    * Search the given resources, and the files below directories if recursive, on a pool of threads. Results are
+    * printed in order as soon as they are available; a bounded number of files are searched ahead of the next file to
+    * be printed.
+    */
+   private void searchResources(final Search search, final Resource<?>[] resources, final boolean recursive,
+            final Pattern include, final Pattern exclude, final PipeOut out) throws IOException
+   {
+      int threads = Runtime.getRuntime().availableProcessors();
+      final ExecutorService executor = Executors.newFixedThreadPool(threads);
+      final int window = threads * 4;
+      final LinkedList<Future<List<String>>> pending = new LinkedList<Future<List<String>>>();
+      try
+      {
+         for (final Resource<?> r : resources)
          {
-            InputStream inputStream = r.getResourceInputStream();
-            try
+            if (r instanceof DirectoryResource)
             {
-               match(inputStream, matchPattern, pipeOut, ignoreCase);
+               if (recursive)
+               {
+                  final String root = DirectoryWalker.getPathPrefix((DirectoryResource) r);
+                  ((DirectoryResource) r).walker().setNamePattern(include).walk(new DirectoryWalker.Visitor()
+                  {
+                     @Override
+                     public void visit(final File file, final String path, final boolean directory)
+                     {
+                        if (!directory && ((exclude == null) || !exclude.matcher(file.getName()).matches()))
+                        {
+                           submit(executor, pending, search, root + path, file);
+                           flush(pending, window, out);
+                        }
+                     }
+                  });
+               }
             }
-            finally
+            else
             {
-               inputStream.close();
+               pending.add(executor.submit(new Callable<List<String>>()
+               {
+                  @Override
+                  public List<String> call() throws Exception
+                  {
+                     if (r instanceof FileResource<?>)
+                     {
+                        File file = ((FileResource<?>) r).getUnderlyingResourceObject();
+                        return search.search(r.getFullyQualifiedName(), file);
+                     }
+                     return search.search(r.getFullyQualifiedName(), r.getResourceInputStream());
+                  }
+               }));
+               flush(pending, window, out);
             }
          }
+         flush(pending, 0, out);
       }
-      else if (pipeIn != null)
+      finally
       {
-         match(pipeIn, matchPattern, pipeOut, ignoreCase);
+         executor.shutdownNow();
       }
-      else
+   }
+
+   private static void submit(final ExecutorService executor, final List<Future<List<String>>> pending,
+            final Search search, final String name, final File file)
+   {
+      pending.add(executor.submit(new Callable<List<String>>()
       {
-         throw new RuntimeException("arguments required");
+         @Override
+         public List<String> call() throws Exception
+         {
+            return search.search(name, file);
+         }
+      }));
+   }
+
+   /**
+    * Print the results of the earliest pending searches, waiting for them, until no more than the given number are
+    * pending.
+    */
+   private static void flush(final LinkedList<Future<List<String>>> pending, final int window, final PipeOut out)
+   {
+      try
+      {
+         while (pending.size() > window)
+         {
+            for (String line : pending.removeFirst().get())
+            {
+               out.println(line);
+            }
+         }
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new BrokenPipeException();
+      }
+      catch (ExecutionException e)
+      {
+         if (e.getCause() instanceof RuntimeException)
+         {
+            throw (RuntimeException) e.getCause();
+         }
+         throw new ResourceException("Failed to search file", e.getCause());
       }
    }
 
-   private void match(InputStream instream, Pattern pattern, PipeOut out, boolean caseInsensitive) throws IOException
+   /**
+    * Searches single files, and formats the lines found.
+    */
+   private static class Search
    {
-      StringAppender buf = new StringAppender();
+      private final LineSearch search;
+      private final int max;
+      private final boolean namesOnly;
+      private final boolean withName;
+      private final boolean withNumber;
+
+      public Search(final LineSearch search, final int max, final boolean namesOnly, final boolean withName,
+               final boolean withNumber)
+      {
+         this.search = search;
+         this.max = max;
+         this.namesOnly = namesOnly;
+         this.withName = withName;
+         this.withNumber = withNumber;
+      }
 
-      int c;
-      while ((c = instream.read()) != -1)
+      public List<String> search(final String name, final File file) throws IOException
       {
-         switch (c)
+         if (file.length() > MAX_DECODED_SIZE)
          {
-         case '\r':
-         case '\n':
-            String s = caseInsensitive ? buf.toString().toLowerCase() : buf.toString();
+            return search(name, new FileInputStream(file));
+         }
 
-            if (pattern.matcher(s).matches())
+         final List<String> result = new ArrayList<String>();
+         search.search(Files.read(file, UTF_8), max, new LineSearch.Listener()
+         {
+            @Override
+            public boolean found(final int number, final CharSequence line)
             {
-               out.println(s);
+               result.add(format(name, number, line));
+               return !namesOnly;
             }
-            buf.reset();
-            break;
-         default:
-            buf.append((char) c);
-            break;
+         });
+         return result;
+      }
+
+      public List<String> search(final String name, final InputStream stream) throws IOException
+      {
+         try
+         {
+            return search(name, new BufferedReader(new InputStreamReader(stream, UTF_8), Streams.BUFFER_SIZE));
+         }
+         finally
+         {
+            stream.close();
+         }
+      }
+
+      public List<String> search(final String name, final BufferedReader reader) throws IOException
+      {
+         final List<String> result = new ArrayList<String>();
+         search.search(reader, max, new LineSearch.Listener()
+         {
+            @Override
+            public boolean found(final int number, final CharSequence line)
+            {
+               result.add(format(name, number, line));
+               return !namesOnly;
+            }
+         });
+         return result;
+      }
+
+      /**
+       * Search the given reader, printing each line as soon as it is found.
+       */
+      public void search(final String name, final BufferedReader reader, final PipeOut out) throws IOException
+      {
+         search.search(reader, max, new LineSearch.Listener()
+         {
+            @Override
+            public boolean found(final int number, final CharSequence line)
+            {
+               out.println(format(name, number, line));
+               return !namesOnly;
+            }
+         });
+      }
+
+      private String format(final String name, final int number, final CharSequence line)
+      {
+         if (namesOnly)
+         {
+            return name;
+         }
+
+         StringBuilder result = new StringBuilder();
+         if (withName)
+         {
+            result.append(name).append(':');
+         }
+         if (withNumber)
+         {
+            result.append(number).append(':');
          }
+         return result.append(line).toString();
       }
    }
 }
@@ -72,7 +72,7 @@ public class LsJavaPlugin implements Plugin
             else
             {
                JavaResource javaResource = (JavaResource) resource;
-               JavaSource<?> javaSource = javaResource.getJavaSource();
+               JavaSource<?> javaSource = javaResource.getJavaSourceStructure();
                List<String> output = new ArrayList<String>();
 
                if (!out.isPiped())
@@ -10,6 +10,7 @@ import java.util.List;
 
 import javax.inject.Inject;
 
+import org.jboss.forge.maven.MavenCoreFacet;
 import org.jboss.forge.parser.java.util.Strings;
 import org.jboss.forge.project.Project;
 import org.jboss.forge.project.dependencies.Dependency;
@@ -58,6 +59,22 @@ public class DependencyInstallerImpl implements DependencyInstaller
 
    @Override
    public Dependency install(Project project, Dependency dependency, ScopeType type, DependencyFilter filter)
+   {
+      MavenCoreFacet maven = POMEdits.begin(project);
+      boolean success = false;
+      try
+      {
+         Dependency result = doInstall(project, dependency, type, filter);
+         success = true;
+         return result;
+      }
+      finally
+      {
+         POMEdits.end(maven, success);
+      }
+   }
+
+   private Dependency doInstall(Project project, Dependency dependency, ScopeType type, DependencyFilter filter)
    {
       DependencyFacet deps = project.getFacet(DependencyFacet.class);
 
@@ -150,6 +167,23 @@ public class DependencyInstallerImpl implements DependencyInstaller
 
    @Override
    public Dependency installManaged(Project project, Dependency dependency, ScopeType type, DependencyFilter filter)
+   {
+      MavenCoreFacet maven = POMEdits.begin(project);
+      boolean success = false;
+      try
+      {
+         Dependency result = doInstallManaged(project, dependency, type, filter);
+         success = true;
+         return result;
+      }
+      finally
+      {
+         POMEdits.end(maven, success);
+      }
+   }
+
+   private Dependency doInstallManaged(Project project, Dependency dependency, ScopeType type,
+            DependencyFilter filter)
    {
       DependencyFacet deps = project.getFacet(DependencyFacet.class);
       DependencyBuilder withScopeType = getWithScopeType(dependency, type);
@@ -13,6 +13,7 @@ import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 
+import org.jboss.forge.maven.MavenCoreFacet;
 import org.jboss.forge.project.Facet;
 import org.jboss.forge.project.Project;
 import org.jboss.forge.project.facets.FacetActionAborted;
@@ -51,18 +52,31 @@ public class FacetInstallationHandler
                || shell.promptBoolean("An action has requested to install the following facets into your project "
                         + request.getFacetTypes() + " continue?", true))
       {
-         for (Class<? extends Facet> type : request.getFacetTypes())
+         /*
+          * Write the POM once, after all requested facets have been installed
+          */
+         MavenCoreFacet maven = POMEdits.begin(project);
+         boolean success = false;
+         try
          {
-            Facet facet = factory.getFacet(type);
-            if (!project.hasFacet(type))
-            {
-               install(facet, false);
-               installed.add(facet);
-            }
-            else
+            for (Class<? extends Facet> type : request.getFacetTypes())
             {
-               shell.printlnVerbose("Facet type already installed [" + type + "]");
+               Facet facet = factory.getFacet(type);
+               if (!project.hasFacet(type))
+               {
+                  install(facet, false);
+                  installed.add(facet);
+               }
+               else
+               {
+                  shell.printlnVerbose("Facet type already installed [" + type + "]");
+               }
             }
+            success = true;
+         }
+         finally
+         {
+            POMEdits.end(maven, success);
          }
       }
       else if (request.promptRequested())
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.project;
+
+import org.jboss.forge.maven.MavenCoreFacet;
+import org.jboss.forge.project.Project;
+import org.jboss.forge.project.ProjectModelException;
+
+/**
+ * Groups the POM modifications made by a multi-step project operation into a single write.
+ */
+final class POMEdits
+{
+   private POMEdits()
+   {}
+
+   /**
+    * Begin a batch of POM edits on the given {@link Project}, if it is a Maven project. Returns the
+    * {@link MavenCoreFacet} to be passed to {@link #end(MavenCoreFacet, boolean)}, or null.
+    */
+   static MavenCoreFacet begin(final Project project)
+   {
+      if ((project != null) && project.hasFacet(MavenCoreFacet.class))
+      {
+         MavenCoreFacet maven = project.getFacet(MavenCoreFacet.class);
+         maven.beginEdit();
+         return maven;
+      }
+      return null;
+   }
+
+   /**
+    * End a batch of POM edits started by {@link #begin(Project)}, committing or rolling back pending changes.
+    * Committing an outer batch after a nested one was rolled back throws a {@link ProjectModelException}, and rolls
+    * back the whole batch; callers only roll back a nested batch when an exception is thrown, which skips the outer
+    * commit.
+    */
+   static void end(final MavenCoreFacet maven, final boolean commit)
+   {
+      if (maven != null)
+      {
+         if (commit)
+            maven.commitEdit();
+         else
+            maven.rollbackEdit();
+      }
+   }
+}
@@ -7,16 +7,25 @@
 package org.jboss.forge.shell.resources;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import org.jboss.forge.bus.spi.EventBusGroomer;
 import org.jboss.forge.resources.Resource;
-import org.jboss.forge.resources.VirtualResource;
+import org.jboss.forge.resources.events.ResourceCreated;
+import org.jboss.forge.resources.events.ResourceDeleted;
 import org.jboss.forge.resources.events.ResourceEvent;
 
 /**
- * Publishes file change events to the shell output stream.
- * 
+ * Coalesces the {@link ResourceEvent}s queued during a command, so that each {@link Resource} is reported once: only
+ * the last event for a resource is kept, in the position of that last event. A resource created and then modified is
+ * reported as modified; a resource both created and deleted during the command is not reported at all. Other events
+ * are kept in order.
+ *
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
 public class ResourceEventGroomer implements EventBusGroomer
@@ -24,67 +33,44 @@ public class ResourceEventGroomer implements EventBusGroomer
    @Override
    public List<Object> groom(final List<Object> events)
    {
-      List<Resource<?>> seen = new ArrayList<Resource<?>>();
-      List<Object> result = new ArrayList<Object>();
+      Map<Object, Object> latest = new LinkedHashMap<Object, Object>(events.size() * 2);
+      Set<Object> created = new HashSet<Object>();
 
       for (Object e : events)
       {
-         if (e instanceof ResourceEvent)
+         Object key = getKey(e);
+         if (latest.remove(key) == null && (e instanceof ResourceCreated))
          {
-            Resource<?> resource = ((ResourceEvent) e).getResource();
-            if (seen.contains(resource))
-            {
-               result.remove(seen.indexOf(resource));
-               seen.remove(seen.indexOf(resource));
-            }
-            result.add(e);
-            seen.add(resource);
+            created.add(key);
          }
-         else
+         latest.put(key, e);
+      }
+
+      List<Object> result = new ArrayList<Object>(latest.size());
+      for (Entry<Object, Object> entry : latest.entrySet())
+      {
+         Object e = entry.getValue();
+         if (!(e instanceof ResourceDeleted) || !created.contains(entry.getKey()))
          {
             result.add(e);
-            seen.add(new Placeholder(null));
          }
       }
-
       return result;
    }
 
-   private final class Placeholder extends VirtualResource<Object>
+   /**
+    * Events for the same {@link Resource} share a key; every other event gets a unique key.
+    */
+   private Object getKey(final Object event)
    {
-      private Placeholder(final Resource<?> parent)
-      {
-         super(null);
-      }
-
-      @Override
-      public boolean delete() throws UnsupportedOperationException
-      {
-         return true;
-      }
-
-      @Override
-      public boolean delete(final boolean recursive) throws UnsupportedOperationException
+      if (event instanceof ResourceEvent)
       {
-         return true;
-      }
-
-      @Override
-      public String getName()
-      {
-         return "";
-      }
-
-      @Override
-      protected List<Resource<?>> doListResources()
-      {
-         return new ArrayList<Resource<?>>();
-      }
-
-      @Override
-      public Object getUnderlyingResourceObject()
-      {
-         return new Object();
+         Resource<?> resource = ((ResourceEvent) event).getResource();
+         if (resource != null)
+         {
+            return resource;
+         }
       }
+      return new Object();
    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.util;
+
+/**
+ * Thrown to a pipeline stage writing to a {@link PipeBuffer} whose reader has stopped reading, or when the stage is
+ * interrupted. It ends the stage quietly, as the next stage needs no more of its output.
+ */
+public class BrokenPipeException extends RuntimeException
+{
+   private static final long serialVersionUID = -2263962524546474826L;
+
+   public BrokenPipeException()
+   {
+      super("Broken pipe");
+   }
+
+   /**
+    * Return true if the given exception, or one of its causes, is a {@link BrokenPipeException}.
+    */
+   public static boolean isCause(Throwable e)
+   {
+      while (e != null)
+      {
+         if (e instanceof BrokenPipeException)
+         {
+            return true;
+         }
+         e = e.getCause();
+      }
+      return false;
+   }
+}
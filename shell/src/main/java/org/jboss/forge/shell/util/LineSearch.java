@@ -0,0 +1,230 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the lines of a text matching a {@link Pattern}, either entirely or anywhere in the line, numbering lines from
+ * 1. Lines end at "\n", "\r" or "\r\n", as for {@link BufferedReader#readLine()}.
+ * <p>
+ * When every match of the pattern must contain a literal string, such as the <code>getName</code> of
+ * <code>getName\s*\(</code>, the text is first scanned for that string, and only the lines containing it are given
+ * to the pattern. A search holds no state of its own, so one search may be used by several threads at once.
+ */
+public class LineSearch
+{
+   /**
+    * Receives the lines found by a {@link LineSearch}.
+    */
+   public interface Listener
+   {
+      /**
+       * Receive the given matching line, and its number. Return false to end the search.
+       */
+      public boolean found(int number, CharSequence line);
+   }
+
+   private static final String SPECIAL_CHARACTERS = ".[]{}()*+?^$|";
+
+   private final Pattern pattern;
+   private final boolean wholeLine;
+   private final String literal;
+
+   public LineSearch(final Pattern pattern, final boolean wholeLine)
+   {
+      this.pattern = pattern;
+      this.wholeLine = wholeLine;
+      this.literal = getLiteral(pattern);
+   }
+
+   /**
+    * Return the literal string every match of this search contains, or null if there is none.
+    */
+   public String getLiteral()
+   {
+      return literal;
+   }
+
+   /**
+    * Search the given text, stopping after the given number of matching lines.
+    *
+    * @return the number of matching lines found
+    */
+   public int search(final CharSequence text, final int max, final Listener listener)
+   {
+      Matcher matcher = pattern.matcher(text);
+      int length = text.length();
+      int count = 0;
+      int number = 1;
+      int start = 0;
+
+      while ((start < length) && (count < max))
+      {
+         if (literal != null)
+         {
+            int found = indexOf(text, literal, start);
+            if (found == -1)
+            {
+               break;
+            }
+
+            for (int i = start; i < found; i++)
+            {
+               char c = text.charAt(i);
+               if ((c == '\n') || ((c == '\r') && (text.charAt(i + 1) != '\n')))
+               {
+                  number++;
+                  start = i + 1;
+               }
+            }
+         }
+
+         int end = start;
+         while ((end < length) && (text.charAt(end) != '\n') && (text.charAt(end) != '\r'))
+         {
+            end++;
+         }
+
+         matcher.region(start, end);
+         if (wholeLine ? matcher.matches() : matcher.find())
+         {
+            count++;
+            if (!listener.found(number, text.subSequence(start, end)))
+            {
+               break;
+            }
+         }
+
+         if ((end < length - 1) && (text.charAt(end) == '\r') && (text.charAt(end + 1) == '\n'))
+         {
+            end++;
+         }
+         start = end + 1;
+         number++;
+      }
+      return count;
+   }
+
+   /**
+    * Search the lines read from the given reader, stopping after the given number of matching lines. Only one line is
+    * held in memory at a time.
+    *
+    * @return the number of matching lines found
+    */
+   public int search(final BufferedReader reader, final int max, final Listener listener) throws IOException
+   {
+      Matcher matcher = pattern.matcher("");
+      int count = 0;
+      int number = 0;
+
+      String line;
+      while ((count < max) && ((line = reader.readLine()) != null))
+      {
+         number++;
+         if ((literal != null) && !line.contains(literal))
+         {
+            continue;
+         }
+
+         matcher.reset(line);
+         if (wholeLine ? matcher.matches() : matcher.find())
+         {
+            count++;
+            if (!listener.found(number, line))
+            {
+               break;
+            }
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Return the literal string at the start of the given pattern, which every match must contain, or null if the
+    * pattern does not start with one. Patterns that use flags, or alternatives, are not examined.
+    */
+   static String getLiteral(final Pattern pattern)
+   {
+      String regex = pattern.pattern();
+      if (pattern.flags() == Pattern.LITERAL)
+      {
+         boolean multiline = (regex.indexOf('\n') != -1) || (regex.indexOf('\r') != -1);
+         return (regex.length() == 0) || multiline ? null : regex;
+      }
+      if ((pattern.flags() != 0) || (regex.indexOf('|') != -1))
+      {
+         return null;
+      }
+
+      StringBuilder result = new StringBuilder();
+      int i = regex.startsWith("^") ? 1 : 0;
+      while (i < regex.length())
+      {
+         char c = regex.charAt(i);
+         int next = i + 1;
+         if (c == '\\')
+         {
+            if ((next == regex.length()) || Character.isLetterOrDigit(regex.charAt(next)))
+            {
+               break;
+            }
+            c = regex.charAt(next++);
+         }
+         else if (SPECIAL_CHARACTERS.indexOf(c) != -1)
+         {
+            break;
+         }
+         if ((c == '\n') || (c == '\r'))
+         {
+            break;
+         }
+
+         if (next < regex.length())
+         {
+            char quantifier = regex.charAt(next);
+            if ((quantifier == '?') || (quantifier == '*') || (quantifier == '{'))
+            {
+               break;
+            }
+            if (quantifier == '+')
+            {
+               result.append(c);
+               break;
+            }
+         }
+         result.append(c);
+         i = next;
+      }
+      return result.length() == 0 ? null : result.toString();
+   }
+
+   private static int indexOf(final CharSequence text, final String literal, final int from)
+   {
+      char first = literal.charAt(0);
+      int last = text.length() - literal.length();
+      for (int i = from; i <= last; i++)
+      {
+         if (text.charAt(i) == first)
+         {
+            int j = 1;
+            while ((j < literal.length()) && (text.charAt(i + j) == literal.charAt(j)))
+            {
+               j++;
+            }
+            if (j == literal.length())
+            {
+               return i;
+            }
+         }
+      }
+      return -1;
+   }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * A bounded buffer of bytes connecting two stages of a pipeline, each running on its own thread. The writing stage
+ * waits while the buffer is full, and the reading stage waits while it is empty, so no more than the capacity of the
+ * buffer is ever held in memory.
+ * <p>
+ * Once the writer is closed, the reader reads the remaining bytes, then the end of the stream. Once the reader is
+ * closed, further writes throw {@link BrokenPipeException}.
+ */
+public class PipeBuffer
+{
+   public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+   private final byte[] buffer;
+   private int start = 0;
+   private int length = 0;
+   private boolean writerClosed = false;
+   private boolean readerClosed = false;
+
+   private final InputStream input = new InputStream()
+   {
+      @Override
+      public int read() throws IOException
+      {
+         byte[] single = new byte[1];
+         return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+      }
+
+      @Override
+      public int read(final byte[] b, final int offset, final int len) throws IOException
+      {
+         return PipeBuffer.this.read(b, offset, len);
+      }
+
+      @Override
+      public int available() throws IOException
+      {
+         synchronized (PipeBuffer.this)
+         {
+            return length;
+         }
+      }
+
+      @Override
+      public void close() throws IOException
+      {
+         closeReader();
+      }
+   };
+
+   public PipeBuffer()
+   {
+      this(DEFAULT_CAPACITY);
+   }
+
+   public PipeBuffer(final int capacity)
+   {
+      this.buffer = new byte[capacity];
+   }
+
+   /**
+    * Return the reading end of this buffer. Closing it closes the reader.
+    */
+   public InputStream getInputStream()
+   {
+      return input;
+   }
+
+   /**
+    * Write the given bytes, waiting for the reader whenever the buffer is full.
+    *
+    * @throws BrokenPipeException if the reader is closed, or the writing thread is interrupted while waiting
+    */
+   public synchronized void write(final byte[] b, int offset, int len)
+   {
+      while (len > 0)
+      {
+         while ((length == buffer.length) && !readerClosed)
+         {
+            await();
+         }
+         if (readerClosed)
+         {
+            throw new BrokenPipeException();
+         }
+         if (writerClosed)
+         {
+            throw new IllegalStateException("Pipe already closed for writing");
+         }
+
+         int end = (start + length) % buffer.length;
+         int count = Math.min(len, Math.min(buffer.length - length, buffer.length - end));
+         System.arraycopy(b, offset, buffer, end, count);
+         length += count;
+         offset += count;
+         len -= count;
+         notifyAll();
+      }
+   }
+
+   /**
+    * Close the writing end of this buffer; the reader reaches the end of the stream once it has read the buffered
+    * bytes.
+    */
+   public synchronized void closeWriter()
+   {
+      writerClosed = true;
+      notifyAll();
+   }
+
+   /**
+    * Close the reading end of this buffer, discarding the buffered bytes and breaking the pipe for the writer.
+    */
+   public synchronized void closeReader()
+   {
+      readerClosed = true;
+      length = 0;
+      notifyAll();
+   }
+
+   private synchronized int read(final byte[] b, final int offset, final int len) throws IOException
+   {
+      if (len == 0)
+      {
+         return 0;
+      }
+
+      while ((length == 0) && !writerClosed && !readerClosed)
+      {
+         try
+         {
+            wait();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading from pipe");
+         }
+      }
+      if (length == 0)
+      {
+         return -1;
+      }
+
+      int count = Math.min(len, Math.min(length, buffer.length - start));
+      System.arraycopy(buffer, start, b, offset, count);
+      start = (start + count) % buffer.length;
+      length -= count;
+      notifyAll();
+      return count;
+   }
+
+   private void await()
+   {
+      try
+      {
+         wait();
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new BrokenPipeException();
+      }
+   }
+}
@@ -6,22 +6,39 @@
  */
 package org.jboss.forge.shell.util;
 
+import java.io.UnsupportedEncodingException;
+
 import org.jboss.forge.shell.Shell;
 import org.jboss.forge.shell.ShellColor;
 import org.jboss.forge.shell.plugins.PipeOut;
 
 /**
+ * When piped, output is either accumulated, to be read with {@link #getBuffer()}, or, when connected to a
+ * {@link PipeBuffer}, streamed to the next stage of the pipeline as UTF-8.
+ *
  * @author Mike Brock .
  */
 public class PipeOutImpl implements PipeOut
 {
    private final StringBuilder buffer = new StringBuilder();
+   private final PipeBuffer pipe;
    private final Shell shell;
    private boolean piped = false;
 
    public PipeOutImpl(final Shell shell)
    {
       this.shell = shell;
+      this.pipe = null;
+   }
+
+   /**
+    * Create a piped {@link PipeOut} streaming its output to the given {@link PipeBuffer}.
+    */
+   public PipeOutImpl(final Shell shell, final PipeBuffer pipe)
+   {
+      this.shell = shell;
+      this.pipe = pipe;
+      this.piped = true;
    }
 
    @Override
@@ -29,7 +46,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append(b);
+         append(new byte[] { (byte) b }, 0, 1);
       }
       else
       {
@@ -42,7 +59,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append((char) b);
+         append(new byte[] { b }, 0, 1);
       }
       else
       {
@@ -55,7 +72,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append(new String(b));
+         append(b, 0, b.length);
       }
       else
       {
@@ -68,7 +85,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append(new String(b, offset, length));
+         append(b, offset, length);
       }
       else
       {
@@ -81,7 +98,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append(s);
+         append(s);
       }
       else
       {
@@ -94,7 +111,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append(s).append("\n");
+         append(s + "\n");
       }
       else
       {
@@ -107,7 +124,7 @@ public class PipeOutImpl implements PipeOut
    {
       if (piped)
       {
-         buffer.append("\n");
+         append("\n");
       }
       else
       {
@@ -145,12 +162,54 @@ public class PipeOutImpl implements PipeOut
       this.piped = v;
    }
 
+   /**
+    * Return the output accumulated while piped. Output streamed to a {@link PipeBuffer} is not accumulated.
+    */
    @Override
    public String getBuffer()
    {
       return buffer.toString();
    }
 
+   private void append(final String s)
+   {
+      if (pipe == null)
+      {
+         buffer.append(s);
+      }
+      else
+      {
+         try
+         {
+            byte[] bytes = String.valueOf(s).getBytes("UTF-8");
+            pipe.write(bytes, 0, bytes.length);
+         }
+         catch (UnsupportedEncodingException e)
+         {
+            throw new RuntimeException(e);
+         }
+      }
+   }
+
+   private void append(final byte[] b, final int offset, final int length)
+   {
+      if (pipe == null)
+      {
+         try
+         {
+            buffer.append(new String(b, offset, length, "UTF-8"));
+         }
+         catch (UnsupportedEncodingException e)
+         {
+            throw new RuntimeException(e);
+         }
+      }
+      else
+      {
+         pipe.write(b, offset, length);
+      }
+   }
+
    @Override
    public void flush()
    {
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.decorator.Decorator;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import javax.interceptor.Interceptor;
+
+import org.jboss.modules.ConcurrentClassLoader;
+import org.jboss.weld.environment.se.Weld;
+import org.junit.Test;
+
+public class BootstrapTest
+{
+   @Test
+   public void testContainerClassesAreNeverLoadedFromPlugins() throws Exception
+   {
+      final List<String> requested = new ArrayList<String>();
+      CompositeClassLoader composite = new CompositeClassLoader();
+      composite.add(new ConcurrentClassLoader()
+      {
+         @Override
+         protected Class<?> findClass(final String className, final boolean exportsOnly, final boolean resolve)
+                  throws ClassNotFoundException
+         {
+            requested.add(className);
+            throw new ClassNotFoundException(className);
+         }
+      });
+      Bootstrap.shareContainer(composite);
+
+      for (Class<?> type : new Class<?>[] { Weld.class, BeanManager.class, Inject.class, Interceptor.class,
+               Decorator.class })
+      {
+         assertSame(type, composite.loadClass(type.getName()));
+      }
+      assertTrue(requested.toString(), requested.isEmpty());
+   }
+}
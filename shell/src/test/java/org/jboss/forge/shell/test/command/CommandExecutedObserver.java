@@ -6,6 +6,9 @@
  */
 package org.jboss.forge.shell.test.command;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import javax.enterprise.event.Observes;
 import javax.inject.Singleton;
 
@@ -19,10 +22,20 @@ import org.jboss.forge.shell.events.CommandExecuted;
 public class CommandExecutedObserver
 {
    private CommandExecuted event;
+   private final List<Thread> threads = new CopyOnWriteArrayList<Thread>();
 
    void handleCommand(@Observes final CommandExecuted event)
    {
       this.event = event;
+      threads.add(Thread.currentThread());
+   }
+
+   /**
+    * Return the threads on which each event has been observed, in order.
+    */
+   public List<Thread> getThreads()
+   {
+      return threads;
    }
 
    public CommandExecuted getEvent()
@@ -8,6 +8,7 @@ package org.jboss.forge.shell.test.command;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 import javax.inject.Inject;
 
@@ -44,4 +45,15 @@ public class CommandExecutedTest extends AbstractShellTest
       assertEquals("motp", parameters[0]);
    }
 
+   @Test
+   public void testPipedCommandsAreReportedOnShellThread() throws Exception
+   {
+      observer.getThreads().clear();
+      getShell().execute("echo hello | cat");
+      assertEquals(2, observer.getThreads().size());
+      for (Thread thread : observer.getThreads())
+      {
+         assertSame(Thread.currentThread(), thread);
+      }
+   }
 }
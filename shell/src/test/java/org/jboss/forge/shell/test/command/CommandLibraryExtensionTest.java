@@ -16,6 +16,7 @@ import org.jboss.forge.shell.command.CommandLibraryExtension;
 import org.jboss.forge.shell.command.CommandMetadata;
 import org.jboss.forge.shell.command.OptionMetadata;
 import org.jboss.forge.shell.command.PluginMetadata;
+import org.jboss.forge.shell.command.PluginMetadataCache;
 import org.jboss.forge.shell.plugins.Plugin;
 import org.junit.Test;
 
@@ -24,7 +25,7 @@ import org.junit.Test;
  */
 public class CommandLibraryExtensionTest
 {
-   CommandLibraryExtension library = new CommandLibraryExtension();
+   CommandLibraryExtension library = new CommandLibraryExtension(new PluginMetadataCache(null, false));
    private final PluginMetadata plugin = library.getMetadataFor(MockNamedPlugin.class);
 
    @Test
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.List;
+
+import org.jboss.forge.shell.command.CommandLibraryExtension;
+import org.jboss.forge.shell.command.CommandMetadata;
+import org.jboss.forge.shell.command.OptionMetadata;
+import org.jboss.forge.shell.command.PluginMetadata;
+import org.jboss.forge.shell.command.PluginMetadataCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PluginMetadataCacheTest
+{
+   private File file;
+
+   @Before
+   public void createFile() throws Exception
+   {
+      file = File.createTempFile("forge-plugin-metadata", ".cache");
+      file.delete();
+   }
+
+   @After
+   public void deleteFile()
+   {
+      file.delete();
+   }
+
+   @Test
+   public void testMetadataIsRestoredFromCache() throws Exception
+   {
+      CommandLibraryExtension library = new CommandLibraryExtension(new PluginMetadataCache(file, true));
+      PluginMetadata original = library.getMetadataFor(MockNamedPlugin.class);
+      library.storeMetadata(null);
+      assertTrue(file.isFile());
+
+      PluginMetadata restored = new PluginMetadataCache(file, true).get(MockNamedPlugin.class);
+      assertNotNull(restored);
+      assertEquals(original.getName(), restored.getName());
+      assertEquals(original.getHelp(), restored.getHelp());
+      assertEquals(original.getTopic(), restored.getTopic());
+      assertEquals(original.getCommands().size(), restored.getCommands().size());
+      assertEquals(original.getDefaultCommand().getMethod(), restored.getDefaultCommand().getMethod());
+
+      for (CommandMetadata command : original.getCommands())
+      {
+         CommandMetadata copy = restored.getCommand(command.getName());
+         assertEquals(command.getMethod(), copy.getMethod());
+         assertEquals(command.getHelp(), copy.getHelp());
+         assertEquals(command.isDefault(), copy.isDefault());
+         assertEquals(command.getResourceScopes(), copy.getResourceScopes());
+
+         List<OptionMetadata> options = command.getOptions();
+         assertEquals(options.size(), copy.getOptions().size());
+         for (int i = 0; i < options.size(); i++)
+         {
+            OptionMetadata option = options.get(i);
+            OptionMetadata copied = copy.getOptions().get(i);
+            assertEquals(option.getName(), copied.getName());
+            assertEquals(option.getType(), copied.getType());
+            assertEquals(option.getDescription(), copied.getDescription());
+            assertEquals(option.getDefaultValue(), copied.getDefaultValue());
+            assertEquals(option.isRequired(), copied.isRequired());
+            assertEquals(option.getCompleterType(), copied.getCompleterType());
+         }
+      }
+   }
+
+   @Test
+   public void testDamagedCacheIsIgnored() throws Exception
+   {
+      FileOutputStream out = new FileOutputStream(file);
+      out.write(new byte[] { 0, 0, 0, 1, 0, 0, 0, 7, 42 });
+      out.close();
+
+      PluginMetadataCache cache = new PluginMetadataCache(file, true);
+      assertNull(cache.get(MockNamedPlugin.class));
+
+      PluginMetadata metadata = new CommandLibraryExtension(cache).getMetadataFor(MockNamedPlugin.class);
+      assertEquals("mnp", metadata.getName());
+   }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.resources;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.parser.JavaParser;
+import org.jboss.forge.parser.java.JavaClass;
+import org.jboss.forge.project.Project;
+import org.jboss.forge.project.facets.JavaSourceFacet;
+import org.jboss.forge.project.services.ResourceFactory;
+import org.jboss.forge.resources.java.JavaResource;
+import org.jboss.forge.resources.java.JavaSourceCache;
+import org.jboss.forge.test.AbstractShellTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class JavaSourceCacheTest extends AbstractShellTest
+{
+   @Inject
+   private ResourceFactory factory;
+
+   private JavaResource createClass(final String name) throws Exception
+   {
+      Project project = initializeJavaProject();
+      JavaClass javaClass = JavaParser.parse(JavaClass.class, "package com.test; public class " + name
+               + " { private int a; public void b() {} }");
+      return project.getFacet(JavaSourceFacet.class).saveJavaSource(javaClass);
+   }
+
+   @Test
+   public void testBrowsingIsServedFromCache() throws Exception
+   {
+      JavaResource resource = createClass("Browsed");
+      JavaSourceCache cache = factory.getJavaSourceCache();
+
+      Assert.assertEquals(2, resource.listResources().size());
+      long misses = cache.getMisses();
+
+      Assert.assertEquals(2, resource.listResources().size());
+      Assert.assertEquals("com.test.Browsed", resource.toString());
+      Assert.assertNotNull(resource.getChild("a"));
+      Assert.assertEquals(misses, cache.getMisses());
+   }
+
+   @Test
+   public void testModifyingJavaSourceDoesNotAffectCache() throws Exception
+   {
+      JavaResource resource = createClass("Modified");
+      resource.listResources();
+
+      JavaClass first = (JavaClass) resource.getJavaSource();
+      first.addField("private String c;");
+      JavaClass second = (JavaClass) resource.getJavaSource();
+
+      Assert.assertNotSame(first, second);
+      Assert.assertFalse(second.hasField("c"));
+      Assert.assertEquals(2, resource.listResources().size());
+   }
+
+   @Test
+   public void testJavaSourceIsNeverTheSharedInstance() throws Exception
+   {
+      JavaResource resource = createClass("Shared");
+      JavaClass shared = (JavaClass) resource.getJavaSourceStructure();
+
+      JavaClass first = (JavaClass) resource.getJavaSource();
+      JavaClass second = (JavaClass) resource.getJavaSource();
+      Assert.assertNotSame(shared, first);
+      Assert.assertNotSame(shared, second);
+      Assert.assertNotSame(first, second);
+
+      first.removeField(first.getField("a"));
+      Assert.assertTrue(shared.hasField("a"));
+      Assert.assertSame(shared, resource.getJavaSourceStructure());
+      Assert.assertTrue(((JavaClass) resource.getJavaSourceStructure()).hasField("a"));
+   }
+
+   @Test
+   public void testSetContentsInvalidatesCache() throws Exception
+   {
+      JavaResource resource = createClass("Saved");
+      Assert.assertEquals(2, resource.listResources().size());
+
+      JavaClass javaClass = (JavaClass) resource.getJavaSource();
+      javaClass.addField("private String c;");
+      resource.setContents(javaClass);
+
+      Assert.assertEquals(3, resource.listResources().size());
+   }
+
+   @Test
+   public void testDeletingMemberKeepsOtherMethodBodies() throws Exception
+   {
+      Project project = initializeJavaProject();
+      JavaClass javaClass = JavaParser.parse(JavaClass.class, "package com.test; public class Deleted "
+               + "{ private int a; private int b; public int c() { return a + 1; } "
+               + "public void d(String s) { System.out.println(s); } public void d() { d(\"x\"); } }");
+      JavaResource resource = project.getFacet(JavaSourceFacet.class).saveJavaSource(javaClass);
+
+      Assert.assertTrue(resource.getChild("d(String)::void").delete());
+      Assert.assertTrue(resource.getChild("b").delete());
+
+      JavaClass result = (JavaClass) resource.getJavaSource();
+      Assert.assertFalse(result.hasMethodSignature("d", String.class));
+      Assert.assertFalse(result.hasField("b"));
+      Assert.assertTrue(result.getMethod("c").getBody().contains("a + 1"));
+      Assert.assertTrue(result.getMethod("d").getBody().contains("d(\"x\")"));
+      Assert.assertTrue(result.hasField("a"));
+      Assert.assertEquals(3, resource.listResources().size());
+   }
+}
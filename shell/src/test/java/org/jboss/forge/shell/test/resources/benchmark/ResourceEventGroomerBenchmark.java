@@ -0,0 +1,104 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.resources.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.forge.resources.DirectoryResource;
+import org.jboss.forge.resources.Resource;
+import org.jboss.forge.resources.events.ResourceCreated;
+import org.jboss.forge.resources.events.ResourceModified;
+import org.jboss.forge.shell.resources.ResourceEventGroomer;
+import org.jboss.forge.shell.test.resources.MockEvent;
+
+/**
+ * Measures the time taken by {@link ResourceEventGroomer} to groom the events queued by a large command, such as
+ * scaffolding: most resources are created and then written, some existing resources are modified, and the queue also
+ * holds events unrelated to resources. Not run as part of the build; run it with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *    -Dexec.mainClass=org.jboss.forge.shell.test.resources.benchmark.ResourceEventGroomerBenchmark
+ * </pre>
+ *
+ * Optional arguments are the number of queued events, and the number of warm-up and measured iterations (default
+ * 10000, 20 and 100).
+ */
+public class ResourceEventGroomerBenchmark
+{
+   public static void main(final String[] args) throws Exception
+   {
+      int count = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+      int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+      int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+      List<Object> events = createEvents(count);
+      ResourceEventGroomer groomer = new ResourceEventGroomer();
+
+      run(groomer, events, warmup);
+      int groomed = groomer.groom(new ArrayList<Object>(events)).size();
+      long time = run(groomer, events, iterations);
+
+      System.out.println("Groomed " + events.size() + " events into " + groomed + ", " + iterations + " times");
+      System.out.println("   " + (time / iterations) + " us/groom");
+   }
+
+   /**
+    * Return the time, in microseconds, taken to groom the given events the given number of times.
+    */
+   private static long run(final ResourceEventGroomer groomer, final List<Object> events, final int iterations)
+   {
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++)
+      {
+         groomer.groom(new ArrayList<Object>(events));
+      }
+      return (System.nanoTime() - start) / 1000;
+   }
+
+   /**
+    * Of every ten resources, eight are created and then written once the rest of their package has been created, one
+    * already exists and is modified, and one is replaced by an event unrelated to resources.
+    */
+   private static List<Object> createEvents(final int count)
+   {
+      File root = new File(System.getProperty("java.io.tmpdir"), "groomed");
+      List<Object> events = new ArrayList<Object>(count);
+      List<Resource<?>> pending = new ArrayList<Resource<?>>();
+
+      for (int i = 0; events.size() < count; i++)
+      {
+         File file = new File(new File(root, "package" + (i / 50)), "Type" + i + ".java");
+         Resource<?> resource = new DirectoryResource(null, file);
+         switch (i % 10)
+         {
+         case 0:
+            events.add(new ResourceModified(resource));
+            break;
+         case 1:
+            events.add(new MockEvent());
+            break;
+         default:
+            events.add(new ResourceCreated(resource));
+            pending.add(resource);
+            break;
+         }
+
+         if (i % 50 == 49)
+         {
+            for (Resource<?> created : pending)
+            {
+               events.add(new ResourceModified(created));
+            }
+            pending.clear();
+         }
+      }
+      return events.subList(0, count);
+   }
+}
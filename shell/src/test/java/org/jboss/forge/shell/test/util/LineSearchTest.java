@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.jboss.forge.shell.util.LineSearch;
+import org.junit.Test;
+
+public class LineSearchTest
+{
+   private static final String TEXT = "public class Foo\r\n{\n   getName();\r   setName(name);\n\n   getNames();";
+
+   @Test
+   public void testFindsLiteralPrefix() throws Exception
+   {
+      assertEquals("getName()", literal("getName\\(\\)"));
+      assertEquals("getName", literal("getName\\s*\\("));
+      assertEquals("a.b", literal("^a\\.b[cd]"));
+      assertEquals("get", literal("getN?ame"));
+      assertEquals("getN", literal("getN+ame"));
+      assertNull(literal(".*getName"));
+      assertNull(literal("getName|setName"));
+      assertNull(literal("\\bgetName"));
+      assertNull(new LineSearch(Pattern.compile("getName", Pattern.CASE_INSENSITIVE), false).getLiteral());
+      assertEquals("a.b", new LineSearch(Pattern.compile("a.b", Pattern.LITERAL), false).getLiteral());
+   }
+
+   @Test
+   public void testNumbersLinesWithEveryLineEnding() throws Exception
+   {
+      assertEquals(Arrays.asList("3:   getName();", "6:   getNames();"), search("getName", false, Integer.MAX_VALUE));
+      assertEquals(Arrays.asList("3:   getName();", "4:   setName(name);", "6:   getNames();"),
+               search("[gs]etName", false, Integer.MAX_VALUE));
+      assertEquals(Arrays.asList("5:"), search("^$", false, Integer.MAX_VALUE));
+   }
+
+   @Test
+   public void testMatchesWholeLines() throws Exception
+   {
+      assertEquals(Arrays.asList("3:   getName();"), search("   getName\\(\\);", true, Integer.MAX_VALUE));
+      assertEquals(Arrays.asList("2:{"), search("\\{", true, Integer.MAX_VALUE));
+   }
+
+   @Test
+   public void testStopsAtMaximum() throws Exception
+   {
+      assertEquals(Arrays.asList("3:   getName();"), search("getName", false, 1));
+      assertEquals(Arrays.asList("3:   getName();"), search("Name", false, 1));
+   }
+
+   @Test
+   public void testReaderMatchesText() throws Exception
+   {
+      for (String regex : new String[] { "getName", "[gs]etName", "^$", "Name\\(", "x" })
+      {
+         LineSearch search = new LineSearch(Pattern.compile(regex), false);
+         final List<String> found = new ArrayList<String>();
+         search.search(new BufferedReader(new StringReader(TEXT)), Integer.MAX_VALUE, collect(found));
+         assertEquals(search(regex, false, Integer.MAX_VALUE), found);
+      }
+   }
+
+   private static String literal(final String regex)
+   {
+      return new LineSearch(Pattern.compile(regex), false).getLiteral();
+   }
+
+   private static List<String> search(final String regex, final boolean wholeLine, final int max)
+   {
+      List<String> found = new ArrayList<String>();
+      int count = new LineSearch(Pattern.compile(regex), wholeLine).search(TEXT, max, collect(found));
+      assertEquals(found.size(), count);
+      return found;
+   }
+
+   private static LineSearch.Listener collect(final List<String> found)
+   {
+      return new LineSearch.Listener()
+      {
+         @Override
+         public boolean found(final int number, final CharSequence line)
+         {
+            found.add(number + ":" + line);
+            return true;
+         }
+      };
+   }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2012 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.shell.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.forge.shell.util.BrokenPipeException;
+import org.jboss.forge.shell.util.PipeBuffer;
+import org.junit.Test;
+
+public class PipeBufferTest
+{
+   @Test
+   public void testStreamsMoreThanCapacity() throws Exception
+   {
+      final PipeBuffer pipe = new PipeBuffer(16);
+      final byte[] data = new byte[10000];
+      for (int i = 0; i < data.length; i++)
+      {
+         data[i] = (byte) i;
+      }
+
+      Thread writer = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            for (int i = 0; i < data.length; i += 7)
+            {
+               pipe.write(data, i, Math.min(7, data.length - i));
+            }
+            pipe.closeWriter();
+         }
+      };
+      writer.start();
+
+      ByteArrayOutputStream result = new ByteArrayOutputStream();
+      InputStream in = pipe.getInputStream();
+      byte[] buffer = new byte[5];
+      int read;
+      while ((read = in.read(buffer)) != -1)
+      {
+         result.write(buffer, 0, read);
+      }
+      writer.join();
+
+      assertArrayEquals(data, result.toByteArray());
+      assertEquals(-1, in.read());
+   }
+
+   @Test
+   public void testClosingReaderBreaksPipe() throws Exception
+   {
+      final PipeBuffer pipe = new PipeBuffer(16);
+      final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+      Thread writer = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            try
+            {
+               while (true)
+               {
+                  pipe.write(new byte[] { 1, 2, 3 }, 0, 3);
+               }
+            }
+            catch (Throwable e)
+            {
+               failure.set(e);
+            }
+         }
+      };
+      writer.start();
+
+      assertEquals(1, pipe.getInputStream().read());
+      pipe.getInputStream().close();
+      writer.join(5000);
+
+      assertTrue(failure.get() instanceof BrokenPipeException);
+   }
+
+   @Test
+   public void testInterruptedWriterBreaksPipe() throws Exception
+   {
+      final PipeBuffer pipe = new PipeBuffer(4);
+      final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+      Thread writer = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            try
+            {
+               pipe.write(new byte[8], 0, 8);
+            }
+            catch (Throwable e)
+            {
+               failure.set(e);
+            }
+         }
+      };
+      writer.start();
+      writer.interrupt();
+      writer.join(5000);
+
+      assertTrue(failure.get() instanceof BrokenPipeException);
+   }
+}